@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.sbm.engine.recipe.UserInteractions;
+
+/**
+ * Applies recipes to a list of repositories without user interaction.
+ *
+ * @see org.springframework.sbm.batch.BatchRunner
+ */
+@SpringBootApplication
+public class BatchRunnerApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(SpringApplication.run(BatchRunnerApplication.class, args)));
+    }
+
+    /**
+     * Recipes asking questions get the default answers.
+     */
+    @Bean
+    UserInteractions nonInteractiveUserInteractions() {
+        return new UserInteractions() {
+
+            @Override
+            public boolean askUserYesOrNo(String question) {
+                return false;
+            }
+
+            @Override
+            public String askForInput(String question) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The repositories to migrate and the recipes to apply, read from JSON.
+ *
+ * <pre>
+ * {
+ *   "recipes": ["boot-2.7-3.0-dependency-version-update"],
+ *   "repositories": [
+ *     {"path": "/repos/service-a"},
+ *     {"path": "/repos/service-b", "recipes": ["sbu30-remove-image-banner"]}
+ *   ]
+ * }
+ * </pre>
+ */
+@Data
+public class BatchManifest {
+
+    /**
+     * Recipes applied to repositories without their own recipes.
+     */
+    private List<String> recipes = new ArrayList<>();
+    private List<Repository> repositories = new ArrayList<>();
+
+    public List<String> getRecipes(Repository repository) {
+        return repository.getRecipes() == null || repository.getRecipes().isEmpty() ? recipes : repository.getRecipes();
+    }
+
+    @Data
+    public static class Repository {
+        /**
+         * Path to the local clone.
+         */
+        private String path;
+        private List<String> recipes;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "sbm.batch")
+public class BatchProperties {
+    /**
+     * The {@link BatchManifest} listing the repositories and recipes.
+     */
+    private Path manifest;
+    /**
+     * The file the {@link BatchSummary} is written to.
+     */
+    private Path summary = Path.of("batch-summary.json");
+    /**
+     * Number of repositories migrated concurrently.
+     */
+    private int workers = 4;
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Migrates the repositories of a {@link BatchManifest} with a pool of {@code sbm.batch.workers} threads and writes
+ * a {@link BatchSummary}.
+ * <p>
+ * A failing repository does not stop the others. The exit code is {@code 1} if a repository failed.
+ *
+ * <pre>
+ * java -jar batch-runner.jar --sbm.batch.manifest=manifest.json --sbm.batch.summary=summary.json --sbm.batch.workers=8
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private final BatchProperties batchProperties;
+    private final RepositoryMigrator repositoryMigrator;
+    private final ObjectMapper objectMapper;
+
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (batchProperties.getManifest() == null) {
+            System.err.println("Usage: --sbm.batch.manifest=<manifest.json> [--sbm.batch.summary=<summary.json>] [--sbm.batch.workers=<n>]");
+            exitCode = 2;
+            return;
+        }
+        BatchManifest manifest = objectMapper.readValue(batchProperties.getManifest().toFile(), BatchManifest.class);
+        BatchSummary summary = run(manifest);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(batchProperties.getSummary().toFile(), summary);
+        System.out.printf("Migrated %d repositories, %d failed. Summary written to %s%n",
+                summary.getRepositories().size(), summary.getFailed(), batchProperties.getSummary());
+        exitCode = summary.getFailed() > 0 ? 1 : 0;
+    }
+
+    BatchSummary run(BatchManifest manifest) {
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, batchProperties.getWorkers()));
+        try {
+            List<BatchManifest.Repository> repositories = manifest.getRepositories();
+            List<Future<RepositoryResult>> results = repositories.stream()
+                    .map(repository -> executor.submit(() -> repositoryMigrator.migrate(Path.of(repository.getPath()), manifest.getRecipes(repository))))
+                    .toList();
+            List<RepositoryResult> repositoryResults = IntStream.range(0, repositories.size())
+                    .mapToObj(i -> await(results.get(i), repositories.get(i)))
+                    .toList();
+            return BatchSummary.of(System.currentTimeMillis() - start, repositoryResults);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private RepositoryResult await(Future<RepositoryResult> result, BatchManifest.Repository repository) {
+        try {
+            return result.get();
+        } catch (ExecutionException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Migrating '%s' failed.".formatted(repository.getPath()), e);
+            return RepositoryResult.builder()
+                    .path(repository.getPath())
+                    .status(RepositoryResult.Status.FAILED)
+                    .appliedRecipes(List.of())
+                    .phaseDurationsMillis(Map.of())
+                    .failure(e.toString())
+                    .build();
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
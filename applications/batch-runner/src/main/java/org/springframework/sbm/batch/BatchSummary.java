@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Machine-readable summary of a batch run, written as JSON.
+ */
+@Value
+public class BatchSummary {
+    long durationMillis;
+    long succeeded;
+    long failed;
+    List<RepositoryResult> repositories;
+
+    static BatchSummary of(long durationMillis, List<RepositoryResult> repositories) {
+        long failed = repositories.stream().filter(r -> r.getStatus() == RepositoryResult.Status.FAILED).count();
+        return new BatchSummary(durationMillis, repositories.size() - failed, failed, repositories);
+    }
+}
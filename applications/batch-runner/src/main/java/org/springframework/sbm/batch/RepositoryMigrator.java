@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.scopes.ProjectScopes;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Scans a repository and applies recipes to it.
+ * <p>
+ * Every repository is migrated in its own project scope, see {@link ProjectScopes}.
+ * {@link ApplyCommand} writes and, if {@code sbm.gitSupportEnabled}, commits the changes of each recipe,
+ * so the duration of a recipe's phase includes writing and committing.
+ * Failures are returned as {@link RepositoryResult.Status#FAILED} result.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RepositoryMigrator {
+
+    private final ProjectScopes projectScopes;
+    private final ScanCommand scanCommand;
+    private final ApplyCommand applyCommand;
+
+    public RepositoryResult migrate(Path repository, List<String> recipeNames) {
+        Map<String, Long> phaseDurations = new LinkedHashMap<>();
+        List<String> appliedRecipes = new ArrayList<>();
+        RepositoryResult.RepositoryResultBuilder result = RepositoryResult.builder()
+                .path(repository.toString())
+                .appliedRecipes(appliedRecipes)
+                .phaseDurationsMillis(phaseDurations);
+        Map<String, FileState> workingTree = Map.of();
+        try {
+            workingTree = snapshot(repository);
+            projectScopes.callInProject(repository, () -> {
+                ProjectContext context = timed(phaseDurations, "scan", () -> scanCommand.execute(repository.toString()));
+                for (String recipeName : recipeNames) {
+                    timed(phaseDurations, "apply " + recipeName, () -> applyCommand.execute(context, recipeName));
+                    appliedRecipes.add(recipeName);
+                }
+                return null;
+            });
+            return result.status(RepositoryResult.Status.SUCCEEDED)
+                    .filesChanged(countChangedFiles(workingTree, snapshot(repository)))
+                    .build();
+        } catch (RuntimeException e) {
+            log.error("Migrating '%s' failed.".formatted(repository), e);
+            return result.status(RepositoryResult.Status.FAILED)
+                    .filesChanged(countChangedFilesSafely(repository, workingTree))
+                    .failure(e.getClass().getName() + ": " + e.getMessage())
+                    .build();
+        } finally {
+            projectScopes.end(repository);
+        }
+    }
+
+    private <T> T timed(Map<String, Long> phaseDurations, String phase, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            phaseDurations.put(phase, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private int countChangedFilesSafely(Path repository, Map<String, FileState> workingTree) {
+        try {
+            return workingTree.isEmpty() ? 0 : countChangedFiles(workingTree, snapshot(repository));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private int countChangedFiles(Map<String, FileState> before, Map<String, FileState> after) {
+        Set<String> paths = new HashSet<>(before.keySet());
+        paths.addAll(after.keySet());
+        return (int) paths.stream().filter(path -> !Objects.equals(before.get(path), after.get(path))).count();
+    }
+
+    private Map<String, FileState> snapshot(Path repository) {
+        Map<String, FileState> fileStates = new HashMap<>();
+        for (Resource resource : scanCommand.scanProjectRoot(repository.toString())) {
+            try {
+                String path = resource.getFile().getAbsolutePath();
+                fileStates.put(path, new FileState(resource.contentLength(), resource.lastModified()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return fileStates;
+    }
+
+    private record FileState(long size, long lastModified) {
+    }
+}
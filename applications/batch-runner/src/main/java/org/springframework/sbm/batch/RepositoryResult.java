@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of migrating one repository.
+ */
+@Value
+@Builder
+public class RepositoryResult {
+
+    public enum Status {
+        SUCCEEDED, FAILED
+    }
+
+    String path;
+    Status status;
+    List<String> appliedRecipes;
+    /**
+     * Duration in ms per phase, in execution order.
+     */
+    Map<String, Long> phaseDurationsMillis;
+    /**
+     * Number of files added, modified or deleted in the repository.
+     */
+    int filesChanged;
+    String failure;
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class BatchRunnerTest {
+
+    private final RepositoryMigrator repositoryMigrator = mock(RepositoryMigrator.class);
+    private final BatchProperties batchProperties = new BatchProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BatchRunner sut = new BatchRunner(batchProperties, repositoryMigrator, objectMapper);
+
+    @Test
+    void failingRepositoryDoesNotStopOthers(@TempDir Path tempDir) throws Exception {
+        Path manifest = tempDir.resolve("manifest.json");
+        Files.writeString(manifest, """
+                {
+                  "recipes": ["recipe-1"],
+                  "repositories": [
+                    {"path": "repo-a"},
+                    {"path": "repo-b", "recipes": ["recipe-2"]},
+                    {"path": "repo-c"}
+                  ]
+                }
+                """);
+        batchProperties.setManifest(manifest);
+        batchProperties.setSummary(tempDir.resolve("summary.json"));
+        batchProperties.setWorkers(2);
+        when(repositoryMigrator.migrate(Path.of("repo-a"), List.of("recipe-1"))).thenReturn(succeeded("repo-a"));
+        when(repositoryMigrator.migrate(Path.of("repo-b"), List.of("recipe-2"))).thenThrow(new OutOfMemoryError("boom"));
+        when(repositoryMigrator.migrate(Path.of("repo-c"), List.of("recipe-1"))).thenReturn(succeeded("repo-c"));
+
+        sut.run(new DefaultApplicationArguments());
+
+        JsonNode summary = objectMapper.readTree(batchProperties.getSummary().toFile());
+        assertThat(summary.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(summary.get("failed").asInt()).isEqualTo(1);
+        assertThat(summary.get("repositories")).extracting(r -> r.get("path").asText()).containsExactly("repo-a", "repo-b", "repo-c");
+        assertThat(summary.get("repositories").get(1).get("failure").asText()).contains("boom");
+        assertThat(summary.get("repositories").get(0).get("phaseDurationsMillis").get("scan").asLong()).isEqualTo(10);
+        assertThat(sut.getExitCode()).isEqualTo(1);
+    }
+
+    @Test
+    void repositoriesAreMigratedConcurrentlyAndReportedInManifestOrder(@TempDir Path tempDir) throws Exception {
+        Path manifest = tempDir.resolve("manifest.json");
+        Files.writeString(manifest, """
+                {
+                  "recipes": ["recipe-1"],
+                  "repositories": [
+                    {"path": "repo-a"},
+                    {"path": "repo-b", "recipes": []}
+                  ]
+                }
+                """);
+        batchProperties.setManifest(manifest);
+        batchProperties.setSummary(tempDir.resolve("summary.json"));
+        batchProperties.setWorkers(2);
+        CountDownLatch repoBMigrated = new CountDownLatch(1);
+        when(repositoryMigrator.migrate(Path.of("repo-a"), List.of("recipe-1"))).thenAnswer(invocation -> {
+            // only finishes if repo-b is migrated by another worker in the meantime
+            assertThat(repoBMigrated.await(10, TimeUnit.SECONDS)).isTrue();
+            return succeeded("repo-a");
+        });
+        when(repositoryMigrator.migrate(Path.of("repo-b"), List.of("recipe-1"))).thenAnswer(invocation -> {
+            repoBMigrated.countDown();
+            return succeeded("repo-b");
+        });
+
+        sut.run(new DefaultApplicationArguments());
+
+        JsonNode summary = objectMapper.readTree(batchProperties.getSummary().toFile());
+        assertThat(summary.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(summary.get("failed").asInt()).isZero();
+        assertThat(summary.get("repositories")).extracting(r -> r.get("path").asText()).containsExactly("repo-a", "repo-b");
+        assertThat(summary.get("repositories")).extracting(r -> r.get("status").asText()).containsOnly("SUCCEEDED");
+        assertThat(sut.getExitCode()).isZero();
+    }
+
+    @Test
+    void missingManifestFails() throws Exception {
+        sut.run(new DefaultApplicationArguments());
+
+        assertThat(sut.getExitCode()).isEqualTo(2);
+        verifyNoInteractions(repositoryMigrator);
+    }
+
+    private RepositoryResult succeeded(String path) {
+        return RepositoryResult.builder()
+                .path(path)
+                .status(RepositoryResult.Status.SUCCEEDED)
+                .appliedRecipes(List.of("recipe-1"))
+                .phaseDurationsMillis(Map.of("scan", 10L))
+                .filesChanged(1)
+                .build();
+    }
+}
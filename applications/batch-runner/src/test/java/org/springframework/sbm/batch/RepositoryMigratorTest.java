@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ProjectScopes;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.sbm.scopes.ScopeConversation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RepositoryMigratorTest {
+
+    private final ScanCommand scanCommand = mock(ScanCommand.class);
+    private final ApplyCommand applyCommand = mock(ApplyCommand.class);
+    private final ProjectContext context = mock(ProjectContext.class);
+    private final ProjectContextHolder projectContextHolder = new ProjectContextHolder();
+    private final ProjectScopes projectScopes = new ProjectScopes(new ScanScope(), new ExecutionScope(), projectContextHolder);
+    private final RepositoryMigrator sut = new RepositoryMigrator(projectScopes, scanCommand, applyCommand);
+
+    @TempDir
+    Path repository;
+
+    @BeforeEach
+    void createRepository() throws IOException {
+        Files.writeString(repository.resolve("a.txt"), "a");
+        Files.writeString(repository.resolve("b.txt"), "b");
+        when(scanCommand.scanProjectRoot(repository.toString())).thenAnswer(invocation -> listFiles());
+    }
+
+    @Test
+    void appliesRecipesInProjectScopeAndCountsChangedFiles() {
+        AtomicReference<String> scanConversation = new AtomicReference<>();
+        when(scanCommand.execute(repository.toString())).thenAnswer(invocation -> {
+            scanConversation.set(ScopeConversation.current().orElseThrow());
+            projectContextHolder.setProjectContext(context);
+            return context;
+        });
+        doAnswer(invocation -> {
+            Files.writeString(repository.resolve("a.txt"), "modified");
+            return List.of();
+        }).when(applyCommand).execute(context, "recipe-1");
+        doAnswer(invocation -> {
+            Files.writeString(repository.resolve("c.txt"), "added");
+            Files.delete(repository.resolve("b.txt"));
+            return List.of();
+        }).when(applyCommand).execute(context, "recipe-2");
+
+        RepositoryResult result = sut.migrate(repository, List.of("recipe-1", "recipe-2"));
+
+        assertThat(result.getStatus()).isEqualTo(RepositoryResult.Status.SUCCEEDED);
+        assertThat(result.getAppliedRecipes()).containsExactly("recipe-1", "recipe-2");
+        assertThat(result.getPhaseDurationsMillis()).containsOnlyKeys("scan", "apply recipe-1", "apply recipe-2");
+        assertThat(result.getFilesChanged()).isEqualTo(3);
+        assertThat(result.getFailure()).isNull();
+        assertThat(scanConversation.get()).isEqualTo(repository.toAbsolutePath().normalize().toString());
+        // the project scope ended with the migration
+        assertThat(projectScopes.callInProject(repository, projectContextHolder::getProjectContext)).isNull();
+    }
+
+    @Test
+    void failingRecipeReturnsPartialResult() {
+        when(scanCommand.execute(repository.toString())).thenReturn(context);
+        doAnswer(invocation -> {
+            Files.writeString(repository.resolve("a.txt"), "modified");
+            return List.of();
+        }).when(applyCommand).execute(context, "recipe-1");
+        when(applyCommand.execute(context, "recipe-2")).thenThrow(new IllegalStateException("boom"));
+
+        RepositoryResult result = sut.migrate(repository, List.of("recipe-1", "recipe-2", "recipe-3"));
+
+        assertThat(result.getStatus()).isEqualTo(RepositoryResult.Status.FAILED);
+        assertThat(result.getAppliedRecipes()).containsExactly("recipe-1");
+        assertThat(result.getPhaseDurationsMillis()).containsOnlyKeys("scan", "apply recipe-1", "apply recipe-2");
+        assertThat(result.getFilesChanged()).isEqualTo(1);
+        assertThat(result.getFailure()).isEqualTo("java.lang.IllegalStateException: boom");
+        verify(applyCommand, never()).execute(context, "recipe-3");
+    }
+
+    @Test
+    void failingScanReturnsFailedResult() {
+        when(scanCommand.execute(repository.toString())).thenThrow(new IllegalArgumentException("no project"));
+
+        RepositoryResult result = sut.migrate(repository, List.of("recipe-1"));
+
+        assertThat(result.getStatus()).isEqualTo(RepositoryResult.Status.FAILED);
+        assertThat(result.getAppliedRecipes()).isEmpty();
+        assertThat(result.getFilesChanged()).isZero();
+        assertThat(result.getFailure()).contains("no project");
+        verifyNoInteractions(applyCommand);
+    }
+
+    private List<Resource> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(repository)) {
+            return files.map(file -> (Resource) new FileSystemResource(file)).toList();
+        }
+    }
+}
@@ -19,15 +19,26 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.Value;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportRenderer;
 import org.springframework.sbm.engine.commands.ApplyCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.scopes.ProjectScopes;
+import org.springframework.sbm.service.ApplyJob;
+import org.springframework.sbm.service.ApplyJobService;
+import org.springframework.sbm.service.ProjectContextCache;
+import org.springframework.sbm.service.dto.ApplyJobInfo;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @Controller
 @CrossOrigin
@@ -41,38 +52,139 @@ class ReportController{
     @Autowired
     private ProjectContextHolder contextHolder;
 
+    @Autowired
+    private ProjectContextCache projectContextCache;
+
+    @Autowired
+    private ApplyJobService applyJobService;
+
+    @Autowired
+    private ProjectScopes projectScopes;
+
     public static final String REPORT_RECIPE = "sbu30-report";
 
+    private static final long JOB_EVENTS_TIMEOUT = 30 * 60 * 1000L;
+
     private boolean isInitialReport = true;
 
+    private ProjectContext reportedContext;
+
+    private long reportedChangeGeneration;
+
     @GetMapping(path = "/spring-boot-upgrade", produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
     public String upgrade() {
-        // Urgh... that's nasty
-        if(!isInitialReport) {
-            applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
-        }
-        isInitialReport = false;
-        return reportHolder.getReport();
+        return applyExclusively(() -> {
+            ProjectContext context = contextHolder.getProjectContext();
+            // the initial report is created by the runner, afterwards only when the project changed
+            if(!isInitialReport && isChangedSinceReport(context)) {
+                applyCommand.execute(context, REPORT_RECIPE);
+            }
+            isInitialReport = false;
+            rememberReported(context);
+            return reportHolder.getReport();
+        });
     }
 
     @PostMapping(path = "/spring-boot-upgrade", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
     public String applyRecipes(@RequestParam("recipeNames[]") String[] recipeNames) {
-        ProjectContext context = contextHolder.getProjectContext();
-        List.of(recipeNames).forEach(recipeName -> applyCommand.execute(context, recipeName));
-        applyCommand.execute(context, REPORT_RECIPE);
-        return reportHolder.getReport();
+        return applyExclusively(() -> {
+            ProjectContext context = contextHolder.getProjectContext();
+            List.of(recipeNames).forEach(recipeName -> applyCommand.execute(context, recipeName));
+            reportChanges(context);
+            return reportHolder.getReport();
+        });
     }
 
     @PostMapping(path = "/spring-boot-upgrade")
     @ResponseBody
     public void applyRecipes2(@RequestBody Recipe recipeNames) {
-        ProjectContext context = contextHolder.getProjectContext();
-        recipeNames.getRecipes().forEach(
-                recipeName -> applyCommand.execute(context, recipeName)
-        );
+        applyExclusively(() -> {
+            ProjectContext context = contextHolder.getProjectContext();
+            recipeNames.getRecipes().forEach(
+                    recipeName -> applyCommand.execute(context, recipeName)
+            );
+            reportChanges(context);
+            return null;
+        });
+    }
+
+    @PostMapping(path = "/spring-boot-upgrade/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @ResponseBody
+    public ApplyJobInfo submitJob(@RequestBody Recipe recipeNames) {
+        try {
+            ApplyJob job = inReportedProject(() -> {
+                ProjectContext context = contextHolder.getProjectContext();
+                return applyJobService.submit(context, recipeNames.getRecipes(), () -> reportChanges(context));
+            });
+            return ApplyJobInfo.of(job);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many queued jobs.", e);
+        }
+    }
+
+    @GetMapping(path = "/spring-boot-upgrade/jobs/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ApplyJobInfo getJob(@PathVariable String jobId) {
+        return ApplyJobInfo.of(findJob(jobId));
+    }
+
+    @GetMapping(path = "/spring-boot-upgrade/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobEvents(@PathVariable String jobId) {
+        ApplyJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(JOB_EVENTS_TIMEOUT);
+        applyJobService.subscribe(job, emitter);
+        return emitter;
+    }
+
+    @DeleteMapping(path = "/spring-boot-upgrade/jobs/{jobId}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void cancelJob(@PathVariable String jobId) {
+        if (!applyJobService.cancel(findJob(jobId).getId())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job '%s' is done already.".formatted(jobId));
+        }
+    }
+
+    private ApplyJob findJob(String jobId) {
+        return applyJobService.getJob(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No job '%s'.".formatted(jobId)));
+    }
+
+    /**
+     * Recipes are applied on the worker thread of the {@link ApplyJobService}, one after the other with the jobs.
+     */
+    private <T> T applyExclusively(Supplier<T> supplier) {
+        try {
+            return inReportedProject(() -> applyJobService.call(supplier));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many queued jobs.", e);
+        }
+    }
+
+    /**
+     * Calls {@code supplier} in the conversation of the reported project, the REST API uses the same conversation for
+     * this project.
+     */
+    private <T> T inReportedProject(Supplier<T> supplier) {
+        Path projectRoot = reportHolder.getProjectRoot();
+        return projectRoot == null ? supplier.get() : projectScopes.callInProject(projectRoot, supplier);
+    }
+
+    private void reportChanges(ProjectContext context) {
+        projectContextCache.updateWorkingTree();
         applyCommand.execute(context, REPORT_RECIPE);
+        rememberReported(context);
+    }
+
+    private boolean isChangedSinceReport(ProjectContext context) {
+        return context != reportedContext || context.getChangeGeneration() != reportedChangeGeneration;
+    }
+
+    private synchronized void rememberReported(ProjectContext context) {
+        reportedContext = context;
+        reportedChangeGeneration = context.getChangeGeneration();
     }
 
     @Getter
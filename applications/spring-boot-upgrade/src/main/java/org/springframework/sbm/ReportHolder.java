@@ -19,6 +19,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+
 /**
  * @author Fabian Krüger
  */
@@ -27,4 +29,9 @@ import org.springframework.stereotype.Component;
 @Setter
 public class ReportHolder {
     private String report = "";
+
+    /**
+     * Root of the reported project, {@code null} before a project was scanned.
+     */
+    private Path projectRoot;
 }
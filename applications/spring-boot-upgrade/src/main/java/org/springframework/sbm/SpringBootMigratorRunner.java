@@ -21,17 +21,20 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.scopes.ProjectScopes;
+import org.springframework.sbm.service.ProjectContextCache;
+
+import java.nio.file.Path;
 
 @Configuration
 @RequiredArgsConstructor
 public class SpringBootMigratorRunner implements ApplicationRunner {
 
-    private final ScanCommand scanCommand;
-    private final ProjectContextHolder contextHolder;
+    private final ProjectContextCache projectContextCache;
     private final ApplyCommand applyCommand;
+    private final ProjectScopes projectScopes;
+    private final ReportHolder reportHolder;
     private final String REPORT_RECIPE = "sbu30-report";
 
     @Value("${server.port:8080}")
@@ -45,9 +48,14 @@ public class SpringBootMigratorRunner implements ApplicationRunner {
         }
         String applicationPath = args.getSourceArgs()[0];
         System.out.println("Scanning " + applicationPath);
-        ProjectContext context = scanCommand.execute(applicationPath);
-        contextHolder.setProjectContext(context);
-        applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
+        Path projectRoot = Path.of(applicationPath);
+        reportHolder.setProjectRoot(projectRoot);
+        // scanned in the conversation of the project, like later requests of the ReportController
+        projectScopes.callInProject(projectRoot, () -> {
+            ProjectContext context = projectContextCache.getProjectContext(applicationPath);
+            applyCommand.execute(context, REPORT_RECIPE);
+            return null;
+        });
         System.out.printf("finished scan. Please open: http://localhost:%s/spring-boot-upgrade\n", port);
     }
 }
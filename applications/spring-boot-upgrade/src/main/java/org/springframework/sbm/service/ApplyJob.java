@@ -0,0 +1,158 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * A list of recipes applied asynchronously by the {@link ApplyJobService}.
+ * <p>
+ * All progress events of a job are kept, so a client subscribing late receives the events it missed.
+ */
+@Slf4j
+@Getter
+public class ApplyJob {
+
+    public enum Status {
+        QUEUED, RUNNING, FINISHED, FAILED, CANCELLED;
+
+        public boolean isDone() {
+            return this == FINISHED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final List<String> recipeNames;
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancellationRequested;
+
+    @Getter(AccessLevel.NONE)
+    private final List<ApplyJobEvent> events = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private long actionStartedAt;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    private Future<?> future;
+
+    ApplyJob(String id, List<String> recipeNames) {
+        this.id = id;
+        this.recipeNames = List.copyOf(recipeNames);
+    }
+
+    public synchronized List<ApplyJobEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    /**
+     * Sends all events published so far and all following events to the given emitter.
+     */
+    synchronized void subscribe(SseEmitter emitter) {
+        for (ApplyJobEvent event : events) {
+            if (!send(emitter, event)) {
+                return;
+            }
+        }
+        if (status.isDone()) {
+            emitter.complete();
+        } else {
+            emitter.onCompletion(() -> unsubscribe(emitter));
+            emitter.onTimeout(() -> unsubscribe(emitter));
+            emitters.add(emitter);
+        }
+    }
+
+    synchronized void unsubscribe(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    /**
+     * Requests to stop the job, a running job stops before applying its next recipe.
+     *
+     * @return {@code false} if the job was done already
+     */
+    synchronized boolean cancel() {
+        if (status.isDone()) {
+            return false;
+        }
+        cancellationRequested = true;
+        if (status == Status.QUEUED && future != null && future.cancel(false)) {
+            finish(Status.CANCELLED, "Cancelled before start.");
+        }
+        return true;
+    }
+
+    synchronized void start() {
+        status = Status.RUNNING;
+        publish(new ApplyJobEvent("started", String.join(", ", recipeNames), null));
+    }
+
+    synchronized void finish(Status status, String description) {
+        this.status = status;
+        publish(new ApplyJobEvent(status.name().toLowerCase(), description, null));
+        List<SseEmitter> subscribers = List.copyOf(emitters);
+        emitters.clear();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    synchronized void recipeStarted(String recipeName) {
+        publish(new ApplyJobEvent("recipe-started", recipeName, null));
+    }
+
+    synchronized void actionStarted(String description) {
+        actionStartedAt = System.nanoTime();
+        publish(new ApplyJobEvent("action-started", description, null));
+    }
+
+    synchronized void actionFinished(String type, String description) {
+        long durationMillis = (System.nanoTime() - actionStartedAt) / 1_000_000;
+        publish(new ApplyJobEvent(type, description, durationMillis));
+    }
+
+    synchronized void log(String message) {
+        publish(new ApplyJobEvent("action-log", message, null));
+    }
+
+    private void publish(ApplyJobEvent event) {
+        events.add(event);
+        for (SseEmitter emitter : List.copyOf(emitters)) {
+            if (!send(emitter, event)) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, ApplyJobEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name(event.getType()).data(event));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send event to client of job '%s'.".formatted(id), e);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.events.ActionFailedEvent;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionLogEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.scopes.ScopeConversation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Applies recipes asynchronously, one {@link ApplyJob} after the other.
+ * <p>
+ * Recipes modify the shared {@link ProjectContext}, so jobs run sequentially on a single worker thread and hold the
+ * lock of their context. Recipes applied synchronously run on the worker thread with {@link #call(Supplier)} or hold
+ * the lock of the context.
+ * Waiting jobs are kept in a bounded queue, submitting a job to a full queue fails.
+ * Jobs run in the {@link ScopeConversation} of the submitting thread. The {@link ActionStartedEvent},
+ * {@link ActionFinishedEvent}, {@link ActionFailedEvent} and {@link ActionLogEvent} published in this conversation
+ * while a job runs are added to the job, also when they are published from other threads.
+ */
+@Slf4j
+@Component
+public class ApplyJobService {
+
+    private static final int MAX_RETAINED_JOBS = 50;
+
+    private final ApplyCommand applyCommand;
+    private final ThreadPoolExecutor executor;
+    private volatile RunningJob runningJob;
+    private final Map<String, ApplyJob> jobs;
+
+    public ApplyJobService(ApplyCommand applyCommand, @Value("${sbm.applyJobQueueCapacity:10}") int queueCapacity) {
+        this.applyCommand = applyCommand;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "sbm-apply-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int retainedJobs = Math.max(MAX_RETAINED_JOBS, queueCapacity + 1);
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ApplyJob> eldest) {
+                return size() > retainedJobs;
+            }
+        });
+    }
+
+    /**
+     * Queues a job applying {@code recipeNames} to {@code context}.
+     * {@code afterApply} is called after the last applied recipe, also when the job failed or was cancelled.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public ApplyJob submit(ProjectContext context, List<String> recipeNames, Runnable afterApply) {
+        ApplyJob job = new ApplyJob(UUID.randomUUID().toString(), recipeNames);
+        String conversationId = ScopeConversation.current().orElse(null);
+        synchronized (job) {
+            job.setFuture(executor.submit(() -> ScopeConversation.callIn(conversationId, () -> run(job, context, afterApply))));
+            jobs.put(job.getId(), job);
+        }
+        return job;
+    }
+
+    /**
+     * Calls {@code supplier} on the worker thread after the queued jobs and waits for its result.
+     * The conversation of the calling thread is kept.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public <T> T call(Supplier<T> supplier) {
+        String conversationId = ScopeConversation.current().orElse(null);
+        Future<T> future = executor.submit(() -> ScopeConversation.callIn(conversationId, supplier));
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for recipes to be applied.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Optional<ApplyJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Streams the events of {@code job} to {@code emitter} until the job is done.
+     */
+    public void subscribe(ApplyJob job, SseEmitter emitter) {
+        job.subscribe(emitter);
+    }
+
+    /**
+     * @return {@code false} if there's no such job or it was done already
+     */
+    public boolean cancel(String id) {
+        return getJob(id).map(ApplyJob::cancel).orElse(false);
+    }
+
+    private Void run(ApplyJob job, ProjectContext context, Runnable afterApply) {
+        synchronized (context) {
+            runningJob = new RunningJob(job, ScopeConversation.current());
+            apply(job, context, afterApply);
+            return null;
+        }
+    }
+
+    private void apply(ApplyJob job, ProjectContext context, Runnable afterApply) {
+        job.start();
+        boolean applied = false;
+        try {
+            for (String recipeName : job.getRecipeNames()) {
+                if (job.isCancellationRequested()) {
+                    break;
+                }
+                job.recipeStarted(recipeName);
+                applied = true;
+                applyCommand.execute(context, recipeName);
+            }
+            if (applied) {
+                afterApply.run();
+            }
+            if (job.isCancellationRequested()) {
+                job.finish(ApplyJob.Status.CANCELLED, "Cancelled.");
+            } else {
+                job.finish(ApplyJob.Status.FINISHED, "Finished.");
+            }
+        } catch (RuntimeException e) {
+            log.error("Job '%s' failed.".formatted(job.getId()), e);
+            if (applied) {
+                runSafely(afterApply);
+            }
+            job.finish(ApplyJob.Status.FAILED, e.getMessage());
+        } finally {
+            runningJob = null;
+        }
+    }
+
+    private void runSafely(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            log.error("Could not complete failed job.", e);
+        }
+    }
+
+    @EventListener
+    public void onActionStarted(ActionStartedEvent e) {
+        jobOfCurrentConversation().ifPresent(job -> job.actionStarted(e.getDescription()));
+    }
+
+    @EventListener
+    public void onActionFinished(ActionFinishedEvent e) {
+        jobOfCurrentConversation().ifPresent(job -> job.actionFinished("action-finished", e.getDescription()));
+    }
+
+    @EventListener
+    public void onActionFailed(ActionFailedEvent e) {
+        jobOfCurrentConversation().ifPresent(job -> job.actionFinished("action-failed", e.getDescription()));
+    }
+
+    @EventListener
+    public void onActionLog(ActionLogEvent e) {
+        jobOfCurrentConversation().ifPresent(job -> job.log(e.getMesssage()));
+    }
+
+    private Optional<ApplyJob> jobOfCurrentConversation() {
+        RunningJob job = runningJob;
+        if (job == null || !job.conversationId().equals(ScopeConversation.current())) {
+            return Optional.empty();
+        }
+        return Optional.of(job.job());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record RunningJob(ApplyJob job, Optional<String> conversationId) {
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.scopes.ScopeConversation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link ProjectContext} of the last scanned project root per {@link ScopeConversation}.
+ * <p>
+ * The project is scanned again only if the scanned files in the working tree were added, removed or modified since
+ * the last scan or apply. Beans in the scan scope belong to the last scan, so one project context is kept per
+ * conversation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectContextCache {
+
+    private final ScanCommand scanCommand;
+    private final ProjectContextHolder contextHolder;
+
+    private static final String DEFAULT_CONVERSATION = "";
+
+    private final Map<String, CachedProject> cachedProjects = new ConcurrentHashMap<>();
+
+    /**
+     * @return the cached project context of {@code projectPath} or a new one if the working tree changed
+     */
+    public ProjectContext getProjectContext(String projectPath) {
+        CachedProject cachedProject = cachedProjects.computeIfAbsent(currentConversation(), id -> new CachedProject());
+        synchronized (cachedProject) {
+            List<Resource> resources = scanCommand.scanProjectRoot(projectPath);
+            Set<FileState> currentWorkingTree = snapshot(resources);
+            if (cachedProject.projectContext == null || !projectPath.equals(cachedProject.projectPath) || !currentWorkingTree.equals(cachedProject.workingTree)) {
+                log.debug("Scanning project '%s'.".formatted(projectPath));
+                cachedProject.projectContext = scanCommand.execute(projectPath, resources);
+                cachedProject.projectPath = projectPath;
+            }
+            cachedProject.workingTree = currentWorkingTree;
+            contextHolder.setProjectContext(cachedProject.projectContext);
+            return cachedProject.projectContext;
+        }
+    }
+
+    /**
+     * Takes the files written when applying recipes to the cached project context as the current working tree.
+     */
+    public void updateWorkingTree() {
+        CachedProject cachedProject = cachedProjects.get(currentConversation());
+        if (cachedProject != null) {
+            synchronized (cachedProject) {
+                if (cachedProject.projectPath != null) {
+                    cachedProject.workingTree = snapshot(scanCommand.scanProjectRoot(cachedProject.projectPath));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the project context cached for the current conversation.
+     */
+    public void evict() {
+        cachedProjects.remove(currentConversation());
+    }
+
+    private String currentConversation() {
+        return ScopeConversation.current().orElse(DEFAULT_CONVERSATION);
+    }
+
+    private Set<FileState> snapshot(List<Resource> resources) {
+        Set<FileState> fileStates = new HashSet<>();
+        for (Resource resource : resources) {
+            try {
+                fileStates.add(new FileState(resource.getFile().getAbsolutePath(), resource.contentLength(), resource.lastModified()));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return fileStates;
+    }
+
+    private record FileState(String path, long size, long lastModified) {
+    }
+
+    private static class CachedProject {
+        private String projectPath;
+        private ProjectContext projectContext;
+        private Set<FileState> workingTree;
+    }
+}
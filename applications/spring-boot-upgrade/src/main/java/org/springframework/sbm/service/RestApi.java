@@ -17,20 +17,23 @@ package org.springframework.sbm.service;
 
 import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
 import org.springframework.sbm.engine.commands.ApplyCommand;
-import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.scopes.ProjectScopes;
 import org.springframework.sbm.service.dto.RecipeInfo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.file.Path;
+
 @RestController
 public class RestApi {
     
     @Autowired
-    private ScanCommand scanCommand;
+    private ProjectContextCache projectContextCache;
     
     @Autowired
     private ApplyCommand applyCommand;
@@ -38,20 +41,42 @@ public class RestApi {
     @Autowired
     private ApplicableRecipeListCommand applicableRecipeListCommand;
 
+    @Autowired
+    private ProjectScopes projectScopes;
+
     @PostMapping(value = "/scan", produces = MediaType.APPLICATION_JSON_VALUE)
     RecipeInfo[] scan(@RequestParam("projectPath") String projectPath) {
-        ProjectContext projectContext = scanCommand.execute(projectPath);
-        return applicableRecipeListCommand.execute(projectContext).stream()
-                    .map(r -> RecipeInfo.builder().name(r.getName()).description(r.getDescription()).details(r.getDetails()).build())
-                    .toArray(RecipeInfo[]::new);
+        return projectScopes.callInProject(Path.of(projectPath), () -> {
+            ProjectContext projectContext = projectContextCache.getProjectContext(projectPath);
+            return applicableRecipeListCommand.execute(projectContext).stream()
+                        .map(r -> RecipeInfo.builder().name(r.getName()).description(r.getDescription()).details(r.getDetails()).build())
+                        .toArray(RecipeInfo[]::new);
+        });
     }
     
     @PostMapping("/apply")
     void apply(@RequestParam("projectPath") String projectPath, @RequestParam("recipe") String recipe) {
-        // FIXME: ProjectContext must be cached and used here
-        // FIXME: Apply should not do implicit scan.
-        ProjectContext projectContext = scanCommand.execute(projectPath);
-        applyCommand.execute(projectContext, recipe);
+        projectScopes.callInProject(Path.of(projectPath), () -> {
+            ProjectContext projectContext = projectContextCache.getProjectContext(projectPath);
+            // jobs of the ApplyJobService modify their context while holding its lock
+            synchronized (projectContext) {
+                applyCommand.execute(projectContext, recipe);
+            }
+            projectContextCache.updateWorkingTree();
+            return null;
+        });
+    }
+
+    /**
+     * Releases the scanned project and everything kept for it.
+     */
+    @DeleteMapping("/project")
+    void close(@RequestParam("projectPath") String projectPath) {
+        projectScopes.callInProject(Path.of(projectPath), () -> {
+            projectContextCache.evict();
+            return null;
+        });
+        projectScopes.end(Path.of(projectPath));
     }
 
 }
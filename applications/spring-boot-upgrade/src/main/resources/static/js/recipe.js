@@ -67,44 +67,76 @@ function applyRecipes(btn) {
         return;
     }
 
+    state.startedRunningRecipe();
+
     $.ajax({
         type: "POST",
-        url: "http://localhost:8080/spring-boot-upgrade",
+        url: "http://localhost:8080/spring-boot-upgrade/jobs",
         contentType: 'application/json',
         data: JSON.stringify({
-            recipes: [$(btn).attr('recipe')]
+            recipes: [recipeName]
         }),
-        beforeSend: function() {
-            state.startedRunningRecipe();
-        },
         error: function(e) {
             // mark red flashlights / play alarm sound
             console.log("Error while applying recipe: " + e)
+            state.completedRunningRecipe();
         }
-    }).done(function () {
-        // After applying recipe
-        var section = $(`.run-a-recipe[recipe='${recipeName}']`).closest(".sect2");
-
-        let sectionH3 = section.find("h3");
-        // find next h3
-        let nextH3 = section.parent().find("h3").has("a.anchor").slice(1);
-        let title = sectionH3.text();
-        // fade out section
-        section.fadeOut( 1000, "linear", function() {
-            // and remove section
-            section.remove();
-        });
-        // fade out sidebar section
-        let sidebar = $("a:contains('" + title + "')").parent().remove()
-        sidebar.fadeOut( 1000, "linear", function() {
-            // and remove section
-            sidebar.remove();
+    }).done(function (job) {
+        streamJobEvents(job.id, function () {
+            // After applying recipe
+            removeRecipeSection(recipeName);
         });
-        scrollToAnchor(nextH3);
-    })
-    .always(function () {
+    });
+}
+
+/**
+ * Logs the progress of an apply job and calls onFinished when the job finished successfully.
+ */
+function streamJobEvents(jobId, onFinished) {
+    const events = new EventSource("http://localhost:8080/spring-boot-upgrade/jobs/" + jobId + "/events");
+    const logEvent = function (e) {
+        const event = JSON.parse(e.data);
+        console.log(e.type + ": " + event.description + (event.durationMillis != null ? " (" + event.durationMillis + " ms)" : ""));
+    };
+    ["started", "recipe-started", "action-started", "action-finished", "action-failed", "action-log"].forEach(function (type) {
+        events.addEventListener(type, logEvent);
+    });
+    const done = function (e) {
+        logEvent(e);
+        events.close();
+        state.completedRunningRecipe();
+    };
+    events.addEventListener("finished", function (e) {
+        done(e);
+        onFinished();
+    });
+    events.addEventListener("failed", done);
+    events.addEventListener("cancelled", done);
+    events.onerror = function () {
+        events.close();
         state.completedRunningRecipe();
+    };
+}
+
+function removeRecipeSection(recipeName) {
+    var section = $(`.run-a-recipe[recipe='${recipeName}']`).closest(".sect2");
+
+    let sectionH3 = section.find("h3");
+    // find next h3
+    let nextH3 = section.parent().find("h3").has("a.anchor").slice(1);
+    let title = sectionH3.text();
+    // fade out section
+    section.fadeOut( 1000, "linear", function() {
+        // and remove section
+        section.remove();
+    });
+    // fade out sidebar section
+    let sidebar = $("a:contains('" + title + "')").parent().remove()
+    sidebar.fadeOut( 1000, "linear", function() {
+        // and remove section
+        sidebar.remove();
     });
+    scrollToAnchor(nextH3);
 }
 
 
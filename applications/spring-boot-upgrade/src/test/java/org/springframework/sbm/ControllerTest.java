@@ -30,6 +30,7 @@ package org.springframework.sbm;/*
  */
 
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -40,8 +41,14 @@ import org.springframework.sbm.engine.commands.ApplyCommand;
 import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.scopes.ProjectScopes;
+import org.springframework.sbm.service.ApplyJobService;
+import org.springframework.sbm.service.ProjectContextCache;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -66,13 +73,32 @@ public class ControllerTest {
     @MockBean
     private ProjectContextHolder contextHolder;
 
+    @MockBean
+    private ProjectContextCache projectContextCache;
+
+    @MockBean
+    private ApplyJobService applyJobService;
+
+    @MockBean
+    private ProjectScopes projectScopes;
+
+    @BeforeEach
+    void applyOnCallingThread() {
+        when(applyJobService.call(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
     @Test
     void testGetRequest() throws Exception {
         ProjectContext projectContext = mock(ProjectContext.class);
         when(contextHolder.getProjectContext()).thenReturn(projectContext);
+        when(projectContext.getChangeGeneration()).thenReturn(0L);
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
-        // For the first request the report is created by the runner, for following calls the report is created again
+        // For the first request the report is created by the runner, it's not created again while the project is unchanged
+        verify(applyCommand, never()).execute(projectContext, ReportController.REPORT_RECIPE);
+
+        when(projectContext.getChangeGeneration()).thenReturn(1L);
+        mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
         verify(applyCommand, times(1)).execute(projectContext, ReportController.REPORT_RECIPE);
     }
 
@@ -85,5 +111,19 @@ public class ControllerTest {
                                 .param("recipeNames[]", "recipe1", "recipe2")
         ).andExpect(status().isOk());
         verify(applyCommand).execute(projectContext, ReportController.REPORT_RECIPE);
+        verify(projectContextCache).updateWorkingTree();
+    }
+
+    @Test
+    void recipesAreAppliedInConversationOfReportedProject() throws Exception {
+        Path projectRoot = Path.of("target/reported-project");
+        when(reportHolder.getProjectRoot()).thenReturn(projectRoot);
+        when(projectScopes.callInProject(eq(projectRoot), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(contextHolder.getProjectContext()).thenReturn(mock(ProjectContext.class));
+        mockMvc.perform(post("/spring-boot-upgrade")
+                                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                                .param("recipeNames[]", "recipe1")
+        ).andExpect(status().isOk());
+        verify(projectScopes).callInProject(eq(projectRoot), any());
     }
 }
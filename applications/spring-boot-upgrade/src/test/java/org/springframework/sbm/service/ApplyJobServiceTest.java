@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionLogEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.scopes.ScopeConversation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ApplyJobServiceTest {
+
+    private final ApplyCommand applyCommand = mock(ApplyCommand.class);
+    private final ProjectContext context = mock(ProjectContext.class);
+    private final ApplyJobService sut = new ApplyJobService(applyCommand, 1);
+
+    @AfterEach
+    void shutdown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void jobAppliesRecipesAndCollectsActionEvents() throws Exception {
+        doAnswer(invocation -> {
+            sut.onActionStarted(new ActionStartedEvent("action"));
+            sut.onActionLog(new ActionLogEvent("message"));
+            sut.onActionFinished(new ActionFinishedEvent("action"));
+            return null;
+        }).when(applyCommand).execute(eq(context), any());
+        Runnable afterApply = mock(Runnable.class);
+
+        ApplyJob job = sut.submit(context, List.of("recipe1", "recipe2"), afterApply);
+        awaitDone(job);
+
+        assertThat(job.getStatus()).isEqualTo(ApplyJob.Status.FINISHED);
+        verify(applyCommand).execute(context, "recipe1");
+        verify(applyCommand).execute(context, "recipe2");
+        verify(afterApply).run();
+        assertThat(job.getEvents()).extracting(ApplyJobEvent::getType).containsExactly(
+                "started",
+                "recipe-started", "action-started", "action-log", "action-finished",
+                "recipe-started", "action-started", "action-log", "action-finished",
+                "finished"
+        );
+        assertThat(job.getEvents().get(4).getDurationMillis()).isNotNull();
+    }
+
+    @Test
+    void eventsPublishedFromOtherThreadsOfTheJobConversationAreAddedToTheJob() throws Exception {
+        doAnswer(invocation -> {
+            List.of("message1", "message2").parallelStream().forEach(message -> sut.onActionLog(new ActionLogEvent(message)));
+            ScopeConversation.callIn("other-project", () -> {
+                sut.onActionLog(new ActionLogEvent("other project"));
+                return null;
+            });
+            return null;
+        }).when(applyCommand).execute(context, "recipe");
+
+        ApplyJob job = sut.submit(context, List.of("recipe"), () -> {});
+        awaitDone(job);
+
+        assertThat(job.getEvents()).filteredOn(event -> event.getType().equals("action-log")).hasSize(2);
+    }
+
+    @Test
+    void callRunsOnWorkerThreadInConversationOfCaller() {
+        String threadAndConversation = ScopeConversation.callIn("project", () -> sut.call(() -> Thread.currentThread().getName() + ":" + ScopeConversation.current().orElseThrow()));
+
+        assertThat(threadAndConversation).isEqualTo("sbm-apply-job:project");
+    }
+
+    @Test
+    void queuedJobsCanBeCancelledAndQueueIsBounded() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return null;
+        }).when(applyCommand).execute(context, "slow");
+
+        ApplyJob runningJob = sut.submit(context, List.of("slow", "next"), () -> {});
+        running.await(5, TimeUnit.SECONDS);
+        ApplyJob queuedJob = sut.submit(context, List.of("queued"), () -> {});
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> sut.submit(context, List.of("rejected"), () -> {}));
+
+        assertThat(sut.cancel(queuedJob.getId())).isTrue();
+        assertThat(queuedJob.getStatus()).isEqualTo(ApplyJob.Status.CANCELLED);
+        assertThat(sut.cancel(runningJob.getId())).isTrue();
+        release.countDown();
+        awaitDone(runningJob);
+
+        assertThat(runningJob.getStatus()).isEqualTo(ApplyJob.Status.CANCELLED);
+        verify(applyCommand, never()).execute(context, "next");
+        verify(applyCommand, never()).execute(context, "queued");
+        assertThat(sut.cancel(runningJob.getId())).isFalse();
+    }
+
+    private void awaitDone(ApplyJob job) throws InterruptedException {
+        Instant timeout = Instant.now().plus(Duration.ofSeconds(10));
+        while (!job.getStatus().isDone() && Instant.now().isBefore(timeout)) {
+            Thread.sleep(10);
+        }
+    }
+}
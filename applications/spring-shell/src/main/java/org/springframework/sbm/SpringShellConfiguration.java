@@ -15,6 +15,9 @@
  */
 package org.springframework.sbm;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
@@ -22,6 +25,16 @@ import org.springframework.context.annotation.Primary;
 @Primary
 public class SpringShellConfiguration {
 
+    /**
+     * Collects the metrics recorded by SBM for the {@code metrics} command.
+     */
+    @Bean
+    public SimpleMeterRegistry sbmMeterRegistry() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        return meterRegistry;
+    }
+
     // FIXME: delete....
 //    @Bean
 //    public ProjectContextBuilder projectContextBuilder(PathScanner pathScanner, JavaSourceSetFactory javaSourceSetFactory, BuildFilesFactory buildFilesFactory, ApplicationEventPublisher eventPublisher, GitSupport gitSupport, ProjectContextHolder projectContextHolder) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.shell;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.sbm.engine.jfr.JfrEvents;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Records the SBM events, see {@link JfrEvents}, and the JVM events of the given JFR configuration.
+ */
+@ShellComponent
+public class JfrShellCommand {
+
+    private static final String DEFAULT_FILE = "sbm-recording.jfr";
+
+    private Recording recording;
+
+    @ShellMethod(key = "jfr start", value = "Start a Java Flight Recorder recording.")
+    public synchronized String start(
+            @ShellOption(defaultValue = "default", help = "The JFR configuration, 'default' or 'profile'.") String settings
+    ) throws IOException, ParseException {
+        if (recording != null) {
+            return "A recording is already running, stop it with 'jfr stop'.";
+        }
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("sbm");
+        JfrEvents.EVENT_TYPES.forEach(newRecording::enable);
+        newRecording.start();
+        recording = newRecording;
+        return "Started recording with '%s' configuration.".formatted(settings);
+    }
+
+    @ShellMethod(key = "jfr dump", value = "Write the events recorded so far to a file.")
+    public synchronized String dump(@ShellOption(defaultValue = DEFAULT_FILE, help = "The file to write.") Path file) throws IOException {
+        if (recording == null) {
+            return "No recording running, start one with 'jfr start'.";
+        }
+        recording.dump(file);
+        return "Wrote recording to '%s'.".formatted(file.toAbsolutePath());
+    }
+
+    @ShellMethod(key = "jfr stop", value = "Stop the recording and write it to a file.")
+    public synchronized String stop(@ShellOption(defaultValue = DEFAULT_FILE, help = "The file to write.") Path file) throws IOException {
+        if (recording == null) {
+            return "No recording running, start one with 'jfr start'.";
+        }
+        try {
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+        return "Stopped recording and wrote it to '%s'.".formatted(file.toAbsolutePath());
+    }
+}
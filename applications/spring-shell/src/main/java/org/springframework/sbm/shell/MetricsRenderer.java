@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.shell;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.jline.utils.AttributedString;
+import org.jline.utils.AttributedStringBuilder;
+import org.jline.utils.AttributedStyle;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the SBM timers, sorted by total time, and counters as tables.
+ */
+@Component
+public class MetricsRenderer {
+
+    private static final String SBM_METERS = "sbm.";
+
+    public AttributedString render(List<Meter> meters) {
+        List<Timer> timers = meters.stream()
+                .filter(this::isSbmMeter)
+                .filter(Timer.class::isInstance)
+                .map(Timer.class::cast)
+                .filter(t -> t.count() > 0)
+                .sorted(Comparator.comparingDouble((Timer t) -> t.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .toList();
+        List<Meter> counters = meters.stream()
+                .filter(this::isSbmMeter)
+                .filter(m -> m instanceof Counter || m instanceof FunctionCounter)
+                .sorted(Comparator.comparing(this::describe))
+                .toList();
+
+        AttributedStringBuilder builder = new AttributedStringBuilder();
+        if (timers.isEmpty() && counters.isEmpty()) {
+            return builder.append("No metrics recorded yet.").toAttributedString();
+        }
+        if (!timers.isEmpty()) {
+            addTitle(builder, "%10s %12s %10s %10s  %s".formatted("count", "total [ms]", "mean [ms]", "max [ms]", "timer"));
+            for (Timer timer : timers) {
+                builder.append("%10d %12.1f %10.1f %10.1f  %s%n".formatted(
+                        timer.count(),
+                        timer.totalTime(TimeUnit.MILLISECONDS),
+                        timer.mean(TimeUnit.MILLISECONDS),
+                        timer.max(TimeUnit.MILLISECONDS),
+                        describe(timer)));
+            }
+        }
+        if (!counters.isEmpty()) {
+            builder.append(System.lineSeparator());
+            addTitle(builder, "%10s  %s".formatted("count", "counter"));
+            for (Meter counter : counters) {
+                double count = counter instanceof Counter c ? c.count() : ((FunctionCounter) counter).count();
+                builder.append("%10.0f  %s%n".formatted(count, describe(counter)));
+            }
+        }
+        return builder.toAttributedString();
+    }
+
+    private boolean isSbmMeter(Meter meter) {
+        return meter.getId().getName().startsWith(SBM_METERS);
+    }
+
+    private String describe(Meter meter) {
+        List<Tag> tags = meter.getId().getTags();
+        if (tags.isEmpty()) {
+            return meter.getId().getName();
+        }
+        return meter.getId().getName() + tags.stream()
+                .map(t -> t.getKey() + "=" + t.getValue())
+                .collect(Collectors.joining(", ", " [", "]"));
+    }
+
+    private void addTitle(AttributedStringBuilder builder, String title) {
+        builder.style(AttributedStyle.DEFAULT.bold());
+        builder.append(title);
+        builder.append(System.lineSeparator());
+        builder.style(AttributedStyle.DEFAULT);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.shell;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.jline.utils.AttributedString;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+
+@ShellComponent
+@RequiredArgsConstructor
+public class MetricsShellCommand {
+
+    private final SimpleMeterRegistry meterRegistry;
+    private final MetricsRenderer metricsRenderer;
+
+    @ShellMethod(key = {"metrics"}, value = "Show where time was spent since the shell was started.")
+    public AttributedString metrics() {
+        return metricsRenderer.render(meterRegistry.getMeters());
+    }
+}
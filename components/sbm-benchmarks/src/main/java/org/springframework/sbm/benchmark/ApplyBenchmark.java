@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.java.ChangePackage;
+import org.openrewrite.java.ChangeType;
+import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextSerializer;
+import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating recipe conditions, applying OpenRewrite recipes, merging their results and writing the changes.
+ * <p>
+ * Every invocation starts with a new {@link ProjectContext} created from the resources parsed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ApplyBenchmark {
+
+    @State(Scope.Thread)
+    public static class FreshProjectContext {
+        ProjectContext context;
+        List<Result> changeTypeResults;
+
+        @Setup(Level.Trial)
+        public void computeResults(SbmState sbm) {
+            changeTypeResults = changeType().run(sbm.getSourceFiles(), new InMemoryExecutionContext()).getResults();
+        }
+
+        @Setup(Level.Invocation)
+        public void createContext(SbmState sbm) {
+            context = sbm.createProjectContext();
+        }
+    }
+
+    @Benchmark
+    public int evaluateConditions(SbmState sbm, FreshProjectContext fresh) {
+        return sbm.getBean(ApplicableRecipeListCommand.class).execute(fresh.context).size();
+    }
+
+    @Benchmark
+    public ProjectContext applyChangeType(FreshProjectContext fresh) {
+        fresh.context.apply(changeType());
+        return fresh.context;
+    }
+
+    @Benchmark
+    public ProjectContext applyChangePackage(FreshProjectContext fresh) {
+        fresh.context.apply(new ChangePackage(SyntheticMavenProject.packageName(0), SyntheticMavenProject.GROUP_ID + ".renamed", true));
+        return fresh.context;
+    }
+
+    @Benchmark
+    public ProjectContext mergeResults(SbmState sbm, FreshProjectContext fresh) {
+        sbm.getBean(RewriteMigrationResultMerger.class).mergeResults(fresh.context, fresh.changeTypeResults);
+        return fresh.context;
+    }
+
+    @Benchmark
+    public ProjectContext applyAndWriteChanges(SbmState sbm, FreshProjectContext fresh) {
+        fresh.context.apply(changeType());
+        sbm.getBean(ProjectContextSerializer.class).writeChanges(fresh.context);
+        return fresh.context;
+    }
+
+    private static Recipe changeType() {
+        return new ChangeType(SyntheticMavenProject.typeName(0, 0), SyntheticMavenProject.packageName(0) + ".RenamedService", false);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.sbm.engine.recipe.UserInteractions;
+
+/**
+ * The application context used by the benchmarks, git support is disabled.
+ */
+@SpringBootApplication(scanBasePackages = "org.springframework.sbm")
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .profiles("core")
+                .properties("sbm.gitSupportEnabled=false", "logging.level.root=ERROR")
+                .run();
+    }
+
+    @Bean
+    UserInteractions nonInteractiveUserInteractions() {
+        return new UserInteractions() {
+
+            @Override
+            public boolean askUserYesOrNo(String question) {
+                return false;
+            }
+
+            @Override
+            public String askForInput(String question) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.SourceFile;
+import org.springframework.sbm.common.filter.AbsolutePathResourceFinder;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.java.api.JavaSourceAndType;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in the resources of a scanned {@link ProjectContext}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProjectResourceSetBenchmark {
+
+    @State(Scope.Thread)
+    public static class ScannedProject {
+        ProjectContext context;
+        Path[] paths;
+        String[] types;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(SbmState sbm) {
+            context = sbm.createProjectContext();
+            paths = context.getProjectResources().stream().map(RewriteSourceFileHolder::getAbsolutePath).toArray(Path[]::new);
+            types = new String[sbm.modules * sbm.classesPerModule];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = SyntheticMavenProject.typeName(i / sbm.classesPerModule, i % sbm.classesPerModule);
+            }
+        }
+
+        Path nextPath() {
+            return paths[next++ % paths.length];
+        }
+
+        String nextType() {
+            return types[next++ % types.length];
+        }
+    }
+
+    @Benchmark
+    public int indexOf(ScannedProject project) {
+        return project.context.getProjectResources().indexOf(project.nextPath());
+    }
+
+    @Benchmark
+    public Optional<RewriteSourceFileHolder<? extends SourceFile>> findByAbsolutePath(ScannedProject project) {
+        return project.context.search(new AbsolutePathResourceFinder(project.nextPath()));
+    }
+
+    @Benchmark
+    public Optional<? extends JavaSource> findJavaSourceDeclaringType(ScannedProject project) {
+        return project.context.getProjectJavaSources().findJavaSourceDeclaringType(project.nextType());
+    }
+
+    @Benchmark
+    public List<JavaSourceAndType> findTypesAnnotatedWith(ScannedProject project) {
+        return project.context.getProjectJavaSources().findTypesAnnotatedWith("java.lang.Deprecated");
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.SourceFile;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextFactory;
+import org.springframework.sbm.project.RewriteSourceFileWrapper;
+import org.springframework.sbm.project.parser.MavenProjectParser;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A generated {@link SyntheticMavenProject} and the application context, created once per trial.
+ * <p>
+ * Every benchmark method gets its own project, so changes written by one benchmark don't affect others.
+ */
+@State(Scope.Benchmark)
+public class SbmState {
+
+    @Param({"1", "10"})
+    public int modules;
+
+    @Param({"50", "200"})
+    public int classesPerModule;
+
+    private Path projectRoot;
+    private ConfigurableApplicationContext applicationContext;
+    private List<Resource> resources;
+    private List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        projectRoot = Files.createTempDirectory("sbm-benchmark").toRealPath();
+        new SyntheticMavenProject(modules, classesPerModule).writeTo(projectRoot);
+        applicationContext = BenchmarkApplication.start();
+        resources = getBean(ScanCommand.class).scanProjectRoot(projectRoot.toString());
+        sourceFiles = getBean(MavenProjectParser.class).parse(projectRoot, resources);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        applicationContext.close();
+        FileSystemUtils.deleteRecursively(projectRoot);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return applicationContext.getBean(type);
+    }
+
+    public Path getProjectRoot() {
+        return projectRoot;
+    }
+
+    /**
+     * The resources of the project, as found by the scan.
+     */
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    /**
+     * The parsed resources of the project, parsed once per trial.
+     */
+    public List<SourceFile> getSourceFiles() {
+        return sourceFiles;
+    }
+
+    /**
+     * Creates a new {@link ProjectContext} from the parsed resources without parsing them again.
+     */
+    public ProjectContext createProjectContext() {
+        ProjectResourceSet projectResourceSet = new ProjectResourceSet(
+                getBean(RewriteSourceFileWrapper.class).wrapRewriteSourceFiles(projectRoot, sourceFiles));
+        return getBean(ProjectContextFactory.class).createProjectContext(projectRoot, projectResourceSet);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.SourceFile;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.parser.MavenProjectParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning a project: finding the resources, parsing them and creating the {@link ProjectContext}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanBenchmark {
+
+    @Benchmark
+    public List<Resource> findResources(SbmState sbm) {
+        return sbm.getBean(ScanCommand.class).scanProjectRoot(sbm.getProjectRoot().toString());
+    }
+
+    @Benchmark
+    public List<SourceFile> parse(SbmState sbm) {
+        return sbm.getBean(MavenProjectParser.class).parse(sbm.getProjectRoot(), sbm.getResources());
+    }
+
+    @Benchmark
+    public ProjectContext createProjectContext(SbmState sbm) {
+        return sbm.createProjectContext();
+    }
+
+    @Benchmark
+    public ProjectContext scan(SbmState sbm) {
+        return sbm.getBean(ScanCommand.class).execute(sbm.getProjectRoot().toString());
+    }
+}
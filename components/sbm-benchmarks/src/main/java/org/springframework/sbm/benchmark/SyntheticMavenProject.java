@@ -0,0 +1,260 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark;
+
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a multi-module Maven project with {@code modules} modules and {@code classesPerModule} classes per module.
+ * <p>
+ * By default each module depends on the previous module and its classes use classes of the same and of the previous
+ * module. The project has no external dependencies, all dependencies are resolved from the reactor, so it can be
+ * parsed offline. Another {@link Template} provides the parent, the dependencies and the sources of the project.
+ */
+public class SyntheticMavenProject {
+
+    public static final String GROUP_ID = "com.example.bench";
+    public static final String VERSION = "1.0.0-SNAPSHOT";
+
+    /**
+     * The parts of the generated project which differ between benchmarks.
+     */
+    public interface Template {
+
+        String groupId();
+
+        /**
+         * The {@code <parent>} declaration of the root pom or {@code null}.
+         */
+        @Nullable
+        default String parent() {
+            return null;
+        }
+
+        /**
+         * The {@code <dependency>} declarations of the given module.
+         */
+        List<String> dependencies(int module);
+
+        /**
+         * The simple name of the class {@code clazz} without the trailing number.
+         */
+        String typeNamePrefix();
+
+        /**
+         * The source of the class named {@code typeNamePrefix() + clazz} in {@code packageName}.
+         */
+        String javaSource(String packageName, int module, int clazz);
+
+        /**
+         * The {@code application.properties} of the given module or {@code null} if it has none.
+         */
+        @Nullable
+        default String applicationProperties(int module) {
+            return null;
+        }
+    }
+
+    private static final Template SERVICES = new Template() {
+        @Override
+        public String groupId() {
+            return GROUP_ID;
+        }
+
+        @Override
+        public List<String> dependencies(int module) {
+            return module == 0 ? List.of() : List.of(dependency(GROUP_ID, moduleName(module - 1), VERSION, null));
+        }
+
+        @Override
+        public String typeNamePrefix() {
+            return "Service";
+        }
+
+        @Override
+        public String javaSource(String packageName, int module, int clazz) {
+            return serviceSource(module, clazz);
+        }
+
+        @Override
+        public String applicationProperties(int module) {
+            return """
+                    spring.application.name=%s
+                    server.port=%d
+                    management.endpoints.web.exposure.include=health
+                    """.formatted(moduleName(module), 8080 + module);
+        }
+    };
+
+    private final Template template;
+    private final int modules;
+    private final int classesPerModule;
+
+    public SyntheticMavenProject(int modules, int classesPerModule) {
+        this(SERVICES, modules, classesPerModule);
+    }
+
+    public SyntheticMavenProject(Template template, int modules, int classesPerModule) {
+        this.template = template;
+        this.modules = modules;
+        this.classesPerModule = classesPerModule;
+    }
+
+    public static String moduleName(int module) {
+        return "module-" + module;
+    }
+
+    public static String packageName(int module) {
+        return packageName(GROUP_ID, module);
+    }
+
+    public static String typeName(int module, int clazz) {
+        return packageName(module) + ".Service" + clazz;
+    }
+
+    private static String packageName(String groupId, int module) {
+        return groupId + ".module" + module;
+    }
+
+    /**
+     * A {@code <dependency>} declaration to be returned by {@link Template#dependencies(int)}.
+     */
+    public static String dependency(String groupId, String artifactId, @Nullable String version, @Nullable String scope) {
+        return """
+                        <dependency>
+                            <groupId>%s</groupId>
+                            <artifactId>%s</artifactId>
+                %s%s        </dependency>
+                """.formatted(groupId, artifactId,
+                version == null ? "" : "            <version>" + version + "</version>\n",
+                scope == null ? "" : "            <scope>" + scope + "</scope>\n");
+    }
+
+    public Path writeTo(Path projectRoot) throws IOException {
+        Files.createDirectories(projectRoot);
+        Files.writeString(projectRoot.resolve("pom.xml"), rootPom());
+        for (int module = 0; module < modules; module++) {
+            String packageName = packageName(template.groupId(), module);
+            Path moduleDir = projectRoot.resolve(moduleName(module));
+            Path packageDir = moduleDir.resolve("src/main/java").resolve(packageName.replace('.', '/'));
+            Files.createDirectories(packageDir);
+            Files.writeString(moduleDir.resolve("pom.xml"), modulePom(module));
+            String applicationProperties = template.applicationProperties(module);
+            if (applicationProperties != null) {
+                Path resourcesDir = moduleDir.resolve("src/main/resources");
+                Files.createDirectories(resourcesDir);
+                Files.writeString(resourcesDir.resolve("application.properties"), applicationProperties);
+            }
+            for (int clazz = 0; clazz < classesPerModule; clazz++) {
+                Files.writeString(packageDir.resolve(template.typeNamePrefix() + clazz + ".java"), template.javaSource(packageName, module, clazz));
+            }
+        }
+        return projectRoot;
+    }
+
+    private String rootPom() {
+        String moduleList = IntStream.range(0, modules)
+                .mapToObj(module -> "        <module>" + moduleName(module) + "</module>")
+                .collect(Collectors.joining("\n"));
+        String parent = template.parent();
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                %s    <groupId>%s</groupId>
+                    <artifactId>bench-root</artifactId>
+                    <version>%s</version>
+                    <packaging>pom</packaging>
+                    <properties>
+                        <maven.compiler.source>17</maven.compiler.source>
+                        <maven.compiler.target>17</maven.compiler.target>
+                    </properties>
+                    <modules>
+                %s
+                    </modules>
+                </project>
+                """.formatted(parent == null ? "" : parent, template.groupId(), VERSION, moduleList);
+    }
+
+    private String modulePom(int module) {
+        List<String> dependencies = template.dependencies(module);
+        String dependencyList = dependencies.isEmpty() ? "" : """
+                    <dependencies>
+                %s    </dependencies>
+                """.formatted(String.join("", dependencies));
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>%s</groupId>
+                        <artifactId>bench-root</artifactId>
+                        <version>%s</version>
+                    </parent>
+                    <artifactId>%s</artifactId>
+                %s</project>
+                """.formatted(template.groupId(), VERSION, moduleName(module), dependencyList);
+    }
+
+    private static String serviceSource(int module, int clazz) {
+        String sameModuleDependency = clazz == 0 ? "Object" : "Service" + (clazz - 1);
+        String previousModuleDependency = module == 0 ? "Object" : typeName(module - 1, clazz);
+        String previousModuleCall = module == 0 ? "String.valueOf(upstream)" : "upstream.process(input)";
+        return """
+                package %s;
+
+                import java.util.ArrayList;
+                import java.util.List;
+                import java.util.Optional;
+
+                public class Service%d {
+
+                    private final %s neighbour;
+                    private final %s upstream;
+                    private final List<String> history = new ArrayList<>();
+
+                    public Service%d(%s neighbour, %s upstream) {
+                        this.neighbour = neighbour;
+                        this.upstream = upstream;
+                    }
+
+                    public String process(String input) {
+                        String result = %s;
+                        history.add(result);
+                        return Optional.ofNullable(result).map(String::trim).orElse(input);
+                    }
+
+                    @Deprecated
+                    public List<String> getHistory() {
+                        return List.copyOf(history);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "Service%d[" + neighbour + "]";
+                    }
+                }
+                """.formatted(packageName(module), clazz, sameModuleDependency, previousModuleDependency,
+                clazz, sameModuleDependency, previousModuleDependency, previousModuleCall, clazz);
+    }
+}
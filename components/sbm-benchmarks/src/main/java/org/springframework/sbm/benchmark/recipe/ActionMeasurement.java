@@ -0,0 +1,28 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark.recipe;
+
+/**
+ * Cost of a single action apply.
+ *
+ * @param action         the description of the action
+ * @param wallTimeMillis the elapsed time between the action's start and finish event
+ * @param allocatedBytes the bytes allocated by the applying thread
+ * @param reprints       the number of LSTs printed, see {@link org.springframework.sbm.project.resource.SourceFilePrintCounter}
+ * @param failed         whether the action failed
+ */
+public record ActionMeasurement(String action, double wallTimeMillis, long allocatedBytes, long reprints, boolean failed) {
+}
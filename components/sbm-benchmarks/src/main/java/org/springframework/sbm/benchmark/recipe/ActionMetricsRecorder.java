@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark.recipe;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.sbm.engine.events.ActionFailedEvent;
+import org.springframework.sbm.engine.events.ActionFinishedEvent;
+import org.springframework.sbm.engine.events.ActionStartedEvent;
+import org.springframework.sbm.project.resource.SourceFilePrintCounter;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Measures every applied action between its {@link ActionStartedEvent} and its {@link ActionFinishedEvent} or
+ * {@link ActionFailedEvent}.
+ * <p>
+ * Allocations are those of the thread applying the action, allocations of parallel streams or other threads used
+ * by the action are not included. Reprints are counted for all threads.
+ */
+@Component
+public class ActionMetricsRecorder {
+
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Deque<StartedAction> startedActions = new ArrayDeque<>();
+    private final List<ActionMeasurement> measurements = new ArrayList<>();
+
+    @EventListener
+    public synchronized void onActionStarted(ActionStartedEvent event) {
+        startedActions.push(new StartedAction(event.getDescription(), System.nanoTime(), allocatedBytes(), SourceFilePrintCounter.getInstance().getCount()));
+    }
+
+    @EventListener
+    public synchronized void onActionFinished(ActionFinishedEvent event) {
+        record(false);
+    }
+
+    @EventListener
+    public synchronized void onActionFailed(ActionFailedEvent event) {
+        record(true);
+    }
+
+    /**
+     * @return the measurements recorded since the last call, in the order the actions finished
+     */
+    public synchronized List<ActionMeasurement> drain() {
+        List<ActionMeasurement> drained = List.copyOf(measurements);
+        measurements.clear();
+        startedActions.clear();
+        return drained;
+    }
+
+    private void record(boolean failed) {
+        StartedAction started = startedActions.poll();
+        if (started == null) {
+            return;
+        }
+        measurements.add(new ActionMeasurement(
+                started.description(),
+                (System.nanoTime() - started.startNanos()) / 1_000_000d,
+                allocatedBytes() - started.allocatedBytes(),
+                SourceFilePrintCounter.getInstance().getCount() - started.prints(),
+                failed));
+    }
+
+    private long allocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private record StartedAction(String description, long startNanos, long allocatedBytes, long prints) {
+    }
+}
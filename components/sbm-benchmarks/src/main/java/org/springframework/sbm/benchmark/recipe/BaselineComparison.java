@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares recipe benchmark results with a baseline.
+ * <p>
+ * Wall times and allocations regress if they exceed the baseline by more than {@code tolerance}, e.g. {@code 0.2}
+ * for 20%. Reprints are deterministic and regress with every additional reprint.
+ * Results without baseline entry are not compared, baseline entries without result are ignored.
+ */
+public class BaselineComparison {
+
+    private final List<RecipeBenchmarkResult> baseline;
+    private final double tolerance;
+
+    public BaselineComparison(List<RecipeBenchmarkResult> baseline, double tolerance) {
+        this.baseline = baseline;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @return a description of every regression, empty if nothing regressed
+     */
+    public List<String> findRegressions(List<RecipeBenchmarkResult> results) {
+        List<String> regressions = new ArrayList<>();
+        for (RecipeBenchmarkResult result : results) {
+            Optional<RecipeBenchmarkResult> expected = baseline.stream().filter(result::hasSameFixture).findFirst();
+            if (expected.isEmpty()) {
+                continue;
+            }
+            compare(regressions, result.fixture(), "apply time [ms]", expected.get().applyMillis(), result.applyMillis());
+            for (ActionMeasurement action : result.actions()) {
+                Optional<ActionMeasurement> expectedAction = expected.get().actions().stream()
+                        .filter(a -> a.action().equals(action.action()))
+                        .findFirst();
+                if (expectedAction.isEmpty()) {
+                    continue;
+                }
+                String name = result.fixture() + " '" + action.action() + "'";
+                compare(regressions, name, "wall time [ms]", expectedAction.get().wallTimeMillis(), action.wallTimeMillis());
+                compare(regressions, name, "allocated bytes", expectedAction.get().allocatedBytes(), action.allocatedBytes());
+                if (action.reprints() > expectedAction.get().reprints()) {
+                    regressions.add("%s reprints: %d, baseline %d".formatted(name, action.reprints(), expectedAction.get().reprints()));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * @return the fixtures of the results without baseline entry
+     */
+    public List<String> findUncompared(List<RecipeBenchmarkResult> results) {
+        return results.stream()
+                .filter(result -> baseline.stream().noneMatch(result::hasSameFixture))
+                .map(RecipeBenchmarkResult::fixture)
+                .toList();
+    }
+
+    private void compare(List<String> regressions, String name, String metric, double expected, double actual) {
+        if (expected > 0 && actual > expected * (1 + tolerance)) {
+            regressions.add("%s %s: %.1f, baseline %.1f (+%.0f%%)".formatted(name, metric, actual, expected, (actual / expected - 1) * 100));
+        }
+    }
+}
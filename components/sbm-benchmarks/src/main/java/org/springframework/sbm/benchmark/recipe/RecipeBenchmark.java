@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark.recipe;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.sbm.benchmark.BenchmarkApplication;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.scopes.ProjectScopes;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Applies bundled recipes through {@link ApplyCommand} to generated {@link RecipeFixture}s of different sizes and
+ * reports wall time, allocations and LST reprints per action.
+ * <p>
+ * Every iteration applies the recipe to a newly generated fixture, the first {@code --warmup} iterations are not
+ * measured. The results are written as JSON and compared with the baseline, fixtures without baseline entry
+ * are reported as not compared.
+ * Build with {@code mvn -Pbenchmarks package} and run from {@code components/sbm-benchmarks}, e.g.
+ * <pre>
+ * java -cp target/benchmarks.jar org.springframework.sbm.benchmark.recipe.RecipeBenchmark \
+ *     --recipes=migrate-jax-rs --scales=1x50,10x50 --iterations=5
+ * </pre>
+ * Options:
+ * <ul>
+ *     <li>{@code --recipes}: comma separated recipe names, defaults to the recipes of all fixtures</li>
+ *     <li>{@code --scales}: comma separated {@code <modules>x<classesPerModule>}, defaults to {@value #DEFAULT_SCALES}</li>
+ *     <li>{@code --warmup} and {@code --iterations}: defaults to 1 and 3</li>
+ *     <li>{@code --result}: the result file, defaults to {@value #DEFAULT_RESULT}</li>
+ *     <li>{@code --baseline}: the baseline file, defaults to {@value #DEFAULT_BASELINE}</li>
+ *     <li>{@code --tolerance}: the allowed relative increase of time and allocations, defaults to 0.2</li>
+ *     <li>{@code --update-baseline}: writes the results to the baseline file instead of comparing them</li>
+ * </ul>
+ * Exits with 1 if a result regressed compared to the baseline.
+ */
+public class RecipeBenchmark {
+
+    static final String DEFAULT_SCALES = "1x50,10x50";
+    static final String DEFAULT_RESULT = "recipe-benchmark.json";
+    static final String DEFAULT_BASELINE = "baselines/recipe-benchmark.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final ActionMetricsRecorder recorder;
+
+    RecipeBenchmark(ConfigurableApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+        this.recorder = applicationContext.getBean(ActionMetricsRecorder.class);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        List<String> recipes = options.containsKey("recipes")
+                ? List.of(options.get("recipes").split(","))
+                : Arrays.stream(RecipeFixture.values()).map(RecipeFixture::getRecipeName).toList();
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "3"));
+        Path resultFile = Path.of(options.getOrDefault("result", DEFAULT_RESULT));
+        Path baselineFile = Path.of(options.getOrDefault("baseline", DEFAULT_BASELINE));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.2"));
+
+        List<RecipeBenchmarkResult> results = new ArrayList<>();
+        try (ConfigurableApplicationContext applicationContext = BenchmarkApplication.start()) {
+            RecipeBenchmark benchmark = new RecipeBenchmark(applicationContext);
+            for (String recipe : recipes) {
+                for (String scale : options.getOrDefault("scales", DEFAULT_SCALES).split(",")) {
+                    String[] size = scale.split("x");
+                    RecipeBenchmarkResult result = benchmark.run(RecipeFixture.forRecipe(recipe),
+                            Integer.parseInt(size[0]), Integer.parseInt(size[1]), warmup, iterations);
+                    print(result);
+                    results.add(result);
+                }
+            }
+        }
+        write(resultFile, results);
+
+        if (options.containsKey("update-baseline")) {
+            write(baselineFile, results);
+            System.out.println("Updated baseline " + baselineFile.toAbsolutePath());
+        } else {
+            List<RecipeBenchmarkResult> baseline = Files.exists(baselineFile)
+                    ? OBJECT_MAPPER.readValue(baselineFile.toFile(), new TypeReference<>() {})
+                    : List.of();
+            BaselineComparison comparison = new BaselineComparison(baseline, tolerance);
+            comparison.findUncompared(results).forEach(fixture ->
+                    System.out.println("WARNING: " + fixture + " has no baseline entry and was not compared, record one with --update-baseline"));
+            List<String> regressions = comparison.findRegressions(results);
+            if (!regressions.isEmpty()) {
+                System.out.println("Regressions compared to " + baselineFile.toAbsolutePath() + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regressions compared to " + baselineFile.toAbsolutePath());
+        }
+    }
+
+    RecipeBenchmarkResult run(RecipeFixture fixture, int modules, int classesPerModule, int warmup, int iterations) throws IOException {
+        List<Iteration> measured = new ArrayList<>();
+        for (int i = 0; i < warmup + iterations; i++) {
+            Iteration iteration = runIteration(fixture, modules, classesPerModule);
+            if (i >= warmup) {
+                measured.add(iteration);
+            }
+        }
+        return new RecipeBenchmarkResult(
+                fixture.getRecipeName(),
+                modules,
+                classesPerModule,
+                iterations,
+                median(measured, Iteration::scanMillis),
+                median(measured, Iteration::applyMillis),
+                medianActions(measured));
+    }
+
+    private Iteration runIteration(RecipeFixture fixture, int modules, int classesPerModule) throws IOException {
+        Path projectRoot = Files.createTempDirectory("sbm-recipe-benchmark").toRealPath();
+        ProjectScopes projectScopes = applicationContext.getBean(ProjectScopes.class);
+        try {
+            fixture.writeTo(projectRoot, modules, classesPerModule);
+            return projectScopes.callInProject(projectRoot, () -> {
+                long scanStart = System.nanoTime();
+                ProjectContext context = applicationContext.getBean(ScanCommand.class).execute(projectRoot.toString());
+                double scanMillis = (System.nanoTime() - scanStart) / 1_000_000d;
+                recorder.drain();
+                long applyStart = System.nanoTime();
+                applicationContext.getBean(ApplyCommand.class).execute(context, fixture.getRecipeName());
+                double applyMillis = (System.nanoTime() - applyStart) / 1_000_000d;
+                return new Iteration(scanMillis, applyMillis, recorder.drain());
+            });
+        } finally {
+            projectScopes.end(projectRoot);
+            FileSystemUtils.deleteRecursively(projectRoot);
+        }
+    }
+
+    /**
+     * Takes the actions of the first iteration, an action's measurements are the medians of all iterations
+     * that applied an action with the same description at the same position.
+     */
+    private List<ActionMeasurement> medianActions(List<Iteration> iterations) {
+        List<ActionMeasurement> actions = iterations.get(0).actions();
+        List<ActionMeasurement> medians = new ArrayList<>();
+        for (int i = 0; i < actions.size(); i++) {
+            int index = i;
+            String action = actions.get(i).action();
+            List<ActionMeasurement> measurements = iterations.stream()
+                    .map(Iteration::actions)
+                    .filter(a -> a.size() > index && a.get(index).action().equals(action))
+                    .map(a -> a.get(index))
+                    .toList();
+            medians.add(new ActionMeasurement(
+                    action,
+                    median(measurements, ActionMeasurement::wallTimeMillis),
+                    (long) median(measurements, ActionMeasurement::allocatedBytes),
+                    (long) median(measurements, ActionMeasurement::reprints),
+                    measurements.stream().anyMatch(ActionMeasurement::failed)));
+        }
+        return medians;
+    }
+
+    private static <T> double median(List<T> values, ToDoubleFunction<T> metric) {
+        double[] sorted = values.stream().mapToDouble(metric).sorted().toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static void print(RecipeBenchmarkResult result) {
+        System.out.printf("%s: scan %.1f ms, apply %.1f ms%n", result.fixture(), result.scanMillis(), result.applyMillis());
+        System.out.printf("  %12s %14s %9s  %s%n", "time [ms]", "alloc [bytes]", "reprints", "action");
+        for (ActionMeasurement action : result.actions()) {
+            System.out.printf("  %12.1f %14d %9d  %s%s%n", action.wallTimeMillis(), action.allocatedBytes(), action.reprints(),
+                    action.action(), action.failed() ? " (failed)" : "");
+        }
+    }
+
+    private static void write(Path file, List<RecipeBenchmarkResult> results) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        OBJECT_MAPPER.writeValue(file.toFile(), results);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--"))
+                .map(arg -> arg.substring(2).split("=", 2))
+                .collect(Collectors.toMap(option -> option[0], option -> option.length > 1 ? option[1] : "true"));
+    }
+
+    private record Iteration(double scanMillis, double applyMillis, List<ActionMeasurement> actions) {
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark.recipe;
+
+import java.util.List;
+
+/**
+ * Medians of all measured iterations of a recipe applied to a fixture of a given size.
+ *
+ * @param scanMillis  the time to scan and parse the fixture
+ * @param applyMillis the time spent in {@code ApplyCommand}, including writing the changes
+ * @param actions     the applied actions in the order they finished
+ */
+public record RecipeBenchmarkResult(
+        String recipe,
+        int modules,
+        int classesPerModule,
+        int iterations,
+        double scanMillis,
+        double applyMillis,
+        List<ActionMeasurement> actions) {
+
+    public boolean hasSameFixture(RecipeBenchmarkResult other) {
+        return recipe.equals(other.recipe) && modules == other.modules && classesPerModule == other.classesPerModule;
+    }
+
+    public String fixture() {
+        return "%s [%d x %d]".formatted(recipe, modules, classesPerModule);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.benchmark.recipe;
+
+import org.springframework.sbm.benchmark.SyntheticMavenProject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.springframework.sbm.benchmark.SyntheticMavenProject.dependency;
+
+/**
+ * Generates a multi-module Maven project of a given size to which a bundled recipe applies.
+ * <p>
+ * The fixtures are {@link SyntheticMavenProject.Template}s which, unlike the default {@link SyntheticMavenProject},
+ * declare real dependencies, e.g. the Spring Boot parent, which must be resolvable from the local Maven repository
+ * or Maven Central.
+ */
+public enum RecipeFixture implements SyntheticMavenProject.Template {
+
+    BOOT_27_30_DEPENDENCY_VERSION_UPDATE("boot-2.7-3.0-dependency-version-update", "Controller") {
+        @Override
+        public String parent() {
+            return bootParent("2.7.5");
+        }
+
+        @Override
+        List<String> dependencies() {
+            return List.of(dependency("org.springframework.boot", "spring-boot-starter-web", null, null));
+        }
+
+        @Override
+        String javaSource(String packageName, int clazz) {
+            return """
+                    package %1$s;
+
+                    import org.springframework.web.bind.annotation.GetMapping;
+                    import org.springframework.web.bind.annotation.PathVariable;
+                    import org.springframework.web.bind.annotation.RestController;
+
+                    @RestController
+                    public class Controller%2$d {
+
+                        @GetMapping("/controller%2$d/{id}")
+                        public String get(@PathVariable String id) {
+                            return "controller%2$d-" + id;
+                        }
+                    }
+                    """.formatted(packageName, clazz);
+        }
+    },
+
+    SBU30_MIGRATE_TO_JAKARTA_PACKAGES("sbu30-migrate-to-jakarta-packages", "Entity") {
+        @Override
+        public String parent() {
+            return bootParent("3.0.0");
+        }
+
+        @Override
+        List<String> dependencies() {
+            return List.of(
+                    dependency("org.springframework.boot", "spring-boot-starter-web", null, null),
+                    dependency("javax.persistence", "javax.persistence-api", "2.2", null),
+                    dependency("javax.validation", "validation-api", "2.0.1.Final", null),
+                    dependency("javax.servlet", "javax.servlet-api", "4.0.1", "provided"));
+        }
+
+        @Override
+        String javaSource(String packageName, int clazz) {
+            return """
+                    package %1$s;
+
+                    import javax.persistence.Entity;
+                    import javax.persistence.GeneratedValue;
+                    import javax.persistence.Id;
+                    import javax.servlet.http.HttpServletRequest;
+                    import javax.validation.constraints.NotNull;
+                    import javax.validation.constraints.Size;
+
+                    @Entity
+                    public class Entity%2$d {
+
+                        @Id
+                        @GeneratedValue
+                        private Long id;
+
+                        @NotNull
+                        @Size(max = 255)
+                        private String name;
+
+                        public static Entity%2$d fromRequest(HttpServletRequest request) {
+                            Entity%2$d entity = new Entity%2$d();
+                            entity.name = request.getParameter("name");
+                            return entity;
+                        }
+
+                        public Long getId() {
+                            return id;
+                        }
+
+                        public String getName() {
+                            return name;
+                        }
+                    }
+                    """.formatted(packageName, clazz);
+        }
+    },
+
+    MIGRATE_JAX_RS("migrate-jax-rs", "Resource") {
+        @Override
+        List<String> dependencies() {
+            return List.of(dependency("javax.ws.rs", "javax.ws.rs-api", "2.1.1", null));
+        }
+
+        @Override
+        String javaSource(String packageName, int clazz) {
+            return """
+                    package %1$s;
+
+                    import javax.ws.rs.Consumes;
+                    import javax.ws.rs.GET;
+                    import javax.ws.rs.POST;
+                    import javax.ws.rs.Path;
+                    import javax.ws.rs.PathParam;
+                    import javax.ws.rs.Produces;
+                    import javax.ws.rs.QueryParam;
+                    import javax.ws.rs.core.MediaType;
+                    import javax.ws.rs.core.Response;
+
+                    @Path("/resource%2$d")
+                    public class Resource%2$d {
+
+                        @GET
+                        @Path("/{id}")
+                        @Produces(MediaType.APPLICATION_JSON)
+                        public Response get(@PathParam("id") String id, @QueryParam("filter") String filter) {
+                            return Response.ok("resource%2$d-" + id + filter).build();
+                        }
+
+                        @POST
+                        @Consumes(MediaType.APPLICATION_JSON)
+                        @Produces(MediaType.TEXT_PLAIN)
+                        public String create(String body) {
+                            return body;
+                        }
+                    }
+                    """.formatted(packageName, clazz);
+        }
+    },
+
+    INITIALIZE_SPRING_BOOT_MIGRATION("initialize-spring-boot-migration", "Service") {
+        @Override
+        String javaSource(String packageName, int clazz) {
+            return """
+                    package %1$s;
+
+                    import java.util.ArrayList;
+                    import java.util.List;
+
+                    public class Service%2$d {
+
+                        private final List<String> history = new ArrayList<>();
+
+                        public String process(String input) {
+                            history.add(input);
+                            return input.trim();
+                        }
+                    }
+                    """.formatted(packageName, clazz);
+        }
+    };
+
+    public static final String GROUP_ID = "com.example.fixture";
+
+    private final String recipeName;
+    private final String typeNamePrefix;
+
+    RecipeFixture(String recipeName, String typeNamePrefix) {
+        this.recipeName = recipeName;
+        this.typeNamePrefix = typeNamePrefix;
+    }
+
+    public String getRecipeName() {
+        return recipeName;
+    }
+
+    public static RecipeFixture forRecipe(String recipeName) {
+        for (RecipeFixture fixture : values()) {
+            if (fixture.recipeName.equals(recipeName)) {
+                return fixture;
+            }
+        }
+        throw new IllegalArgumentException("No fixture for recipe '%s'.".formatted(recipeName));
+    }
+
+    @Override
+    public String groupId() {
+        return GROUP_ID;
+    }
+
+    /**
+     * The {@code <dependency>} declarations of every module.
+     */
+    List<String> dependencies() {
+        return List.of();
+    }
+
+    @Override
+    public List<String> dependencies(int module) {
+        return dependencies();
+    }
+
+    @Override
+    public String typeNamePrefix() {
+        return typeNamePrefix;
+    }
+
+    /**
+     * The source of the class named {@code typeNamePrefix + clazz}.
+     */
+    abstract String javaSource(String packageName, int clazz);
+
+    @Override
+    public String javaSource(String packageName, int module, int clazz) {
+        return javaSource(packageName, clazz);
+    }
+
+    public Path writeTo(Path projectRoot, int modules, int classesPerModule) throws IOException {
+        return new SyntheticMavenProject(this, modules, classesPerModule).writeTo(projectRoot);
+    }
+
+    private static String bootParent(String version) {
+        return """
+                    <parent>
+                        <groupId>org.springframework.boot</groupId>
+                        <artifactId>spring-boot-starter-parent</artifactId>
+                        <version>%s</version>
+                        <relativePath/>
+                    </parent>
+                """.formatted(version);
+    }
+}
@@ -43,6 +43,14 @@ public interface JavaSourceSet {
 
     JavaSource addJavaSource(Path projectRootDirectory, String src, String packageName);
 
+    /**
+     * Adds all {@code sources} to this source set, they are parsed together with the current classpath.
+     * The sources are placed like with {@link #addJavaSource(Path, String, String)}, one after another.
+     *
+     * @throws RuntimeException if one of the sources already exists, none is added then
+     */
+    List<JavaSource> addJavaSources(Path projectRootDirectory, List<String> sources, String packageName);
+
     void replaceType(String type, String withType);
 
     Optional<Path> getBaseResourcesLocation(Path relativeTo);
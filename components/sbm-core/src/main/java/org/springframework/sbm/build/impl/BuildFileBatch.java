@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.util.*;
+
+/**
+ * Batches modifications of Maven build files.
+ * <p>
+ * Every modification of an {@link OpenRewriteMavenBuildFile} is applied to the pom immediately, but refreshing the
+ * Maven model of the modified poms is deferred to the end of the batch.
+ * The modified poms and the poms depending on them are then re-resolved together, once.
+ * Follow-up work relying on the refreshed model, like publishing a
+ * {@link org.springframework.sbm.build.api.DependenciesChangedEvent}, is deferred as well and executed once per build file.
+ * <p>
+ * Reads inside a batch see the Maven model of the poms as it was before the batch started: resolved dependencies,
+ * effective properties and parent/module relations don't reflect the modifications made in the batch,
+ * while the pom XML itself already contains them.
+ *
+ * <pre>
+ * BuildFileBatch.execute(() -> {
+ *     modules.forEach(m -> m.getBuildFile().setProperty("java.version", "17"));
+ * });
+ * </pre>
+ *
+ * Batches are bound to the current thread, nested batches join the outer batch.
+ */
+public final class BuildFileBatch {
+
+    private static final ThreadLocal<BuildFileBatch> CURRENT = new ThreadLocal<>();
+
+    private final Map<MavenBuildFileRefactoring<?>, Set<RewriteSourceFileHolder<Xml.Document>>> modifiedBuildFiles = new LinkedHashMap<>();
+    private final Map<String, Runnable> afterRefreshCallbacks = new LinkedHashMap<>();
+
+    private BuildFileBatch() {
+    }
+
+    /**
+     * Executes the given {@code modifications} in a batch.
+     * The pom models are refreshed before this method returns, also if the modifications failed.
+     * A failure of that refresh is then added as suppressed exception to the failure of the modifications.
+     */
+    public static void execute(Runnable modifications) {
+        if (CURRENT.get() != null) {
+            modifications.run();
+            return;
+        }
+        BuildFileBatch batch = new BuildFileBatch();
+        CURRENT.set(batch);
+        try {
+            modifications.run();
+        } catch (RuntimeException | Error e) {
+            CURRENT.remove();
+            try {
+                batch.complete(false);
+            } catch (RuntimeException | Error refreshFailure) {
+                e.addSuppressed(refreshFailure);
+            }
+            throw e;
+        }
+        CURRENT.remove();
+        batch.complete(true);
+    }
+
+    static Optional<BuildFileBatch> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    void addModifiedBuildFiles(MavenBuildFileRefactoring<?> refactoring, Collection<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+        // all refactorings of a project work on the same ProjectResourceSet, the modified build files of one
+        // refactoring are refreshed with the first refactoring registered for the same set
+        MavenBuildFileRefactoring<?> key = modifiedBuildFiles.keySet().stream()
+                .filter(r -> r.getProjectResourceSet() == refactoring.getProjectResourceSet())
+                .findFirst()
+                .orElse(refactoring);
+        modifiedBuildFiles.computeIfAbsent(key, k -> Collections.newSetFromMap(new IdentityHashMap<>())).addAll(buildFiles);
+    }
+
+    /**
+     * Registers a {@code callback} to run after the refresh, a callback registered with the same {@code key} replaces it.
+     */
+    void afterRefresh(String key, Runnable callback) {
+        afterRefreshCallbacks.remove(key);
+        afterRefreshCallbacks.put(key, callback);
+    }
+
+    private void complete(boolean successful) {
+        modifiedBuildFiles.forEach((refactoring, buildFiles) -> refactoring.refreshPomModels(buildFiles));
+        if (successful) {
+            afterRefreshCallbacks.values().forEach(Runnable::run);
+        }
+    }
+}
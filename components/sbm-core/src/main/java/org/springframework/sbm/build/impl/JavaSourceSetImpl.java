@@ -20,6 +20,7 @@ import org.springframework.sbm.build.api.JavaSourceSet;
 import org.springframework.sbm.java.api.JavaSource;
 import org.springframework.sbm.java.api.JavaSourceLocation;
 import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.java.impl.ProjectJavaTypeCache;
 import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactory;
 import org.springframework.sbm.java.util.BasePackageCalculator;
@@ -34,6 +35,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -66,7 +68,8 @@ public class JavaSourceSetImpl implements JavaSourceSet {
     @Deprecated(forRemoval = true)
     public JavaSource addJavaSource(Path projectRoot, Path sourceFolder, String sourceCode, String packageName) {
         // FIXME: #7 JavaParser
-        JavaParser javaParser = JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+        Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+        JavaParser javaParser = JavaParser.fromJavaVersion().classpath(classpath).typeCache(new ProjectJavaTypeCache(classpath)).build();
 //        javaParser.reset();
         List<J.CompilationUnit> compilationUnits = javaParser.parse(sourceCode);
         J.CompilationUnit parsedCompilationUnit = compilationUnits.get(0);
@@ -112,6 +115,31 @@ public class JavaSourceSetImpl implements JavaSourceSet {
         return addJavaSource(projectRootDirectory, sourceFolder, src, packageName);
     }
 
+    @Override
+    public List<JavaSource> addJavaSources(Path projectRootDirectory, List<String> sources, String packageName) {
+        Path sourceFolder = this.getJavaSourceLocation().getSourceFolder();
+        Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+        JavaParser javaParser = JavaParser.fromJavaVersion().classpath(classpath).typeCache(new ProjectJavaTypeCache(classpath)).build();
+        List<J.CompilationUnit> compilationUnits = javaParser.parse(sources.toArray(new String[0])).stream()
+                .map(cu -> cu.withSourcePath(sourceFolder.resolve(cu.getSourcePath())))
+                .toList();
+        compilationUnits.stream()
+                .map(J.CompilationUnit::getSourcePath)
+                .filter(Files::exists)
+                .findFirst()
+                .ifPresent(sourceFilePath -> {
+                    throw new RuntimeException("The Java class you tried to add already lives here: '" + sourceFilePath + "'.");
+                });
+        List<JavaSource> addedSources = new ArrayList<>();
+        for (J.CompilationUnit compilationUnit : compilationUnits) {
+            OpenRewriteJavaSource addedSource = new OpenRewriteJavaSource(projectRootDirectory, compilationUnit, javaRefactoringFactory.createRefactoring(compilationUnit), javaParser, executionContext);
+            addedSource.markChanged();
+            projectResourceSet.add(addedSource);
+            addedSources.add(addedSource);
+        }
+        return addedSources;
+    }
+
     @Override
     public void replaceType(String type, String withType) {
 
@@ -15,14 +15,19 @@
  */
 package org.springframework.sbm.build.impl;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.maven.MavenVisitor;
 import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Parent;
 import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.engine.jfr.PomRefreshEvent;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
@@ -30,9 +35,7 @@ import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -42,21 +45,40 @@ import java.util.stream.Collectors;
  */
 @RequiredArgsConstructor
 public class MavenBuildFileRefactoring<T extends SourceFile> {
+    @Getter(AccessLevel.PACKAGE)
     private final ProjectResourceSet projectResourceSet;
     private final RewriteMavenParser mavenParser;
     private final ExecutionContext executionContext;
+    private final Set<RewriteSourceFileHolder<Xml.Document>> modifiedBuildFiles = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Applies the provided {@code Visitor}s to all Maven build files in the {@code ProjectContext}.
      *
+     * All visitors are applied to a build file in one run, each visitor visits the result of the previous visitor.
      * The changes are immediately reflected in the wrapping {@code BuildFile}s.
      */
     public void execute(MavenVisitor... visitors) {
-        List<Result> results = Arrays.stream(visitors)
-                .map(v -> new GenericOpenRewriteRecipe(() -> v))
-                .map(this::executeRecipe)
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
+        if (visitors.length == 0) {
+            return;
+        }
+        CompositeMavenVisitor compositeVisitor = new CompositeMavenVisitor(List.of(visitors));
+        List<Result> results = executeRecipe(new GenericOpenRewriteRecipe<>(() -> compositeVisitor));
+        processResults(results);
+    }
+
+    /**
+     * Applies the provided {@code Visitor}s to the provided Maven build file.
+     *
+     * All visitors are applied in one run, each visitor visits the result of the previous visitor.
+     * The changes are immediately reflected in the wrapping {@code BuildFile}.
+     * A caller must decide if refreshing the Pom files in {@code ProjectContext} is required after this method.
+     */
+    public void execute(RewriteSourceFileHolder<Xml.Document> resource, MavenVisitor... visitors) {
+        if (visitors.length == 0) {
+            return;
+        }
+        CompositeMavenVisitor compositeVisitor = new CompositeMavenVisitor(List.of(visitors));
+        List<Result> results = executeRecipe(new GenericOpenRewriteRecipe<>(() -> compositeVisitor), resource);
         processResults(results);
     }
 
@@ -85,69 +107,171 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
         }
     }
 
+    /**
+     * Refreshes the Maven model of all Maven build files in the {@code ProjectContext}.
+     *
+     * Inside a {@link BuildFileBatch} the refresh is deferred to the end of the batch.
+     */
     public void refreshPomModels() {
-        // store buildfiles and their index in project resource list
-        List<BuildFileWithIndex> buildFilesWithIndex = new ArrayList<>();
-        List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = projectResourceSet.list();
-        for(RewriteSourceFileHolder<? extends SourceFile> sf : projectResources) {
-            if(isMavenBuildFile(sf)) {
-                int index = projectResources.indexOf(sf);
-                Xml.Document xmlDoc = (Xml.Document) sf.getSourceFile();
-                buildFilesWithIndex.add(new BuildFileWithIndex(index, (RewriteSourceFileHolder<Xml.Document>) sf));
+        List<RewriteSourceFileHolder<Xml.Document>> buildFiles = getMavenBuildFiles();
+        BuildFileBatch.current().ifPresentOrElse(
+                batch -> batch.addModifiedBuildFiles(this, buildFiles),
+                () -> refreshPomModels(buildFiles)
+        );
+    }
+
+    /**
+     * Refreshes the Maven model of the build files modified through this refactoring since the last refresh
+     * and of all build files depending on them.
+     *
+     * Inside a {@link BuildFileBatch} the refresh is deferred to the end of the batch.
+     */
+    public void refreshModifiedPomModels() {
+        if (modifiedBuildFiles.isEmpty()) {
+            return;
+        }
+        List<RewriteSourceFileHolder<Xml.Document>> buildFiles = List.copyOf(modifiedBuildFiles);
+        modifiedBuildFiles.clear();
+        BuildFileBatch.current().ifPresentOrElse(
+                batch -> batch.addModifiedBuildFiles(this, buildFiles),
+                () -> refreshPomModels(buildFiles)
+        );
+    }
+
+    /**
+     * Runs the {@code callback} after the Maven models were refreshed.
+     *
+     * Inside a {@link BuildFileBatch} the callback is deferred to the end of the batch and only the last callback
+     * registered with the same {@code key} is executed, otherwise it is executed immediately.
+     */
+    public void afterPomModelsRefreshed(String key, Runnable callback) {
+        BuildFileBatch.current().ifPresentOrElse(
+                batch -> batch.afterRefresh(key, callback),
+                callback
+        );
+    }
+
+    /**
+     * Re-resolves the given build files together with all build files depending on them, e.g. through the parent
+     * or a dependency to another module.
+     * Only these build files and the build files they require for resolution are parsed again.
+     */
+    void refreshPomModels(Collection<RewriteSourceFileHolder<Xml.Document>> modified) {
+        List<RewriteSourceFileHolder<Xml.Document>> buildFiles = getMavenBuildFiles();
+        Map<String, RewriteSourceFileHolder<Xml.Document>> buildFilesByCoordinates = new HashMap<>();
+        Map<RewriteSourceFileHolder<Xml.Document>, Set<String>> requiredCoordinates = new IdentityHashMap<>();
+        buildFiles.forEach(bf -> {
+            MavenResolutionResult mavenResolution = getMavenResolution(bf);
+            buildFilesByCoordinates.put(coordinates(mavenResolution), bf);
+            requiredCoordinates.put(bf, findRequiredCoordinates(mavenResolution));
+        });
+
+        Set<RewriteSourceFileHolder<Xml.Document>> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+        buildFiles.stream().filter(bf -> modified.stream().anyMatch(m -> m == bf)).forEach(affected::add);
+        Set<String> affectedCoordinates = new HashSet<>();
+        boolean added = !affected.isEmpty();
+        while (added) {
+            affected.forEach(bf -> affectedCoordinates.add(coordinates(getMavenResolution(bf))));
+            added = false;
+            for (RewriteSourceFileHolder<Xml.Document> bf : buildFiles) {
+                if (!affected.contains(bf) && requiredCoordinates.get(bf).stream().anyMatch(affectedCoordinates::contains)) {
+                    affected.add(bf);
+                    added = true;
+                }
+            }
+        }
+        if (affected.isEmpty()) {
+            return;
+        }
+        PomRefreshEvent event = new PomRefreshEvent();
+        event.begin();
+
+        Set<RewriteSourceFileHolder<Xml.Document>> required = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<RewriteSourceFileHolder<Xml.Document>> toVisit = new ArrayDeque<>(affected);
+        while (!toVisit.isEmpty()) {
+            RewriteSourceFileHolder<Xml.Document> bf = toVisit.pop();
+            if (required.add(bf)) {
+                requiredCoordinates.get(bf).stream()
+                        .map(buildFilesByCoordinates::get)
+                        .filter(Objects::nonNull)
+                        .forEach(toVisit::push);
             }
         }
+        List<RewriteSourceFileHolder<Xml.Document>> buildFilesToParse = buildFiles.stream()
+                .filter(required::contains)
+                .collect(Collectors.toList());
 
         // create parser inputs from buildfiles content
-        List<Parser.Input> parserInputs = buildFilesWithIndex
+        List<Parser.Input> parserInputs = buildFilesToParse
                 .stream()
-                .map(BuildFileWithIndex::getXmlDoc)
-                .map(m -> new Parser.Input(m.getSourcePath(), null, () -> new ByteArrayInputStream(
-                        m.print().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourcePath())))
+                .map(m -> new Parser.Input(m.getSourceFile().getSourcePath(), null, () -> new ByteArrayInputStream(
+                        m.print().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourceFile().getSourcePath())))
                 .collect(Collectors.toList());
 
         // parse buildfiles
         List<Xml.Document> newMavenFiles = mavenParser.parseInputs(parserInputs, null, executionContext);
+        SbmMetrics.countReparses("maven", newMavenFiles.size());
+
+        // replace new model in affected build files
+        for (int i = 0; i < newMavenFiles.size(); i++) {
+            RewriteSourceFileHolder<Xml.Document> originalPom = buildFilesToParse.get(i);
+            if (affected.contains(originalPom)) {
+                replaceModelInBuildFile(originalPom, newMavenFiles.get(i));
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.modifiedBuildFiles = modified.size();
+            event.reparsedBuildFiles = buildFilesToParse.size();
+            event.refreshedBuildFiles = affected.size();
+            event.commit();
+        }
+    }
+
+    private Set<String> findRequiredCoordinates(MavenResolutionResult mavenResolution) {
+        Set<String> required = new HashSet<>();
+        Parent parent = mavenResolution.getPom().getRequested().getParent();
+        if (parent != null) {
+            required.add(coordinates(parent.getGroupId(), parent.getArtifactId()));
+        }
+        mavenResolution.getDependencies().values().stream()
+                .flatMap(List::stream)
+                .forEach(d -> required.add(coordinates(d.getGroupId(), d.getArtifactId())));
+        mavenResolution.getPom().getDependencyManagement()
+                .forEach(d -> required.add(coordinates(d.getGroupId(), d.getArtifactId())));
+        return required;
+    }
+
+    private String coordinates(MavenResolutionResult mavenResolution) {
+        return coordinates(mavenResolution.getPom().getGroupId(), mavenResolution.getPom().getArtifactId());
+    }
+
+    private String coordinates(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
 
-        // replace new model in build files
-        newMavenFiles.stream()
-                .forEach(mf -> {
-                    replaceModelInBuildFile(projectResources, buildFilesWithIndex, newMavenFiles, mf);
-                });
-    }
-
-    private void replaceModelInBuildFile(
-            List<RewriteSourceFileHolder<? extends SourceFile>> projectResources,
-            List<BuildFileWithIndex> buildFilesWithIndex,
-            List<Xml.Document> newMavenFiles,
-            Xml.Document mf
-    ) {
-        // get index in list of build files
-        int indexInNewMavenFiles = newMavenFiles.indexOf(mf);
-        RewriteSourceFileHolder<Xml.Document> originalPom = buildFilesWithIndex.get(indexInNewMavenFiles).getXmlDoc();
-        int indexInProjectResources = projectResources.indexOf(originalPom);
+    private void replaceModelInBuildFile(RewriteSourceFileHolder<Xml.Document> originalPom, Xml.Document mf) {
         // replace marker
         Markers markers = originalPom.getSourceFile().getMarkers().removeByType(MavenResolutionResult.class);
         MavenResolutionResult updatedModel = mf.getMarkers().findFirst(MavenResolutionResult.class).get();
         markers = markers.addIfAbsent(updatedModel);
         Xml.Document refreshedPom = originalPom.getSourceFile().withMarkers(markers);
-        RewriteSourceFileHolder<Xml.Document> rewriteSourceFileHolder = (RewriteSourceFileHolder<Xml.Document>) projectResources.get(indexInProjectResources);
-        rewriteSourceFileHolder.replaceWith(refreshedPom);
+        originalPom.replaceWith(refreshedPom);
     }
 
-    private boolean isMavenBuildFile(RewriteSourceFileHolder<? extends SourceFile> sf) {
-        return Xml.Document.class.isInstance(sf.getSourceFile()) && Xml.Document.class.cast(sf.getSourceFile()).getMarkers().findFirst(MavenResolutionResult.class).isPresent();
+    private List<RewriteSourceFileHolder<Xml.Document>> getMavenBuildFiles() {
+        return projectResourceSet.stream()
+                .filter(this::isMavenBuildFile)
+                .map(sf -> (RewriteSourceFileHolder<Xml.Document>) sf)
+                .collect(Collectors.toList());
     }
 
-    @Getter
-    class BuildFileWithIndex {
-        private final int index;
-        private final RewriteSourceFileHolder<Xml.Document> xmlDoc;
-
-        public BuildFileWithIndex(int index, RewriteSourceFileHolder<Xml.Document> xmlDoc) {
+    private MavenResolutionResult getMavenResolution(RewriteSourceFileHolder<Xml.Document> buildFile) {
+        return buildFile.getSourceFile().getMarkers().findFirst(MavenResolutionResult.class).get();
+    }
 
-            this.index = index;
-            this.xmlDoc = xmlDoc;
-        }
+    private boolean isMavenBuildFile(RewriteSourceFileHolder<? extends SourceFile> sf) {
+        return Xml.Document.class.isInstance(sf.getSourceFile()) && Xml.Document.class.cast(sf.getSourceFile()).getMarkers().findFirst(MavenResolutionResult.class).isPresent();
     }
 
     private List<Result> executeRecipe(Recipe recipe) {
@@ -178,18 +302,39 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
 
     private void processResults(List<Result> results) {
         if (!results.isEmpty()) {
+            Map<UUID, OpenRewriteMavenBuildFile> buildFilesById = getOpenRewriteMavenBuildFiles()
+                    .stream()
+                    .collect(Collectors.toMap(bf -> bf.getSourceFile().getId(), bf -> bf, (bf1, bf2) -> bf1));
             results.forEach(r -> {
                 if(!(r.getAfter() instanceof Xml.Document)) {
                     throw new RuntimeException("Return type of refactoring result is not Xml.Document but " + r.getAfter().getClass() + " with content: \n" + r.getAfter().printAll());
                 }
-                OpenRewriteMavenBuildFile openRewriteMavenBuildFile = getOpenRewriteMavenBuildFiles()
-                        .stream()
-                        .filter(bf -> bf.getSourceFile().getId().equals(r.getAfter().getId()))
-                        .findFirst()
+                OpenRewriteMavenBuildFile openRewriteMavenBuildFile = Optional.ofNullable(buildFilesById.get(r.getAfter().getId()))
                         .orElseThrow(() -> new RuntimeException("Could not find a BuildFile that wraps Xml.Document with id '%s' in the Result.".formatted(r.getAfter().getId())));
                 openRewriteMavenBuildFile.replaceWith((Xml.Document) r.getAfter());
+                modifiedBuildFiles.add(openRewriteMavenBuildFile);
             });
         }
     }
 
+    /**
+     * Applies a list of {@code MavenVisitor}s to a build file in one run, passing the result of a visitor to the next.
+     */
+    @RequiredArgsConstructor
+    private static class CompositeMavenVisitor extends TreeVisitor<Tree, ExecutionContext> {
+        private final List<MavenVisitor> visitors;
+
+        @Override
+        public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            Tree result = tree;
+            for (MavenVisitor visitor : visitors) {
+                if (result == null) {
+                    break;
+                }
+                result = (Tree) visitor.visit(result, ctx);
+            }
+            return result;
+        }
+    }
+
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Scope;
+import org.springframework.sbm.build.api.Dependency;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Memoizes the dependencies and dependency paths of an {@link OpenRewriteMavenBuildFile}.
+ * <p>
+ * The cache is bound to a {@link MavenResolutionResult} instance.
+ * Every refresh of the pom model replaces the marker and thereby invalidates the cache.
+ * {@link Dependency} is mutable, memoized dependencies are copied before they are returned.
+ */
+@RequiredArgsConstructor
+class MavenDependencyCache {
+
+    @Getter
+    private final MavenResolutionResult mavenResolution;
+    private final Map<Scope, List<Path>> resolvedDependenciesPaths = new ConcurrentHashMap<>();
+    private final Map<Scope, Set<Dependency>> effectiveDependencies = new ConcurrentHashMap<>();
+    private volatile List<Dependency> declaredDependencies;
+    private volatile List<Dependency> requestedDependencies;
+
+    /**
+     * Failed downloads are {@code null}, paths containing them are not memoized and resolved again with the next call.
+     */
+    List<Path> getResolvedDependenciesPaths(Scope scope, Function<Scope, List<Path>> resolver) {
+        List<Path> paths = resolvedDependenciesPaths.get(scope);
+        if (paths == null) {
+            paths = resolver.apply(scope);
+            if (!paths.contains(null)) {
+                resolvedDependenciesPaths.put(scope, List.copyOf(paths));
+            }
+        }
+        return new ArrayList<>(paths);
+    }
+
+    Set<Dependency> getEffectiveDependencies(Scope scope, Function<Scope, Set<Dependency>> mapper) {
+        return copy(effectiveDependencies.computeIfAbsent(scope, mapper), Collectors.toSet());
+    }
+
+    List<Dependency> getDeclaredDependencies(Supplier<List<Dependency>> mapper) {
+        List<Dependency> dependencies = declaredDependencies;
+        if (dependencies == null) {
+            dependencies = mapper.get();
+            declaredDependencies = dependencies;
+        }
+        return copy(dependencies, Collectors.toList());
+    }
+
+    List<Dependency> getRequestedDependencies(Supplier<List<Dependency>> mapper) {
+        List<Dependency> dependencies = requestedDependencies;
+        if (dependencies == null) {
+            dependencies = mapper.get();
+            requestedDependencies = dependencies;
+        }
+        return copy(dependencies, Collectors.toList());
+    }
+
+    private <C extends Collection<Dependency>> C copy(Collection<Dependency> dependencies, Collector<Dependency, ?, C> collector) {
+        return dependencies.stream()
+                .map(MavenDependencyCache::copy)
+                .collect(collector);
+    }
+
+    private static Dependency copy(Dependency d) {
+        return new Dependency(
+                d.getGroupId(),
+                d.getArtifactId(),
+                d.getVersion(),
+                d.getType(),
+                d.getScope(),
+                d.getClassifier(),
+                d.getExclusions() == null ? null : d.getExclusions().stream().map(MavenDependencyCache::copy).collect(Collectors.toList())
+        );
+    }
+}
@@ -36,9 +36,12 @@ import org.springframework.sbm.build.impl.inner.PluginRepositoryHandler;
 import org.springframework.sbm.build.migration.recipe.AddMavenPlugin;
 import org.springframework.sbm.build.migration.recipe.RemoveMavenPlugin;
 import org.springframework.sbm.build.migration.visitor.AddOrUpdateDependencyManagement;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.java.impl.ClasspathRegistry;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SourceFilePrintCounter;
 import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
 import java.io.ByteArrayInputStream;
@@ -81,12 +84,16 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                         .map(m -> new Parser.Input(
                                         m.getSourcePath(),
                                         null,
-                                        () -> new ByteArrayInputStream(m.printAll().getBytes(StandardCharsets.UTF_8)),
+                                        () -> {
+                                            SourceFilePrintCounter.getInstance().increment();
+                                            return new ByteArrayInputStream(m.printAll().getBytes(StandardCharsets.UTF_8));
+                                        },
                                         !Files.exists(m.getSourcePath())
                                 )
                         )
                         .collect(Collectors.toList());
                 List<Xml.Document> newMavenFiles = mavenParser.parseInputs(parserInput, null, ctx);
+                SbmMetrics.countReparses("maven", newMavenFiles.size());
 
                 for (int i = 0; i < newMavenFiles.size(); i++) {
                     Optional<MavenResolutionResult> mavenModels = MavenBuildFileUtil.findMavenResolution(mavenFiles.get(i));
@@ -120,6 +127,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     private static final Path RESOURCE_TEST_FOLDER = Path.of("src/test/resources");
 
     private final ExecutionContext executionContext;
+    private volatile MavenDependencyCache dependencyCache;
 
 
     public OpenRewriteMavenBuildFile(Path absoluteProjectPath,
@@ -143,6 +151,18 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
         return MavenBuildFileUtil.findMavenResolution(getSourceFile()).get();
     }
 
+    private MavenDependencyCache getDependencyCache() {
+        // resolved dependencies also depend on parent and sibling poms
+        ResourceAccessRecorder.recordTypeAccess(Xml.Document.class);
+        MavenResolutionResult pom = getPom();
+        MavenDependencyCache cache = dependencyCache;
+        if (cache == null || cache.getMavenResolution() != pom) {
+            cache = new MavenDependencyCache(pom);
+            dependencyCache = cache;
+        }
+        return cache;
+    }
+
 	public RewriteSourceFileHolder<Xml.Document> getResource() {
 		return this;
 	}
@@ -151,7 +171,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     public void addDependency(Dependency dependency) {
         if (!containsDependency(dependency)) {
             addDependencyInner(dependency);
-            eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+            publishDependenciesChanged();
         }
     }
 
@@ -175,7 +195,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public void addDependencies(List<Dependency> dependencies) {
         addDependenciesInner(dependencies);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     /**
@@ -240,9 +260,11 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public List<Dependency> getDeclaredDependencies(Scope... scopes) {
         // returns dependencies as declared in xml
-        List<org.openrewrite.maven.tree.Dependency> requestedDependencies = getPom().getPom().getRequestedDependencies();
         // FIXME: #7 use getPom().getDependencies() instead ?
-        return requestedDependencies.stream()
+        return getDependencyCache().getDeclaredDependencies(() -> getPom().getPom().getRequestedDependencies().stream()
+                        .map(this::mapDependency)
+                        .collect(Collectors.toList()))
+                .stream()
                 .filter(d -> {
                     if(scopes.length == 0) {
                         return true;
@@ -254,7 +276,6 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                         });
                     }
                 })
-                .map(this::mapDependency)
                 .collect(Collectors.toList());
     }
 
@@ -263,6 +284,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
      */
     @Override
     public List<Dependency> getRequestedDependencies() {
+        return getDependencyCache().getRequestedDependencies(this::mapRequestedDependencies);
+    }
+
+    private List<Dependency> mapRequestedDependencies() {
         List<org.openrewrite.maven.tree.Dependency> requestedDependencies = getPom().getPom().getRequestedDependencies();
         // FIXME: #7 use getPom().getDependencies() instead ?
         List<Dependency> declaredDependenciesWithEffectiveVersions = requestedDependencies.stream()
@@ -317,35 +342,17 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
      */
     @Override
     public Set<Dependency> getEffectiveDependencies(Scope scope) {
-        return getPom().getDependencies().get(scope)
+        return getDependencyCache().getEffectiveDependencies(scope, s -> getPom().getDependencies().get(s)
                 .stream()
-                .map(d -> mapDependency(scope, d))
-                .collect(Collectors.toSet());
+                .map(d -> mapDependency(s, d))
+                .collect(Collectors.toSet()));
     }
 
     @Override
     public Set<Dependency> getEffectiveDependencies() {
-        Set<Dependency> collect = getPom()
-                .getDependencies()
-                .get(Scope.Compile)
-                .stream()
-                .map(d -> mapDependency(Scope.Compile, d))
-                .collect(Collectors.toSet());
-
-        getPom()
-                .getDependencies()
-                .get(Scope.Provided)
-                .stream()
-                .map(d -> mapDependency(Scope.Provided, d))
-                .forEach(d -> collect.add(d));
-
-        getPom()
-                .getDependencies()
-                .get(Scope.Test)
-                .stream()
-                .map(d -> mapDependency(Scope.Test, d))
-                .forEach(d -> collect.add(d));
-
+        Set<Dependency> collect = getEffectiveDependencies(Scope.Compile);
+        collect.addAll(getEffectiveDependencies(Scope.Provided));
+        collect.addAll(getEffectiveDependencies(Scope.Test));
         return collect;
     }
 
@@ -353,7 +360,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     public void removeDependencies(List<Dependency> dependencies) {
         removeDependenciesInner(dependencies);
 
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     /**
@@ -369,13 +376,13 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                 .filter(c -> Arrays.stream(regex).anyMatch(r -> c.getCoordinates().matches(r)))
                 .collect(Collectors.toList());
         removeDependenciesInner(dependenciesMatching);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     @Override
     public void addToDependencyManagement(Dependency dependency) {
         addToDependencyManagementInner(dependency);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        publishDependenciesChanged();
     }
 
     private org.springframework.sbm.build.api.Dependency mapDependency(org.openrewrite.maven.tree.Dependency d) {
@@ -427,9 +434,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     protected void addDependenciesInner(List<Dependency> dependencies) {
         if (!dependencies.isEmpty()) {
-            Recipe r = getAddDependencyRecipe(dependencies.get(0));
-            dependencies.stream().skip(1).forEach(d -> r.doNext(getAddDependencyRecipe(d)));
-            apply(r, getResource());
+            MavenVisitor[] addDependencyVisitors = dependencies.stream()
+                    .map(this::getAddDependencyVisitor)
+                    .toArray(MavenVisitor[]::new);
+            refactoring.execute(getResource(), addDependencyVisitors);
             refreshPomModel();
             List<Dependency> exclusions = dependencies.stream()
                     .filter(not(d -> d.getExclusions().isEmpty()))
@@ -438,13 +446,18 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
             excludeDependenciesInner(exclusions);
 
-            updateClasspathRegistry();
+            refactoring.afterPomModelsRefreshed(getAbsolutePath() + "#classpathRegistry", this::updateClasspathRegistry);
         }
     }
 
     private void refreshPomModel() {
 //        apply(new GenericOpenRewriteRecipe<>(() -> new UpdateMavenModel<>()));
-        refactoring.refreshPomModels();
+        refactoring.refreshModifiedPomModels();
+    }
+
+    private void publishDependenciesChanged() {
+        refactoring.afterPomModelsRefreshed(getAbsolutePath() + "#dependenciesChanged",
+                () -> eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths())));
     }
 
     /**
@@ -472,9 +485,8 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
         compileDependencies.forEach(instance::addDependency);
     }
 
-    private Recipe getAddDependencyRecipe(Dependency dependency) {
-
-        AddDependencyVisitor addDependencyVisitor = new AddDependencyVisitor(
+    private AddDependencyVisitor getAddDependencyVisitor(Dependency dependency) {
+        return new AddDependencyVisitor(
                 dependency.getGroupId(),
                 dependency.getArtifactId(),
                 dependency.getVersion(),
@@ -485,8 +497,6 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                 dependency.getClassifier(),
                 false,
                 null);
-
-        return new GenericOpenRewriteRecipe<AddDependencyVisitor>(() -> addDependencyVisitor);
     }
 
     public void removeDependenciesInner(List<Dependency> dependencies) {
@@ -576,11 +586,15 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     @Override
     public List<Path> getResolvedDependenciesPaths() {
-        RewriteMavenArtifactDownloader rewriteMavenArtifactDownloader = new RewriteMavenArtifactDownloader();
-        return getPom().getDependencies().get(Scope.Provided).stream()
+        return getDependencyCache().getResolvedDependenciesPaths(Scope.Provided, scope -> getPom().getDependencies().get(scope).stream()
                 .filter(this::filterProjectDependencies)
-                .map(rd -> rewriteMavenArtifactDownloader.downloadArtifact(rd))
-                .collect(Collectors.toList());
+                .map(rd -> ArtifactDownloaderHolder.INSTANCE.downloadArtifact(rd))
+                .collect(Collectors.toList()));
+    }
+
+    // creating the downloader is expensive, it is shared by all build files
+    private static class ArtifactDownloaderHolder {
+        private static final RewriteMavenArtifactDownloader INSTANCE = new RewriteMavenArtifactDownloader();
     }
 
     @NotNull
@@ -744,7 +758,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public void excludeDependencies(List<Dependency> excludedDependencies) {
         excludeDependenciesInner(excludedDependencies);
-        updateClasspathRegistry();
+        refactoring.afterPomModelsRefreshed(getAbsolutePath() + "#classpathRegistry", this::updateClasspathRegistry);
     }
 
     @Override
@@ -814,23 +828,11 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     @Override
     public void removePlugins(String... coordinates) {
-        List<RemoveMavenPlugin> removeMavenPlugins = new ArrayList<>();
-        List<String> c = Arrays.asList(coordinates);
-        Iterator<String> iterator = c.iterator();
-        Recipe recipe;
-        String coordinate = iterator.next();
-        String[] split = coordinate.split(":");
-        recipe = new RemoveMavenPlugin(split[0], split[1]);
-        while (iterator.hasNext()) {
-            coordinate = iterator.next();
-            split = coordinate.split(":");
-            recipe.doNext(new RemoveMavenPlugin(split[0], split[1]));
-        }
-
-        List<Result> run = recipe.run(List.of(getSourceFile()), executionContext).getResults();
-        if (!run.isEmpty()) {
-            replaceWith((Xml.Document) run.get(0).getAfter());
-        }
+        MavenVisitor[] removeMavenPluginVisitors = Arrays.stream(coordinates)
+                .map(coordinate -> coordinate.split(":"))
+                .map(split -> new RemoveMavenPlugin(split[0], split[1]).getVisitor())
+                .toArray(MavenVisitor[]::new);
+        refactoring.execute(getResource(), removeMavenPluginVisitors);
     }
 
 	@Override
@@ -165,7 +165,7 @@ public class OpenRewriteMavenPlugin implements Plugin {
 							configurationXml
 						)
 				);
-				OpenRewriteMavenPlugin.this.refactoring.refreshPomModels();
+				OpenRewriteMavenPlugin.this.refactoring.refreshModifiedPomModels();
 			}
 			catch (JsonProcessingException e) {
 				throw new RuntimeException(e);
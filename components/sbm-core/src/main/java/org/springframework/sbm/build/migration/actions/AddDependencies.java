@@ -20,6 +20,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.DependencyChangeResolver;
+import org.springframework.sbm.build.impl.BuildFileBatch;
 import org.springframework.sbm.engine.recipe.AbstractAction;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.Getter;
@@ -72,7 +73,10 @@ public class AddDependencies extends MultiModuleAwareAction {
                 .map(Optional::get)
                 .collect(Collectors.toList());
 
-        buildFile.removeDependencies(removeList);
-        buildFile.addDependencies(addList);
+        // the pom model is refreshed once after removing and adding the dependencies
+        BuildFileBatch.execute(() -> {
+            buildFile.removeDependencies(removeList);
+            buildFile.addDependencies(addList);
+        });
     }
 }
@@ -16,6 +16,7 @@
 package org.springframework.sbm.build.migration.actions;
 
 import org.springframework.sbm.build.api.Dependency;
+import org.springframework.sbm.build.impl.BuildFileBatch;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.MultiModuleAwareAction;
 import org.springframework.sbm.engine.recipe.MultiModuleHandler;
@@ -26,7 +27,8 @@ public class AddDependenciesToApplicationModules implements MultiModuleHandler<A
     @Override
     public void handle(ProjectContext context) {
         if(!context.getApplicationModules().isSingleModuleApplication()) {
-            context.getApplicationModules().getTopmostApplicationModules().forEach(m -> m.getBuildFile().addDependencies(action.getDependencies()));
+            BuildFileBatch.execute(() -> context.getApplicationModules().getTopmostApplicationModules()
+                    .forEach(m -> m.getBuildFile().addDependencies(action.getDependencies())));
         }
     }
 
@@ -18,6 +18,7 @@ package org.springframework.sbm.build.migration.actions;
 import lombok.experimental.SuperBuilder;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.impl.BuildFileBatch;
 import org.springframework.sbm.engine.recipe.AbstractAction;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.*;
@@ -49,9 +50,12 @@ public class RemoveDependenciesMatchingRegex extends MultiModuleAwareAction {
 
     @Override
     public void apply(ProjectContext context) {
-        context.getModules().stream()
+        String[] regex = dependenciesRegex.toArray(new String[0]);
+        List<BuildFile> buildFiles = context.getModules().stream()
                 .map(Module::getBuildFile)
-                .filter(b -> b.hasDeclaredDependencyMatchingRegex(dependenciesRegex.toArray(new String[0])))
-                .forEach(b -> b.removeDependenciesMatchingRegex(dependenciesRegex.toArray(new String[0])));
+                .filter(b -> b.hasDeclaredDependencyMatchingRegex(regex))
+                .toList();
+        // the build files are selected before the batch, reads inside a batch see the models from before the batch
+        BuildFileBatch.execute(() -> buildFiles.forEach(b -> b.removeDependenciesMatchingRegex(regex)));
     }
 }
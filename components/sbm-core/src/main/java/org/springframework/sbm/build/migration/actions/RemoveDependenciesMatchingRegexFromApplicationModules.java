@@ -16,6 +16,7 @@
 package org.springframework.sbm.build.migration.actions;
 
 import org.springframework.sbm.build.api.Module;
+import org.springframework.sbm.build.impl.BuildFileBatch;
 import org.springframework.sbm.build.migration.actions.RemoveDependenciesMatchingRegex;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.MultiModuleHandler;
@@ -26,9 +27,10 @@ public class RemoveDependenciesMatchingRegexFromApplicationModules implements Mu
 
     @Override
     public void handle(ProjectContext context) {
-        context.getApplicationModules().getTopmostApplicationModules().stream()
+        String[] regex = action.getDependenciesRegex().toArray(new String[0]);
+        BuildFileBatch.execute(() -> context.getApplicationModules().getTopmostApplicationModules().stream()
                 .map(Module::getBuildFile)
-                .forEach(b -> action.getDependenciesRegex().stream().forEach(b::removeDependenciesMatchingRegex));
+                .forEach(b -> b.removeDependenciesMatchingRegex(regex)));
     }
 
     @Override
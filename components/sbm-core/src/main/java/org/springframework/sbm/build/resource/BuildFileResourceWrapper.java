@@ -40,7 +40,7 @@ public class BuildFileResourceWrapper implements ProjectResourceWrapper<OpenRewr
 
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
-        return Xml.Document.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass()) && rewriteSourceFileHolder.getAbsolutePath().endsWith("pom.xml");
+        return rewriteSourceFileHolder.getAbsolutePath().endsWith("pom.xml") && Xml.Document.class.isAssignableFrom(rewriteSourceFileHolder.getType());
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectRootPathResolver;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.engine.precondition.PreconditionVerificationResult;
 import org.springframework.sbm.engine.precondition.PreconditionVerifier;
 import org.springframework.sbm.project.parser.PathScanner;
@@ -59,13 +60,24 @@ public class ScanCommand extends AbstractCommand<ProjectContext> {
     private ScanScope scanScope;
 
     public ProjectContext execute(String... arguments) {
+        return SbmMetrics.timed(SbmMetrics.SCAN, () -> scan(arguments[0], null));
+    }
+
+    /**
+     * Scans the project using the {@code resources} already returned by {@link #scanProjectRoot(String)}.
+     */
+    public ProjectContext execute(String projectRoot, List<Resource> resources) {
+        return SbmMetrics.timed(SbmMetrics.SCAN, () -> scan(projectRoot, resources));
+    }
+
+    private ProjectContext scan(String projectRootPath, List<Resource> scannedResources) {
         // initialize the(!) ExecutionContext
         // It will be available through DI in all objects involved while this method runs (scoped to recipe run)
         scanScope.clear(beanFactory);
 
-        Path projectRoot = projectRootPathResolver.getProjectRootOrDefault(arguments[0]);
+        Path projectRoot = projectRootPathResolver.getProjectRootOrDefault(projectRootPath);
 
-        List<Resource> resources = pathScanner.scan(projectRoot);
+        List<Resource> resources = scannedResources != null ? scannedResources : pathScanner.scan(projectRoot);
 
         return projectContextInitializer.initProjectContext(projectRoot, resources);
     }
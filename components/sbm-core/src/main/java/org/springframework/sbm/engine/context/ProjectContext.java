@@ -30,6 +30,7 @@ import org.springframework.sbm.build.filter.BuildFileProjectResourceFilter;
 import org.springframework.sbm.engine.recipe.OpenRewriteSourceFilesFinder;
 import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
 import org.springframework.sbm.java.api.ProjectJavaSources;
+import org.springframework.sbm.java.impl.JavaSourceIndex;
 import org.springframework.sbm.java.impl.ProjectJavaSourcesImpl;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactory;
 import org.springframework.sbm.java.util.BasePackageCalculator;
@@ -52,6 +53,7 @@ public class ProjectContext {
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
     private final RewriteMigrationResultMerger resultMerger;
+    private final JavaSourceIndex javaSourceIndex;
 
     public ProjectContext(JavaRefactoringFactory javaRefactoringFactory, Path projectRootDirectory, ProjectResourceSet projectResources, BasePackageCalculator basePackageCalculator, JavaParser javaParser, ExecutionContext executionContext, RewriteMigrationResultMerger resultMerger) {
         this.projectRootDirectory = projectRootDirectory.toAbsolutePath();
@@ -61,12 +63,20 @@ public class ProjectContext {
         this.javaParser = javaParser;
         this.executionContext = executionContext;
         this.resultMerger = resultMerger;
+        this.javaSourceIndex = new JavaSourceIndex(projectResources);
     }
 
     public ProjectResourceSet getProjectResources() {
         return projectResources;
     }
 
+    /**
+     * @see ProjectResourceSet#getChangeGeneration()
+     */
+    public long getChangeGeneration() {
+        return projectResources.getChangeGeneration();
+    }
+
     /**
      * @deprecated
      * Use {@link #getApplicationModules()} instead.
@@ -102,7 +112,7 @@ public class ProjectContext {
     }
 
     public ProjectJavaSources getProjectJavaSources() {
-        ProjectJavaSources projectJavaSources = new ProjectJavaSourcesImpl(projectResources, javaRefactoringFactory.createRefactoring());
+        ProjectJavaSources projectJavaSources = new ProjectJavaSourcesImpl(projectResources, javaRefactoringFactory.createRefactoring(), javaSourceIndex);
         return projectJavaSources;
     }
 
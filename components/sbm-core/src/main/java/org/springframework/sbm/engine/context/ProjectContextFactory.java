@@ -51,6 +51,7 @@ public class ProjectContextFactory {
         List<BuildFile> buildFiles = new BuildFileProjectResourceFilter().apply(projectResourceSet);
         ClasspathRegistry.initializeFromBuildFiles(buildFiles);
         ProjectContext projectContext = new ProjectContext(javaRefactoringFactory, projectDir, projectResourceSet, basePackageCalculator, javaParser, executionContext, resultMerger);
+        projectContext.getJavaSourceIndex().update();
         return projectContext;
     }
 
@@ -15,13 +15,32 @@
  */
 package org.springframework.sbm.engine.context;
 
-import lombok.Getter;
-import lombok.Setter;
+import org.springframework.sbm.scopes.ScopeConversation;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link ProjectContext} of the {@link ScopeConversation} bound to the current thread.
+ */
 @Component
-@Getter
-@Setter
 public class ProjectContextHolder {
     private ProjectContext projectContext;
+    private final Map<String, ProjectContext> conversationContexts = new ConcurrentHashMap<>();
+
+    public ProjectContext getProjectContext() {
+        return ScopeConversation.current().map(conversationContexts::get).orElse(projectContext);
+    }
+
+    public void setProjectContext(ProjectContext projectContext) {
+        ScopeConversation.current().ifPresentOrElse(
+                conversationId -> conversationContexts.put(conversationId, projectContext),
+                () -> this.projectContext = projectContext
+        );
+    }
+
+    public void remove(String conversationId) {
+        conversationContexts.remove(conversationId);
+    }
 }
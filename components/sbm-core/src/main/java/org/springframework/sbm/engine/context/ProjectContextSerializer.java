@@ -16,6 +16,7 @@
 package org.springframework.sbm.engine.context;
 
 import org.springframework.sbm.project.resource.ProjectResourceSetSerializer;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -26,6 +27,6 @@ public class ProjectContextSerializer {
     private final ProjectResourceSetSerializer projectResourceSetSerializer;
 
     public void writeChanges(ProjectContext context) {
-        projectResourceSetSerializer.writeChanges(context.getProjectResources());
+        SbmMetrics.timed(SbmMetrics.SERIALIZATION, () -> projectResourceSetSerializer.writeChanges(context.getProjectResources()));
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.jfr;
+
+import jdk.jfr.Event;
+
+import java.util.List;
+
+/**
+ * The Java Flight Recorder events of SBM.
+ * <p>
+ * Events are created around the recorded code and committed only if {@link Event#shouldCommit()}, so fields are
+ * computed only while a recording is running and the event exceeds its threshold.
+ * All events are enabled by default, {@link ConditionEvaluationEvent}s are recorded if they take at least 1 ms.
+ */
+public final class JfrEvents {
+
+    public static final String CATEGORY = "Spring Boot Migrator";
+
+    public static final List<Class<? extends Event>> EVENT_TYPES = List.of(
+            RecipeExecutionEvent.class,
+            ActionApplyEvent.class,
+            ConditionEvaluationEvent.class,
+            OpenRewriteRecipeRunEvent.class,
+            PomRefreshEvent.class,
+            DependenciesChangedHandlingEvent.class);
+
+    private JfrEvents() {
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.springframework.sbm.PomRefresh")
+@Label("Pom Refresh")
+@Category(JfrEvents.CATEGORY)
+@Description("Maven models refreshed after build files were modified")
+@StackTrace(false)
+public class PomRefreshEvent extends Event {
+
+    @Label("Modified Build Files")
+    public int modifiedBuildFiles;
+
+    @Label("Reparsed Build Files")
+    public int reparsedBuildFiles;
+
+    @Label("Refreshed Build Files")
+    public int refreshedBuildFiles;
+}
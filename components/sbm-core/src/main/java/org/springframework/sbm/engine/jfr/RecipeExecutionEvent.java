@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.jfr;
+
+import jdk.jfr.*;
+
+@Name("org.springframework.sbm.RecipeExecution")
+@Label("Recipe Execution")
+@Category(JfrEvents.CATEGORY)
+@Description("A recipe applied to a project, from its first to its last action")
+@StackTrace(false)
+public class RecipeExecutionEvent extends Event {
+
+    @Label("Recipe")
+    public String recipe;
+
+    @Label("Actions")
+    public int actions;
+
+    @Label("Applied Actions")
+    public int appliedActions;
+
+    @Label("Project Resources")
+    public int projectResources;
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.sbm.project.resource.SourceFilePrintCounter;
+
+import java.util.function.Supplier;
+
+/**
+ * Names of the meters recorded by SBM and helpers to record them.
+ * <p>
+ * Meters are recorded to Micrometer's global registry, so components which are not Spring beans can record them too.
+ * Recording is a no-op until an application adds a registry, Spring Boot's actuator adds its registries by default.
+ */
+public final class SbmMetrics {
+
+    public static final String SCAN = "sbm.scan";
+    public static final String PATH_SCAN = "sbm.scan.paths";
+    public static final String PARSE = "sbm.parse";
+    public static final String ACTION_APPLY = "sbm.action.apply";
+    public static final String CONDITION_EVALUATION = "sbm.condition.evaluation";
+    public static final String RESULTS_MERGE = "sbm.results.merge";
+    public static final String SERIALIZATION = "sbm.serialization";
+    public static final String REPARSES = "sbm.lst.reparses";
+    public static final String REPRINTS = "sbm.lst.reprints";
+
+    static {
+        FunctionCounter.builder(REPRINTS, SourceFilePrintCounter.getInstance(), SourceFilePrintCounter::getCount)
+                .description("LSTs printed to write or reparse resources")
+                .register(Metrics.globalRegistry);
+    }
+
+    private SbmMetrics() {
+    }
+
+    /**
+     * Records the duration of {@code supplier}, also when it throws an exception.
+     *
+     * @param tags alternating tag keys and values
+     */
+    public static <T> T timed(String name, Supplier<T> supplier, String... tags) {
+        return Timer.builder(name).tags(tags).register(Metrics.globalRegistry).record(supplier);
+    }
+
+    /**
+     * Records the duration of {@code runnable}, also when it throws an exception.
+     *
+     * @param tags alternating tag keys and values
+     */
+    public static void timed(String name, Runnable runnable, String... tags) {
+        Timer.builder(name).tags(tags).register(Metrics.globalRegistry).record(runnable);
+    }
+
+    /**
+     * Counts resources of {@code type} parsed again after they were modified, e.g. to refresh their types.
+     */
+    public static void countReparses(String type, int count) {
+        Metrics.counter(REPARSES, "type", type).increment(count);
+    }
+
+    /**
+     * @return a tag value for the type of {@code object}
+     */
+    public static String typeTag(Object object) {
+        String simpleName = object.getClass().getSimpleName();
+        return simpleName.isEmpty() ? object.getClass().getName() : simpleName;
+    }
+}
@@ -16,10 +16,7 @@
 package org.springframework.sbm.engine.precondition;
 
 import org.springframework.core.io.Resource;
-import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
-import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
 import org.springframework.stereotype.Component;
-import org.springframework.util.PathMatcher;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -28,14 +25,10 @@ import java.util.List;
 class JavaSourceDirExistsPreconditionCheck extends PreconditionCheck {
 
 	private static final String JAVA_SRC_DIR = "src/main/java";
-	private static final String PATTERN = "/**/src/main/java/**";
-	private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
-	private final LinuxWindowsPathUnifier pathUnifier = new LinuxWindowsPathUnifier();
 
 	@Override
 	public PreconditionCheckResult verify(Path projectRoot, List<Resource> projectResources) {
-		if (projectResources.stream()
-				.noneMatch(r -> pathMatcher.match(PATTERN, pathUnifier.unifyPath(getPath(r).toAbsolutePath().toString())))) {
+		if (ScannedResources.of(projectResources).getMainJavaSourceDirs().isEmpty()) {
 			return new PreconditionCheckResult(ResultState.FAILED, "PreconditionCheck check could not find a '" + JAVA_SRC_DIR + "' dir. This dir is required.");
 		}
 		return new PreconditionCheckResult(ResultState.PASSED, "Found required source dir 'src/main/java'.");
@@ -28,7 +28,7 @@ class MavenBuildFileExistsPreconditionCheck extends PreconditionCheck {
 
     @Override
     public PreconditionCheckResult verify(Path projectRoot, List<Resource> projectResources) {
-        if(projectResources.stream().noneMatch(r -> "pom.xml".equals(getPath(r).getFileName().toString()))) {
+        if(!ScannedResources.of(projectResources).hasBuildFile("pom.xml")) {
             return new PreconditionCheckResult(ResultState.FAILED, "SBM requires a Maven build file. Please provide a minimal pom.xml.");
         } else {
             return new PreconditionCheckResult(ResultState.PASSED, "Found pom.xml.");
@@ -15,12 +15,21 @@
  */
 package org.springframework.sbm.engine.precondition;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
 
 @Getter
 @RequiredArgsConstructor
 public class PreconditionCheckResult {
     private final PreconditionCheck.ResultState state;
     private final String message;
+    /**
+     * Time it took to run the check, set by {@link PreconditionVerifier}.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private Duration duration = Duration.ZERO;
 }
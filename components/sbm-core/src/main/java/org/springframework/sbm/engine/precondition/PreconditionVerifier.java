@@ -16,21 +16,46 @@
 package org.springframework.sbm.engine.precondition;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
+/**
+ * Runs all {@link PreconditionCheck}s in parallel.
+ * <p>
+ * The paths of the scanned resources are classified once into {@link ScannedResources} which is shared by all checks,
+ * resources matching {@code sbm.ignoredPathsPatterns} are classified as ignored.
+ * Results are reported in the order of the checks, each with the time it took.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class PreconditionVerifier {
 
     private final List<PreconditionCheck> preconditions;
+    private final SbmApplicationProperties sbmApplicationProperties;
 
     public PreconditionVerificationResult verifyPreconditions(Path projectRoot, List<Resource> projectResources) {
         PreconditionVerificationResult result = new PreconditionVerificationResult(projectRoot);
-        preconditions.stream().forEach(pc -> result.addResult(pc.verify(projectRoot, projectResources)));
+        ScannedResources scannedResources = ScannedResources.of(projectRoot, projectResources, sbmApplicationProperties.getIgnoredPathsPatterns());
+        preconditions.parallelStream()
+                .map(pc -> verify(pc, projectRoot, scannedResources))
+                .toList()
+                .forEach(result::addResult);
         return result;
     }
+
+    private PreconditionCheckResult verify(PreconditionCheck preconditionCheck, Path projectRoot, ScannedResources scannedResources) {
+        long start = System.nanoTime();
+        PreconditionCheckResult checkResult = preconditionCheck.verify(projectRoot, scannedResources);
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        checkResult.setDuration(duration);
+        log.debug("Precondition check %s took %d ms.".formatted(preconditionCheck.getClass().getSimpleName(), duration.toMillis()));
+        return checkResult;
+    }
 }
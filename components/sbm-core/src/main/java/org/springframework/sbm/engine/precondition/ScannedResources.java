@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.precondition;
+
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
+import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
+import org.springframework.util.PathMatcher;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The scanned resources with their paths classified once, to be shared by all {@link PreconditionCheck}s.
+ * <p>
+ * Being a {@code List<Resource>} it can be passed to {@link PreconditionCheck#verify(Path, List)} unchanged,
+ * checks obtain the classification through {@link #of(List)}.
+ * Resources matching the ignored paths patterns are classified as ignored files only.
+ */
+public class ScannedResources extends AbstractList<Resource> {
+
+    private static final List<String> MAIN_JAVA_SOURCE_DIR = List.of("src", "main", "java");
+    private static final List<String> TEST_JAVA_SOURCE_DIR = List.of("src", "test", "java");
+    private static final Set<String> BUILD_FILE_NAMES = Set.of("pom.xml", "build.gradle", "build.gradle.kts");
+
+    private final List<Resource> resources;
+    private final Path projectRoot;
+    private final List<String> ignoredPathsPatterns;
+    private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
+    private final List<Path> ignoredFiles = new ArrayList<>();
+    private final List<Path> buildFiles = new ArrayList<>();
+    private final Set<Path> mainJavaSourceDirs = new LinkedHashSet<>();
+    private final Set<Path> testJavaSourceDirs = new LinkedHashSet<>();
+
+    private ScannedResources(Path projectRoot, List<Resource> resources, List<String> ignoredPathsPatterns) {
+        this.resources = List.copyOf(resources);
+        this.projectRoot = projectRoot == null ? null : projectRoot.toAbsolutePath().normalize();
+        this.ignoredPathsPatterns = List.copyOf(ignoredPathsPatterns);
+        this.resources.forEach(r -> classify(getPath(r)));
+    }
+
+    /**
+     * @return the given list if it is already classified, a classified copy without ignored files otherwise.
+     */
+    public static ScannedResources of(List<Resource> resources) {
+        if (resources instanceof ScannedResources scannedResources) {
+            return scannedResources;
+        }
+        return new ScannedResources(null, resources, List.of());
+    }
+
+    /**
+     * @param ignoredPathsPatterns ant-style patterns relative to {@code projectRoot}, see {@code sbm.ignoredPathsPatterns}
+     * @return the given list if it is already classified, a classified copy otherwise.
+     */
+    public static ScannedResources of(Path projectRoot, List<Resource> resources, List<String> ignoredPathsPatterns) {
+        if (resources instanceof ScannedResources scannedResources) {
+            return scannedResources;
+        }
+        return new ScannedResources(projectRoot, resources, ignoredPathsPatterns);
+    }
+
+    private void classify(Path path) {
+        if (isIgnored(path)) {
+            ignoredFiles.add(path);
+            return;
+        }
+        Path fileName = path.getFileName();
+        if (fileName != null && BUILD_FILE_NAMES.contains(fileName.toString())) {
+            buildFiles.add(path);
+        }
+        findDir(path, MAIN_JAVA_SOURCE_DIR).ifPresent(mainJavaSourceDirs::add);
+        findDir(path, TEST_JAVA_SOURCE_DIR).ifPresent(testJavaSourceDirs::add);
+    }
+
+    private boolean isIgnored(Path path) {
+        Path absolutePath = path.toAbsolutePath().normalize();
+        if (ignoredPathsPatterns.isEmpty() || !absolutePath.startsWith(projectRoot)) {
+            return false;
+        }
+        String relativePath = LinuxWindowsPathUnifier.unifyPath(projectRoot.relativize(absolutePath));
+        return ignoredPathsPatterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, relativePath));
+    }
+
+    private Optional<Path> findDir(Path path, List<String> dirNames) {
+        int nameCount = path.getNameCount();
+        for (int i = 0; i + dirNames.size() <= nameCount; i++) {
+            boolean matches = true;
+            for (int j = 0; j < dirNames.size() && matches; j++) {
+                matches = dirNames.get(j).equals(path.getName(i + j).toString());
+            }
+            if (matches) {
+                Path dir = path.subpath(0, i + dirNames.size());
+                return Optional.of(path.isAbsolute() ? path.getRoot().resolve(dir) : dir);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Path getPath(Resource r) {
+        try {
+            return r.getFile().toPath();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public List<Path> getIgnoredFiles() {
+        return Collections.unmodifiableList(ignoredFiles);
+    }
+
+    public List<Path> getBuildFiles() {
+        return Collections.unmodifiableList(buildFiles);
+    }
+
+    public boolean hasBuildFile(String fileName) {
+        return buildFiles.stream().anyMatch(p -> fileName.equals(p.getFileName().toString()));
+    }
+
+    public Set<Path> getMainJavaSourceDirs() {
+        return Collections.unmodifiableSet(mainJavaSourceDirs);
+    }
+
+    public Set<Path> getTestJavaSourceDirs() {
+        return Collections.unmodifiableSet(testJavaSourceDirs);
+    }
+
+    @Override
+    public Resource get(int index) {
+        return resources.get(index);
+    }
+
+    @Override
+    public int size() {
+        return resources.size();
+    }
+}
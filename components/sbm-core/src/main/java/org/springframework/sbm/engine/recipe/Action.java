@@ -18,6 +18,8 @@ package org.springframework.sbm.engine.recipe;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.events.*;
+import org.springframework.sbm.engine.jfr.ActionApplyEvent;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 
 public interface Action {
     String getDescription();
@@ -33,14 +35,25 @@ public interface Action {
         if (eventPublisher != null) {
             eventPublisher.publishEvent(new ActionStartedEvent(getDescription()));
         }
+        ActionApplyEvent applyEvent = new ActionApplyEvent();
+        applyEvent.begin();
         try {
-            applyInternal(context);
+            SbmMetrics.timed(SbmMetrics.ACTION_APPLY, () -> applyInternal(context), "action", SbmMetrics.typeTag(this));
         } catch(Exception e) {
+            applyEvent.failed = true;
             String message = "Action ["+this.getClass().getSimpleName()+"] '" + this.getDescription() + "' failed: " + e.getMessage();
             if (eventPublisher != null) {
                 eventPublisher.publishEvent(new ActionFailedEvent(message));
             }
             throw new ActionFailedException(message, e);
+        } finally {
+            applyEvent.end();
+            if (applyEvent.shouldCommit()) {
+                applyEvent.actionType = getClass().getName();
+                applyEvent.description = getDescription();
+                applyEvent.projectResources = context.getProjectResources().size();
+                applyEvent.commit();
+            }
         }
         if (eventPublisher != null) {
             eventPublisher.publishEvent(new ActionFinishedEvent(getDescription()));
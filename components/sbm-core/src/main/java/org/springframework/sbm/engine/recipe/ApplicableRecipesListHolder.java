@@ -28,7 +28,8 @@ public class ApplicableRecipesListHolder {
     private List<Recipe> recipes = new ArrayList<>();
 
     public void clear() {
-        recipes.clear();
+        // the list was returned to the caller of ApplicableRecipeListCommand, so it's replaced instead of cleared
+        recipes = new ArrayList<>();
     }
 
     public void setRecipes(List<Recipe> recipes) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.jfr.ConditionEvaluationEvent;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
+import org.springframework.sbm.project.resource.RecordedResourceAccess;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.scopes.ScopeConversation;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates the applicability of {@link Recipe}s.
+ * <p>
+ * Recipes are evaluated concurrently when {@code sbm.parallelConditionEvaluationEnabled} is {@code true}.
+ * The evaluation must not modify the {@link ProjectContext}.
+ * <p>
+ * The results of recipe {@link Condition}s and {@link Action#isApplicable(ProjectContext)} are memoized per instance
+ * together with the resources read by the evaluation, see {@link ResourceAccessRecorder}.
+ * A result is reused as long as the {@link ProjectContext#getChangeGeneration()} did not change or,
+ * if it changed, none of the read resources was modified and no resource was added, removed or moved.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConditionEvaluator {
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final Map<Object, EvaluationResult> evaluationResults = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public List<Recipe> getApplicable(List<Recipe> recipes, ProjectContext context) {
+        long start = System.currentTimeMillis();
+        long changeGeneration = context.getChangeGeneration();
+        Stream<Recipe> recipeStream = sbmApplicationProperties.isParallelConditionEvaluationEnabled() ? recipes.parallelStream() : recipes.stream();
+        // scoped beans used by conditions must resolve in the caller's conversation
+        String conversationId = ScopeConversation.current().orElse(null);
+        List<Recipe> applicableRecipes = recipeStream
+                .filter(r -> ScopeConversation.callIn(conversationId, () -> isApplicable(r, context, changeGeneration)))
+                .toList();
+        log.debug("Evaluated %d recipes in %d ms, %d are applicable.".formatted(recipes.size(), System.currentTimeMillis() - start, applicableRecipes.size()));
+        return applicableRecipes;
+    }
+
+    public boolean isApplicable(Recipe recipe, ProjectContext context) {
+        return isApplicable(recipe, context, context.getChangeGeneration());
+    }
+
+    private boolean isApplicable(Recipe recipe, ProjectContext context, long changeGeneration) {
+        Condition condition = recipe.getCondition();
+        return evaluate(condition, condition, context, changeGeneration, condition::evaluate)
+                && recipe.getActions().stream().anyMatch(a -> evaluate(a, a.getCondition(), context, changeGeneration, a::isApplicable));
+    }
+
+    private boolean evaluate(Object evaluated, Condition condition, ProjectContext context, long changeGeneration, Predicate<ProjectContext> evaluation) {
+        EvaluationResult memoized = evaluationResults.get(evaluated);
+        if (memoized != null && memoized.context().get() == context) {
+            if (memoized.changeGeneration() == changeGeneration) {
+                return memoized.result();
+            }
+            if (memoized.recordedAccess().isValidFor(context.getProjectResources())) {
+                evaluationResults.put(evaluated, memoized.withChangeGeneration(changeGeneration));
+                return memoized.result();
+            }
+        }
+        ConditionEvaluationEvent event = new ConditionEvaluationEvent();
+        event.begin();
+        RecordedResourceAccess<Boolean> recordedAccess = ResourceAccessRecorder.record(context.getProjectResources(),
+                () -> SbmMetrics.timed(SbmMetrics.CONDITION_EVALUATION, () -> evaluation.test(context), "condition", SbmMetrics.typeTag(condition)));
+        boolean result = recordedAccess.getResult();
+        event.end();
+        if (event.shouldCommit()) {
+            event.conditionType = condition.getClass().getName();
+            event.result = result;
+            event.commit();
+        }
+        evaluationResults.put(evaluated, new EvaluationResult(new WeakReference<>(context), changeGeneration, recordedAccess));
+        return result;
+    }
+
+    private record EvaluationResult(WeakReference<ProjectContext> context, long changeGeneration, RecordedResourceAccess<Boolean> recordedAccess) {
+        boolean result() {
+            return recordedAccess.getResult();
+        }
+
+        EvaluationResult withChangeGeneration(long currentChangeGeneration) {
+            return new EvaluationResult(context, currentChangeGeneration, recordedAccess);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.jfr.RecipeExecutionEvent;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
@@ -94,13 +95,25 @@ public class Recipe {
 
     public List<Action> apply(ProjectContext context) {
 
+        RecipeExecutionEvent event = new RecipeExecutionEvent();
+        event.begin();
         List<Action> appliedActions = new ArrayList<>();
-        for (Action action : actions) {
-
-             if (action.isApplicable(context)) {
-                 action.applyWithStatusEvent(context);
-                 appliedActions.add(action);
-             }
+        try {
+            for (Action action : actions) {
+                if (action.isApplicable(context)) {
+                    action.applyWithStatusEvent(context);
+                    appliedActions.add(action);
+                }
+            }
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.recipe = name;
+                event.actions = actions.size();
+                event.appliedActions = appliedActions.size();
+                event.projectResources = context.getProjectResources().size();
+                event.commit();
+            }
         }
 
         return appliedActions;
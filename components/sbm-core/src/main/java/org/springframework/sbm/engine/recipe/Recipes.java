@@ -25,8 +25,17 @@ import java.util.stream.Collectors;
 public class Recipes {
 
     private final List<Recipe> recipesList;
+    private final ConditionEvaluator conditionEvaluator;
 
     public Recipes(List<Recipe> recipesList) {
+        this(recipesList, null);
+    }
+
+    /**
+     * @param conditionEvaluator evaluates applicability of recipes concurrently and memoized, recipes are evaluated sequentially if {@code null}
+     */
+    public Recipes(List<Recipe> recipesList, ConditionEvaluator conditionEvaluator) {
+        this.conditionEvaluator = conditionEvaluator;
         if (recipesList != null) {
             recipesList.sort((o1, o2) -> Integer.valueOf(o2.getOrder() == null ? 0 : o2.getOrder()).compareTo(o1.getOrder() == null ? 0 : o1.getOrder()));
             this.recipesList = Collections.unmodifiableList(recipesList);
@@ -46,6 +55,9 @@ public class Recipes {
     }
 
     public List<Recipe> getApplicable(ProjectContext context) {
+        if (conditionEvaluator != null) {
+            return conditionEvaluator.getApplicable(recipesList, context);
+        }
         List<Recipe> applicableRecipes = recipesList.stream()
                 .filter(r -> r.isApplicable(context))
                 .collect(Collectors.toList());
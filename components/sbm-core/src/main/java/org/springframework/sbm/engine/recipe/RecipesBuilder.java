@@ -36,17 +36,20 @@ public class RecipesBuilder {
     @Autowired(required = false)
     private List<Recipe> beanRecipes;
 
+    @Autowired(required = false)
+    private ConditionEvaluator conditionEvaluator;
+
     private final RecipeParser recipeParser;
 
     private final List<RecipeLoader> recipeLoader;
 
     private Recipes recipes;
 
-    public Recipes buildRecipes() {
+    public synchronized Recipes buildRecipes() {
         if(recipes == null) {
             List<Recipe> recipeList = new ArrayList<>();
             recipeLoader.forEach(rl -> recipeList.addAll(rl.loadRecipes()));
-            recipes = new Recipes(recipeList);
+            recipes = new Recipes(recipeList, conditionEvaluator);
         }
         return recipes;
     }
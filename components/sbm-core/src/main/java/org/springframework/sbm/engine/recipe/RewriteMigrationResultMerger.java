@@ -21,6 +21,7 @@ import org.openrewrite.SourceFile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.sbm.common.filter.AbsolutePathResourceFinder;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.project.RewriteSourceFileWrapper;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.stereotype.Component;
@@ -34,6 +35,10 @@ public class RewriteMigrationResultMerger {
 
     private final RewriteSourceFileWrapper surceFileWrapper;
     public void mergeResults(ProjectContext context, List<Result> results) {
+        SbmMetrics.timed(SbmMetrics.RESULTS_MERGE, () -> merge(context, results));
+    }
+
+    private void merge(ProjectContext context, List<Result> results) {
         // TODO: handle added
         results.forEach(result -> {
             SourceFile after = result.getAfter();
@@ -46,6 +51,7 @@ public class RewriteMigrationResultMerger {
                 handleModified(context, after);
             }
         });
+        context.getJavaSourceIndex().update();
     }
 
     private void handleDeleted(ProjectContext context, SourceFile before) {
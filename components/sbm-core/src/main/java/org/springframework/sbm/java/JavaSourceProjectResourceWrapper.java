@@ -38,7 +38,7 @@ public class JavaSourceProjectResourceWrapper implements ProjectResourceWrapper<
 
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
-        return J.CompilationUnit.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass());
+        return J.CompilationUnit.class.isAssignableFrom(rewriteSourceFileHolder.getType());
     }
 
     @Override
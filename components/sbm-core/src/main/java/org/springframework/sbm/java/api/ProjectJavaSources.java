@@ -20,6 +20,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.java.tree.J;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -52,7 +53,24 @@ public interface ProjectJavaSources {
 
     List<MethodCall> findMethodCalls(String pattern);
 
+    /**
+     * Finds the method calls of many patterns at once.
+     *
+     * @return the method calls per pattern, in the order of {@code patterns}
+     */
+    Map<String, List<MethodCall>> findMethodCalls(List<String> patterns);
+
     List<JavaSourceAndType> findTypesImplementing(String interfaceType);
 
     List<? extends JavaSource> findClassesUsingType(String type);
+
+    /**
+     * @return Java sources referencing the type with given {@code fqName}.
+     */
+    List<? extends JavaSource> findClassesReferencingType(String fqName);
+
+    /**
+     * @return the top-level types annotated with the annotation with given {@code fqName} and their Java sources.
+     */
+    List<JavaSourceAndType> findTypesAnnotatedWith(String annotation);
 }
@@ -47,6 +47,11 @@ public interface Type {
 
     void addMethod(String methodTemplate, Set<String> importTypes);
 
+    /**
+     * Adds all methods at once, which is considerably faster than adding them one by one.
+     */
+    void addMethods(List<String> methodTemplates, Set<String> importTypes);
+
     boolean isTypeOf(String gqName);
 
     List<? extends Type> getImplements();
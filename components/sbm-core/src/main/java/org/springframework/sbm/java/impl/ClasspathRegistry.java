@@ -22,9 +22,11 @@ import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
 import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.project.parser.DependencyHelper;
+import org.springframework.sbm.scopes.ScopeConversation;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Stream;
 
@@ -37,6 +39,11 @@ public class ClasspathRegistry {
 
 	private static final DependencyHelper dependencyHelper = new DependencyHelper();
 
+	/**
+	 * Index of class and package names per jar, persisted across scans.
+	 */
+	private static final JarTypeIndex jarTypeIndex = new JarTypeIndex(JarTypeIndex.defaultCacheDir());
+
 	/**
 	 * Dependencies found during scan. These dependencies are immutable.
 	 */
@@ -94,21 +101,41 @@ public class ClasspathRegistry {
 
 		public static final ClasspathRegistry INSTANCE = new ClasspathRegistry();
 
+		private static final Map<String, ClasspathRegistry> CONVERSATION_INSTANCES = new ConcurrentHashMap<>();
+
 		public static ClasspathRegistry initialDependencies(Set<ResolvedDependency> dependencies) {
-			INSTANCE.setup(dependencies);
-			return INSTANCE;
+			ClasspathRegistry instance = getInstance();
+			instance.setup(dependencies);
+			return instance;
+		}
+
+		public static ClasspathRegistry getInstance() {
+			return ScopeConversation.current()
+					.map(conversationId -> CONVERSATION_INSTANCES.computeIfAbsent(conversationId, id -> new ClasspathRegistry()))
+					.orElse(INSTANCE);
 		}
 
 	}
 
+	/**
+	 * @return the registry of the {@link ScopeConversation} bound to the current thread
+	 */
 	public static ClasspathRegistry getInstance() {
-		return DependenciesRegistryHolder.INSTANCE;
+		return DependenciesRegistryHolder.getInstance();
+	}
+
+	/**
+	 * Removes the registry of the given {@link ScopeConversation}.
+	 */
+	public static void remove(String conversationId) {
+		DependenciesRegistryHolder.CONVERSATION_INSTANCES.remove(conversationId);
 	}
 
 	public void addDependency(ResolvedDependency... deps) {
 		Arrays.asList(deps).forEach(dep -> {
 			initDependency(dep, currentDependencies);
 		});
+		refreshJarTypeIndex();
 	}
 
 	public void removeDependency(ResolvedDependency... deps) {
@@ -131,10 +158,25 @@ public class ClasspathRegistry {
 		return new HashSet<>(currentDependencies.values());
 	}
 
+	/**
+	 * @return the index of class and package names of the jars of all registries
+	 */
+	static JarTypeIndex getJarTypeIndex() {
+		return jarTypeIndex;
+	}
+
+	// types attributed from modified jars must not be reused
+	private void refreshJarTypeIndex() {
+		if (jarTypeIndex.refresh(currentDependencies.values())) {
+			ClasspathTypeCache.getInstance().clearClasspathTypes();
+		}
+	}
+
 	private void setup(Set<ResolvedDependency> deps) {
 		initialDependencies.clear();
 		currentDependencies.clear();
 		initializeDepeendencies(deps);
+		refreshJarTypeIndex();
 	}
 
 	private void initializeDepeendencies(Set<ResolvedDependency> deps) {
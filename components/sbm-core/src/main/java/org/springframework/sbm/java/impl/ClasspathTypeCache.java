@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import lombok.Value;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Type cache shared by all {@code JavaParser}s, see {@link ProjectJavaTypeCache}.
+ *
+ * Only types whose signature refers to JDK or classpath types exclusively are stored here.
+ * These don't change when project sources are modified and can therefore be kept across parsers and scans.
+ * Types referring to JDK types only are shared by all parsers, types referring to classpath types are stored per classpath.
+ * Types referring to classes which could not be looked up, e.g. because a jar could not be indexed, are not stored.
+ * The cache holds at most {@link #setMaximumSize(int)} entries and evicts the least recently used entries.
+ */
+public class ClasspathTypeCache {
+
+    private static final long JDK_CLASSPATH_ID = 0;
+    private static final Pattern SIGNATURE_TOKENS = Pattern.compile("[^\\w.$]+");
+    private static final Set<String> UNQUALIFIED_TOKENS = Set.of(
+            "boolean", "byte", "char", "short", "int", "long", "float", "double", "void",
+            "name", "return", "parameters", "type", "Generic", "extends", "super");
+
+    private final Map<String, Long> classpathIds = new ConcurrentHashMap<>();
+    private final AtomicLong nextClasspathId = new AtomicLong(JDK_CLASSPATH_ID + 1);
+    private final Map<String, Boolean> jdkTypes = new ConcurrentHashMap<>();
+    private final Map<Key, Boolean> classpathTypes = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maximumSize = 250_000;
+
+    private final LinkedHashMap<Key, Object> types = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            boolean evict = size() > maximumSize;
+            if (evict) {
+                evictions.increment();
+            }
+            return evict;
+        }
+    };
+
+    private ClasspathTypeCache() {
+    }
+
+    private static class ClasspathTypeCacheHolder {
+        public static final ClasspathTypeCache INSTANCE = new ClasspathTypeCache();
+    }
+
+    public static ClasspathTypeCache getInstance() {
+        return ClasspathTypeCacheHolder.INSTANCE;
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the id of given classpath, the same for all classpaths with the same jars
+     */
+    public long getClasspathId(Collection<Path> classpath) {
+        if (classpath.isEmpty()) {
+            return JDK_CLASSPATH_ID;
+        }
+        String fingerprint = classpath.stream()
+                .map(p -> p.toAbsolutePath().normalize().toString())
+                .sorted()
+                .collect(Collectors.joining(File.pathSeparator));
+        return classpathIds.computeIfAbsent(fingerprint, f -> nextClasspathId.getAndIncrement());
+    }
+
+    @Nullable
+    public synchronized Object get(long classpathId, String signature) {
+        Object type = types.get(new Key(JDK_CLASSPATH_ID, signature));
+        if (type == null && classpathId != JDK_CLASSPATH_ID) {
+            type = types.get(new Key(classpathId, signature));
+        }
+        if (type == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return type;
+    }
+
+    /**
+     * @return the key to store a type with given signature or {@code null} if the signature refers to other than
+     * JDK or classpath types
+     */
+    @Nullable
+    public Key keyFor(long classpathId, Collection<Path> classpath, String signature) {
+        boolean qualifiedTypeFound = false;
+        boolean classpathTypeFound = false;
+        for (String token : SIGNATURE_TOKENS.split(signature)) {
+            if (token.isEmpty() || UNQUALIFIED_TOKENS.contains(token)) {
+                continue;
+            }
+            if (token.indexOf('.') < 0) {
+                return null;
+            }
+            if (!jdkTypes.computeIfAbsent(token, ClasspathTypeCache::isJdkType)) {
+                if (classpath.isEmpty() || !isClasspathType(classpathId, classpath, token)) {
+                    return null;
+                }
+                classpathTypeFound = true;
+            }
+            qualifiedTypeFound = true;
+        }
+        if (!qualifiedTypeFound) {
+            return null;
+        }
+        return new Key(classpathTypeFound ? classpathId : JDK_CLASSPATH_ID, signature);
+    }
+
+    /**
+     * Stores completely attributed types, types must not be stored while they are still being attributed.
+     */
+    public synchronized void putAll(Map<Key, Object> completedTypes) {
+        types.putAll(completedTypes);
+    }
+
+    public synchronized int size() {
+        return types.size();
+    }
+
+    public synchronized void clear() {
+        types.clear();
+        classpathTypes.clear();
+    }
+
+    /**
+     * Removes the types referring to classpath types, the types referring to JDK types only are kept.
+     */
+    public synchronized void clearClasspathTypes() {
+        types.keySet().removeIf(key -> key.classpathId() != JDK_CLASSPATH_ID);
+        classpathTypes.clear();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private boolean isClasspathType(long classpathId, Collection<Path> classpath, String className) {
+        Key key = new Key(classpathId, className);
+        Boolean memoized = classpathTypes.get(key);
+        if (memoized != null) {
+            return memoized;
+        }
+        JarTypeIndex.TypeLookup lookup = ClasspathRegistry.getJarTypeIndex().findJarProvidingType(classpath, className);
+        if (lookup.unknown()) {
+            return false;
+        }
+        boolean found = lookup.jar().isPresent();
+        classpathTypes.put(key, found);
+        return found;
+    }
+
+    private static boolean isJdkType(String className) {
+        return ClassLoader.getPlatformClassLoader().getResource(className.replace('.', '/') + ".class") != null;
+    }
+
+    /**
+     * A signature together with the id of the classpath it was attributed with.
+     */
+    public record Key(long classpathId, String signature) {
+    }
+
+    @Value
+    public static class Statistics {
+        long hits;
+        long misses;
+        long evictions;
+        int size;
+    }
+}
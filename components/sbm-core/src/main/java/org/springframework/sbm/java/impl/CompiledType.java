@@ -92,6 +92,11 @@ public class CompiledType implements Type {
 
     }
 
+    @Override
+    public void addMethods(List<String> methodTemplates, Set<String> importTypes) {
+        methodTemplates.forEach(methodTemplate -> addMethod(methodTemplate, importTypes));
+    }
+
     @Override
     public boolean isTypeOf(String gqName) {
         return false;
@@ -18,8 +18,12 @@ package org.springframework.sbm.java.impl;
 import org.openrewrite.ExecutionContext;
 import org.springframework.sbm.build.api.DependenciesChangedEvent;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.jfr.DependenciesChangedHandlingEvent;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
+import org.springframework.sbm.project.resource.SourceFilePrintCounter;
 import lombok.RequiredArgsConstructor;
 import org.openrewrite.Parser;
+import org.openrewrite.SourceFile;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.springframework.context.event.EventListener;
@@ -43,24 +47,39 @@ public class DependenciesChangedEventHandler {
     @EventListener
     public void onDependenciesChanged(DependenciesChangedEvent event) {
         if (projectContextHolder.getProjectContext() != null) {
+            DependenciesChangedHandlingEvent jfrEvent = new DependenciesChangedHandlingEvent();
+            jfrEvent.begin();
             Set<Parser.Input> compilationUnitsSet = projectContextHolder.getProjectContext().getProjectJavaSources().stream()
                     .map(js -> js.getResource().getSourceFile())
-                    .map(js -> new Parser.Input(js.getSourcePath(), () -> new ByteArrayInputStream(js.printAll().getBytes(StandardCharsets.UTF_8))))
+                    .map(js -> new Parser.Input(js.getSourcePath(), () -> new ByteArrayInputStream(print(js))))
                     .collect(Collectors.toSet());
             List<Parser.Input> compilationUnits = new ArrayList<>(compilationUnitsSet);
 
             Path projectRootDirectory = projectContextHolder.getProjectContext().getProjectRootDirectory();
             javaParser.setSourceSet("main");
+            // types attributed with the previous dependencies are not reused
+            ClasspathTypeCache.getInstance().clearClasspathTypes();
             javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
 
             List<J.CompilationUnit> parsedCompilationUnits = javaParser.parseInputs(compilationUnits, null, executionContext);
+            SbmMetrics.countReparses("java", parsedCompilationUnits.size());
             // ((J.VariableDeclarations)parsedCompilationUnits.get(0).getClasses().get(0).getBody().getStatements().get(0)).getLeadingAnnotations().get(0).getType()
             parsedCompilationUnits.forEach(cu -> {
                 projectContextHolder.getProjectContext().getProjectJavaSources().stream()
                         .filter(js -> js.getResource().getAbsolutePath().equals(projectRootDirectory.resolve(cu.getSourcePath()).normalize()))
                         .forEach(js -> js.getResource().replaceWith(cu));
             });
+            jfrEvent.end();
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.resolvedDependencies = event.getResolvedDependencies().size();
+                jfrEvent.reparsedJavaSources = parsedCompilationUnits.size();
+                jfrEvent.commit();
+            }
         }
     }
-}
 
+    private byte[] print(SourceFile sourceFile) {
+        SourceFilePrintCounter.getInstance().increment();
+        return sourceFile.printAll().getBytes(StandardCharsets.UTF_8);
+    }
+}
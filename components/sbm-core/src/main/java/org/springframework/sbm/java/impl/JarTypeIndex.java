@@ -0,0 +1,306 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Persistent index of the class and package names contained in jar files.
+ *
+ * The index of a jar is built on first access and stored below the cache directory in a file named after the
+ * SHA-256 checksum of the jar, so it is shared by all jars with the same content and survives restarts.
+ * Index files are memory-mapped and looked up by binary search.
+ * Class names are binary names, e.g. {@code java.util.Map$Entry}.
+ * Jars which can't be read are not indexed, lookups report them as unknown.
+ */
+@Slf4j
+public class JarTypeIndex {
+
+    private static final int MAGIC = 0x53424d31;
+    private static final String VERSIONED_CLASSES = "META-INF/versions/";
+
+    private final Path cacheDir;
+    private final Map<Path, MappedIndex> indexes = new ConcurrentHashMap<>();
+
+    public JarTypeIndex(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public static Path defaultCacheDir() {
+        return Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "sbm-jar-index");
+    }
+
+    /**
+     * Builds or maps the indexes of all given jars in parallel.
+     */
+    public void index(Collection<Path> jars) {
+        jars.parallelStream().forEach(this::getIndex);
+    }
+
+    /**
+     * Drops the indexes of given jars which were modified since they were indexed, they're indexed again on next lookup.
+     * Lookups don't check the jars, this must be called when the classpath changed.
+     *
+     * @return true if any index was dropped
+     */
+    public boolean refresh(Collection<Path> jars) {
+        boolean dropped = false;
+        for (Path jar : jars) {
+            MappedIndex index = indexes.get(jar);
+            if (index != null && !index.isUpToDate()) {
+                dropped |= indexes.remove(jar, index);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * @return the first jar of {@code jars} containing the class with given binary name,
+     * the lookup is unknown if the class was not found and not all jars could be indexed
+     */
+    public TypeLookup findJarProvidingType(Collection<Path> jars, String className) {
+        byte[] key = className.getBytes(StandardCharsets.UTF_8);
+        List<Optional<MappedIndex>> jarIndexes = jars.parallelStream().map(this::getIndex).toList();
+        Optional<Path> jar = jarIndexes.stream()
+                .flatMap(Optional::stream)
+                .filter(index -> index.containsClass(key))
+                .map(index -> index.jar)
+                .findFirst();
+        return new TypeLookup(jar, jar.isEmpty() && jarIndexes.stream().anyMatch(Optional::isEmpty));
+    }
+
+    /**
+     * @return whether any of {@code jars} contains classes in the given package, jars which could not be indexed are ignored
+     */
+    public boolean containsPackage(Collection<Path> jars, String packageName) {
+        byte[] key = packageName.getBytes(StandardCharsets.UTF_8);
+        return jars.parallelStream().anyMatch(jar -> getIndex(jar).map(index -> index.containsPackage(key)).orElse(false));
+    }
+
+    public void clear() {
+        indexes.clear();
+    }
+
+    /**
+     * The jar is indexed outside of the map to not block lookups of other jars, concurrent lookups of a jar
+     * which is not indexed yet may index it twice and keep the first index.
+     */
+    private Optional<MappedIndex> getIndex(Path jar) {
+        MappedIndex index = indexes.get(jar);
+        if (index == null) {
+            index = loadIndex(jar);
+            if (index == null) {
+                return Optional.empty();
+            }
+            MappedIndex existing = indexes.putIfAbsent(jar, index);
+            if (existing != null) {
+                index = existing;
+            }
+        }
+        return Optional.of(index);
+    }
+
+    @Nullable
+    private MappedIndex loadIndex(Path jar) {
+        try {
+            long size = Files.size(jar);
+            FileTime lastModified = Files.getLastModifiedTime(jar);
+            Path indexFile = cacheDir.resolve(sha256(jar) + ".idx");
+            if (Files.notExists(indexFile)) {
+                writeIndex(jar, indexFile);
+            }
+            try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Invalid jar index '%s'".formatted(indexFile));
+                }
+                return new MappedIndex(jar, size, lastModified, buffer);
+            }
+        } catch (IOException e) {
+            log.warn("Could not index jar '%s': %s".formatted(jar, e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * @param jar the jar providing the type
+     * @param unknown true if the type was not found in any of the indexed jars but some jars could not be indexed
+     */
+    public record TypeLookup(Optional<Path> jar, boolean unknown) {
+    }
+
+    private void writeIndex(Path jar, Path indexFile) throws IOException {
+        SortedSet<byte[]> classes = new TreeSet<>(Arrays::compareUnsigned);
+        SortedSet<byte[]> packages = new TreeSet<>(Arrays::compareUnsigned);
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            zipFile.stream()
+                    .map(ZipEntry::getName)
+                    .map(JarTypeIndex::toClassName)
+                    .filter(Objects::nonNull)
+                    .forEach(className -> {
+                        classes.add(className.getBytes(StandardCharsets.UTF_8));
+                        int lastDot = className.lastIndexOf('.');
+                        if (lastDot > 0) {
+                            packages.add(className.substring(0, lastDot).getBytes(StandardCharsets.UTF_8));
+                        }
+                    });
+        }
+
+        Files.createDirectories(cacheDir);
+        Path tmpFile = Files.createTempFile(cacheDir, indexFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmpFile))) {
+            out.writeInt(MAGIC);
+            out.writeInt(classes.size());
+            out.writeInt(packages.size());
+            int offset = 0;
+            for (byte[] entry : concat(classes, packages)) {
+                out.writeInt(offset);
+                offset += Integer.BYTES + entry.length;
+            }
+            for (byte[] entry : concat(classes, packages)) {
+                out.writeInt(entry.length);
+                out.write(entry);
+            }
+        }
+        try {
+            Files.move(tmpFile, indexFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // another process indexed the same jar
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    private static String toClassName(String entryName) {
+        if (!entryName.endsWith(".class") || entryName.endsWith("module-info.class") || entryName.endsWith("package-info.class")) {
+            return null;
+        }
+        String name = entryName;
+        if (name.startsWith(VERSIONED_CLASSES)) {
+            int versionEnd = name.indexOf('/', VERSIONED_CLASSES.length());
+            name = name.substring(versionEnd + 1);
+        } else if (name.startsWith("META-INF/")) {
+            return null;
+        }
+        return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+    }
+
+    private static List<byte[]> concat(SortedSet<byte[]> classes, SortedSet<byte[]> packages) {
+        List<byte[]> entries = new ArrayList<>(classes.size() + packages.size());
+        entries.addAll(classes);
+        entries.addAll(packages);
+        return entries;
+    }
+
+    private static String sha256(Path jar) throws IOException {
+        try (InputStream is = Files.newInputStream(jar)) {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            is.transferTo(new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest));
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Read-only view of an index file. Only absolute reads are used so the buffer can be shared between threads.
+     */
+    private static class MappedIndex {
+        private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+        private final Path jar;
+        private final long size;
+        private final FileTime lastModified;
+        private final ByteBuffer buffer;
+        private final int classCount;
+        private final int packageCount;
+        private final int dataStart;
+
+        MappedIndex(Path jar, long size, FileTime lastModified, ByteBuffer buffer) {
+            this.jar = jar;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.buffer = buffer;
+            this.classCount = buffer.getInt(Integer.BYTES);
+            this.packageCount = buffer.getInt(2 * Integer.BYTES);
+            this.dataStart = HEADER_SIZE + (classCount + packageCount) * Integer.BYTES;
+        }
+
+        boolean isUpToDate() {
+            try {
+                return Files.size(jar) == size && Files.getLastModifiedTime(jar).equals(lastModified);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        boolean containsClass(byte[] key) {
+            return binarySearch(0, classCount, key);
+        }
+
+        boolean containsPackage(byte[] key) {
+            return binarySearch(classCount, classCount + packageCount, key);
+        }
+
+        private boolean binarySearch(int from, int to, byte[] key) {
+            int low = from;
+            int high = to - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compareEntry(mid, key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int compareEntry(int index, byte[] key) {
+            int entryStart = dataStart + buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+            int length = buffer.getInt(entryStart);
+            int bytesStart = entryStart + Integer.BYTES;
+            int common = Math.min(length, key.length);
+            for (int i = 0; i < common; i++) {
+                int cmp = Byte.compareUnsigned(buffer.get(bytesStart + i), key[i]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return Integer.compare(length, key.length);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.openrewrite.java.JavaParser;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps warm {@code JavaParser}s to compile template snippets, keyed by classpath.
+ *
+ * Creating a parser and setting its classpath costs more than parsing a snippet.
+ * A parser is lent exclusively to one caller at a time and returned to the pool afterwards.
+ * Parsers of the last {@value #MAX_CLASSPATHS} classpaths are kept, at most {@value #MAX_IDLE_PARSERS} per classpath.
+ */
+public class JavaParserPool {
+
+    static final int MAX_CLASSPATHS = 4;
+    static final int MAX_IDLE_PARSERS = 4;
+
+    private final LinkedHashMap<String, Deque<PooledParser>> idleParsers = new LinkedHashMap<>(MAX_CLASSPATHS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Deque<PooledParser>> eldest) {
+            return size() > MAX_CLASSPATHS;
+        }
+    };
+
+    private volatile boolean logCompilationWarningsAndErrors;
+
+    private JavaParserPool() {
+    }
+
+    private static class JavaParserPoolHolder {
+        public static final JavaParserPool INSTANCE = new JavaParserPool();
+    }
+
+    public static JavaParserPool getInstance() {
+        return JavaParserPoolHolder.INSTANCE;
+    }
+
+    /**
+     * Calls {@code function} with a parser for the given classpath.
+     * The parser must not be used after {@code function} returned.
+     */
+    public <T> T withJavaParser(Collection<Path> classpath, Function<JavaParser, T> function) {
+        String fingerprint = fingerprint(classpath);
+        Deque<PooledParser> parsers = getIdleParsers(fingerprint);
+        PooledParser pooledParser;
+        synchronized (parsers) {
+            pooledParser = parsers.pollFirst();
+        }
+        if (pooledParser == null) {
+            pooledParser = createJavaParser(classpath);
+        }
+        try {
+            return function.apply(pooledParser.javaParser());
+        } finally {
+            pooledParser.typeCache().publishClasspathTypes();
+            pooledParser.javaParser().reset();
+            synchronized (parsers) {
+                if (parsers.size() < MAX_IDLE_PARSERS) {
+                    parsers.offerFirst(pooledParser);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        idleParsers.clear();
+    }
+
+    /**
+     * Sets whether parsers created from now on log compilation warnings and errors, idle parsers are dropped.
+     */
+    public synchronized void setLogCompilationWarningsAndErrors(boolean logCompilationWarningsAndErrors) {
+        this.logCompilationWarningsAndErrors = logCompilationWarningsAndErrors;
+        idleParsers.clear();
+    }
+
+    private synchronized Deque<PooledParser> getIdleParsers(String fingerprint) {
+        return idleParsers.computeIfAbsent(fingerprint, f -> new ArrayDeque<>());
+    }
+
+    private PooledParser createJavaParser(Collection<Path> classpath) {
+        ProjectJavaTypeCache typeCache = new ProjectJavaTypeCache(classpath);
+        JavaParser javaParser = JavaParser.fromJavaVersion()
+                .classpath(classpath)
+                .typeCache(typeCache)
+                .logCompilationWarningsAndErrors(logCompilationWarningsAndErrors)
+                .build();
+        return new PooledParser(javaParser, typeCache);
+    }
+
+    private static String fingerprint(Collection<Path> classpath) {
+        return classpath.stream()
+                .map(p -> p.toAbsolutePath().normalize().toString())
+                .sorted()
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private record PooledParser(JavaParser javaParser, ProjectJavaTypeCache typeCache) {
+    }
+}
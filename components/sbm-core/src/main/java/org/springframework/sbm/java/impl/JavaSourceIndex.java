@@ -0,0 +1,282 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.FindReferencedTypes;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.util.*;
+
+/**
+ * Inverted index of the Java sources in a {@link ProjectResourceSet}.
+ * <p>
+ * Maps fully qualified type names to the sources declaring, referencing, using or annotating with them and method
+ * names to the sources invoking methods with that name.
+ * The index is built once and kept up to date incrementally, only sources whose compilation unit changed since the
+ * last update are re-indexed.
+ * Every lookup brings the index up to date if the {@link ProjectResourceSet#getChangeGeneration()} changed.
+ * Lookups don't read the non-matching sources, they record a dependency on all Java sources with the {@link ResourceAccessRecorder}.
+ */
+@Slf4j
+public class JavaSourceIndex {
+
+    private final ProjectResourceSet projectResourceSet;
+    private final Map<JavaSource, IndexEntry> entries = new IdentityHashMap<>();
+    private final Map<JavaSource, Integer> positions = new IdentityHashMap<>();
+    private final Map<String, Set<JavaSource>> declaringSources = new HashMap<>();
+    private final Map<String, Set<JavaSource>> referencingSources = new HashMap<>();
+    private final Map<String, Set<JavaSource>> usingSources = new HashMap<>();
+    private final Map<String, Set<JavaSource>> annotatedSources = new HashMap<>();
+    private final Map<String, Set<JavaSource>> invokingSources = new HashMap<>();
+    private long indexedChangeGeneration = -1;
+
+    public JavaSourceIndex(ProjectResourceSet projectResourceSet) {
+        this.projectResourceSet = projectResourceSet;
+    }
+
+    /**
+     * Re-indexes all Java sources which were added or modified and removes deleted sources from the index.
+     */
+    public synchronized void update() {
+        ResourceAccessRecorder.recordTypeAccess(J.CompilationUnit.class);
+        long changeGeneration = projectResourceSet.getChangeGeneration();
+        if (changeGeneration == indexedChangeGeneration) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int reindexed = 0;
+        Set<JavaSource> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        positions.clear();
+        List<RewriteSourceFileHolder<?>> resources = new ArrayList<>(projectResourceSet.list());
+        for (RewriteSourceFileHolder<?> resource : resources) {
+            if (!(resource instanceof JavaSource javaSource) || !J.CompilationUnit.class.isAssignableFrom(resource.getType())) {
+                continue;
+            }
+            J.CompilationUnit compilationUnit = (J.CompilationUnit) resource.getSourceFile();
+            current.add(javaSource);
+            positions.put(javaSource, positions.size());
+            IndexEntry entry = entries.get(javaSource);
+            if (entry == null || entry.compilationUnit() != compilationUnit) {
+                remove(javaSource);
+                add(javaSource, IndexEntry.of(compilationUnit));
+                reindexed++;
+            }
+        }
+        List.copyOf(entries.keySet()).stream()
+                .filter(js -> !current.contains(js))
+                .forEach(this::remove);
+        indexedChangeGeneration = changeGeneration;
+        log.debug("Updated Java source index in %d ms, re-indexed %d of %d sources.".formatted(System.currentTimeMillis() - start, reindexed, current.size()));
+    }
+
+    /**
+     * @return the first Java source declaring a top-level type with given {@code fqName}.
+     */
+    public synchronized Optional<JavaSource> findSourceDeclaringType(String fqName) {
+        return lookup(declaringSources, fqName).stream().findFirst();
+    }
+
+    /**
+     * @return Java sources referencing the type with given {@code fqName} as reported by {@link FindReferencedTypes}.
+     */
+    public synchronized List<JavaSource> findSourcesReferencingType(String fqName) {
+        return lookup(referencingSources, fqName);
+    }
+
+    /**
+     * @return Java sources using the type with given {@code fqName} or a subtype of it,
+     * equivalent to a search with {@link org.openrewrite.java.search.UsesType}.
+     */
+    public synchronized List<JavaSource> findSourcesUsingType(String fqName) {
+        return lookup(usingSources, fqName);
+    }
+
+    /**
+     * @return Java sources declaring a top-level type annotated with the annotation with given {@code fqName}.
+     */
+    public synchronized List<JavaSource> findSourcesWithTypeAnnotatedWith(String fqName) {
+        return lookup(annotatedSources, fqName);
+    }
+
+    /**
+     * Finds the Java sources invoking methods matching any of the given patterns in one lookup,
+     * equivalent to a search with {@link org.openrewrite.java.search.FindMethods} matching overrides.
+     *
+     * @param methodPatterns patterns like {@code com.example.TheType theMethod(com.example.Arg1, com.example.Arg2)}
+     * @return the Java sources invoking a matching method per pattern
+     */
+    public synchronized Map<String, List<JavaSource>> findSourcesInvokingMethods(Collection<String> methodPatterns) {
+        update();
+        Map<String, List<JavaSource>> matches = new LinkedHashMap<>();
+        for (String methodPattern : methodPatterns) {
+            MethodMatcher methodMatcher = new MethodMatcher(methodPattern, true);
+            String methodName = getMethodName(methodPattern);
+            Collection<JavaSource> candidates = methodName == null ? entries.keySet() : invokingSources.getOrDefault(methodName, Set.of());
+            List<JavaSource> sources = candidates.stream()
+                    .filter(js -> entries.get(js).invokesMethod(methodName, methodMatcher))
+                    .sorted(Comparator.comparing(positions::get))
+                    .toList();
+            matches.put(methodPattern, sources);
+        }
+        return matches;
+    }
+
+    /**
+     * @return the method name of the pattern or {@code null} if the name contains wildcards
+     */
+    private static String getMethodName(String methodPattern) {
+        int argumentsStart = methodPattern.indexOf('(');
+        String typeAndName = (argumentsStart < 0 ? methodPattern : methodPattern.substring(0, argumentsStart)).trim();
+        String methodName = typeAndName.substring(typeAndName.lastIndexOf(' ') + 1);
+        return methodName.contains("*") ? null : methodName;
+    }
+
+    private List<JavaSource> lookup(Map<String, Set<JavaSource>> index, String fqName) {
+        update();
+        return index.getOrDefault(fqName, Set.of()).stream()
+                .sorted(Comparator.comparing(positions::get))
+                .toList();
+    }
+
+    private void add(JavaSource javaSource, IndexEntry entry) {
+        entries.put(javaSource, entry);
+        entry.declaredTypes().forEach(t -> sourcesFor(declaringSources, t).add(javaSource));
+        entry.referencedTypes().forEach(t -> sourcesFor(referencingSources, t).add(javaSource));
+        entry.usedTypes().forEach(t -> sourcesFor(usingSources, t).add(javaSource));
+        entry.typeAnnotations().forEach(t -> sourcesFor(annotatedSources, t).add(javaSource));
+        entry.invokedMethods().keySet().forEach(m -> sourcesFor(invokingSources, m).add(javaSource));
+    }
+
+    private void remove(JavaSource javaSource) {
+        IndexEntry entry = entries.remove(javaSource);
+        if (entry != null) {
+            entry.declaredTypes().forEach(t -> removeFrom(declaringSources, t, javaSource));
+            entry.referencedTypes().forEach(t -> removeFrom(referencingSources, t, javaSource));
+            entry.usedTypes().forEach(t -> removeFrom(usingSources, t, javaSource));
+            entry.typeAnnotations().forEach(t -> removeFrom(annotatedSources, t, javaSource));
+            entry.invokedMethods().keySet().forEach(m -> removeFrom(invokingSources, m, javaSource));
+        }
+    }
+
+    private Set<JavaSource> sourcesFor(Map<String, Set<JavaSource>> index, String fqName) {
+        return index.computeIfAbsent(fqName, k -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private void removeFrom(Map<String, Set<JavaSource>> index, String fqName, JavaSource javaSource) {
+        Set<JavaSource> sources = index.get(fqName);
+        if (sources != null) {
+            sources.remove(javaSource);
+            if (sources.isEmpty()) {
+                index.remove(fqName);
+            }
+        }
+    }
+
+    private record IndexEntry(J.CompilationUnit compilationUnit, Set<String> declaredTypes, Set<String> referencedTypes, Set<String> usedTypes, Set<String> typeAnnotations, Map<String, Set<JavaType.Method>> invokedMethods) {
+
+        static IndexEntry of(J.CompilationUnit compilationUnit) {
+            Set<String> declaredTypes = new HashSet<>();
+            Set<String> typeAnnotations = new HashSet<>();
+            for (J.ClassDeclaration classDeclaration : compilationUnit.getClasses()) {
+                if (classDeclaration.getType() != null) {
+                    declaredTypes.add(classDeclaration.getType().getFullyQualifiedName());
+                }
+                classDeclaration.getLeadingAnnotations().stream()
+                        .map(a -> a.getAnnotationType().getType())
+                        .filter(JavaType.Class.class::isInstance)
+                        .map(t -> ((JavaType.Class) t).getFullyQualifiedName())
+                        .forEach(typeAnnotations::add);
+            }
+
+            Set<String> referencedTypes = new HashSet<>();
+            FindReferencedTypes.find(compilationUnit).forEach(t -> referencedTypes.add(t.getFullyQualifiedName()));
+
+            return new IndexEntry(compilationUnit, declaredTypes, referencedTypes, findUsedTypes(compilationUnit), typeAnnotations, findInvokedMethods(compilationUnit));
+        }
+
+        boolean invokesMethod(String methodName, MethodMatcher methodMatcher) {
+            Collection<Set<JavaType.Method>> candidates = methodName == null ? invokedMethods.values() : List.of(invokedMethods.getOrDefault(methodName, Set.of()));
+            return candidates.stream()
+                    .flatMap(Set::stream)
+                    .anyMatch(methodMatcher::matches);
+        }
+
+        // mirrors the method calls considered by FindMethods
+        private static Map<String, Set<JavaType.Method>> findInvokedMethods(J.CompilationUnit compilationUnit) {
+            Map<String, Set<JavaType.Method>> invokedMethods = new HashMap<>();
+            new JavaIsoVisitor<Map<String, Set<JavaType.Method>>>() {
+                @Override
+                public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Map<String, Set<JavaType.Method>> methods) {
+                    add(method.getMethodType(), methods);
+                    return super.visitMethodInvocation(method, methods);
+                }
+
+                @Override
+                public J.MemberReference visitMemberReference(J.MemberReference memberRef, Map<String, Set<JavaType.Method>> methods) {
+                    add(memberRef.getMethodType(), methods);
+                    return super.visitMemberReference(memberRef, methods);
+                }
+
+                @Override
+                public J.NewClass visitNewClass(J.NewClass newClass, Map<String, Set<JavaType.Method>> methods) {
+                    add(newClass.getConstructorType(), methods);
+                    return super.visitNewClass(newClass, methods);
+                }
+
+                private void add(JavaType.Method method, Map<String, Set<JavaType.Method>> methods) {
+                    if (method != null) {
+                        methods.computeIfAbsent(method.getName(), k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(method);
+                    }
+                }
+            }.visit(compilationUnit, invokedMethods);
+            return invokedMethods;
+        }
+
+        // mirrors the types considered by UsesType, including their supertypes to match assignable types
+        private static Set<String> findUsedTypes(J.CompilationUnit compilationUnit) {
+            Set<String> usedTypes = new HashSet<>();
+            compilationUnit.getTypesInUse().getUsedMethods().stream()
+                    .filter(m -> m.hasFlags(Flag.Static))
+                    .forEach(m -> addWithSupertypes(m.getDeclaringType(), usedTypes));
+            compilationUnit.getTypesInUse().getTypesInUse().stream()
+                    .filter(t -> !(t instanceof JavaType.Primitive))
+                    .forEach(t -> addWithSupertypes(TypeUtils.asFullyQualified(t), usedTypes));
+            for (J.Import anImport : compilationUnit.getImports()) {
+                JavaType importedType = anImport.isStatic() ? anImport.getQualid().getTarget().getType() : anImport.getQualid().getType();
+                addWithSupertypes(TypeUtils.asFullyQualified(importedType), usedTypes);
+            }
+            return usedTypes;
+        }
+
+        private static void addWithSupertypes(JavaType.FullyQualified type, Set<String> types) {
+            if (type == null || type instanceof JavaType.Unknown || !types.add(type.getFullyQualifiedName())) {
+                return;
+            }
+            addWithSupertypes(type.getSupertype(), types);
+            type.getInterfaces().forEach(i -> addWithSupertypes(i, types));
+        }
+    }
+}
@@ -35,9 +35,11 @@ import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import org.springframework.sbm.support.openrewrite.java.AddAnnotationVisitor;
 import org.springframework.sbm.support.openrewrite.java.RemoveAnnotationVisitor;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -111,7 +113,10 @@ public class OpenRewriteMethod implements Method {
     public void addAnnotation(String snippet, String annotationImport, String... otherImports) {
         // FIXME: #7 requires a fresh instance of JavaParser to update typesInUse
         Recipe visitor = new GenericOpenRewriteRecipe<>(() -> {
-            Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+            Supplier<JavaParser> javaParserSupplier = () -> {
+                Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+                return JavaParser.fromJavaVersion().classpath(classpath).typeCache(new ProjectJavaTypeCache(classpath)).build();
+            };
             return new AddAnnotationVisitor(javaParserSupplier, getMethodDecl(), snippet, annotationImport, otherImports);
         });
         refactoring.refactor(sourceFile, visitor);
@@ -15,6 +15,7 @@
  */
 package org.springframework.sbm.java.impl;
 
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.java.api.JavaSource;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
@@ -68,6 +69,7 @@ public class OpenRewriteRecipeJavaSearch {
                     PrintOutputCapture<Integer> outputCapture = new PrintOutputCapture(executionContext);
                     ((JavaPrinter) javaPrinter).visit((J.CompilationUnit) result.getAfter(), outputCapture);
                     J.CompilationUnit compilationUnit = javaParser.parse(outputCapture.out.toString()).get(0).withSourcePath(result.getBefore().getSourcePath());
+                    SbmMetrics.countReparses("java", 1);
                     affectedJavaSource.getResource().replaceWith(compilationUnit);
                 });
     }
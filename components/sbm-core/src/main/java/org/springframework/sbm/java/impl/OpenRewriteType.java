@@ -21,7 +21,6 @@ import org.openrewrite.java.tree.*;
 import org.springframework.sbm.java.api.*;
 import org.springframework.sbm.java.migration.visitor.RemoveImplementsVisitor;
 import org.springframework.sbm.java.refactoring.JavaRefactoring;
-import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.openrewrite.ExecutionContext;
@@ -34,6 +33,7 @@ import org.springframework.sbm.support.openrewrite.java.AddAnnotationVisitor;
 import org.springframework.sbm.support.openrewrite.java.FindCompilationUnitContainingType;
 import org.springframework.sbm.support.openrewrite.java.RemoveAnnotationVisitor;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -114,7 +114,10 @@ public class OpenRewriteType implements Type {
     @Override
     public void addAnnotation(String snippet, String annotationImport, String... otherImports) {
         // FIXME: #7 JavaParser does not update typesInUse
-        Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+        Supplier<JavaParser> javaParserSupplier = () -> {
+            Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+            return JavaParser.fromJavaVersion().classpath(classpath).typeCache(new ProjectJavaTypeCache(classpath)).build();
+        };
         AddAnnotationVisitor addAnnotationVisitor = new AddAnnotationVisitor(javaParserSupplier, getClassDeclaration(), snippet, annotationImport, otherImports);
         Recipe recipe = new GenericOpenRewriteRecipe<>(() -> addAnnotationVisitor);
         refactoring.refactor(rewriteSourceFileHolder, recipe);
@@ -152,25 +155,33 @@ public class OpenRewriteType implements Type {
 
     @Override
     public void addMethod(String methodTemplate, Set<String> requiredImports) {
-        this.apply(new GenericOpenRewriteRecipe<>(() -> new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
-                // FIXME: #7 hack, get JavaParser as SpringBean with access to classpath
-                // TODO: 786
-                javaParser = new RewriteJavaParser(new SbmApplicationProperties(), executionContext);
-                javaParser.setClasspath(ClasspathRegistry.getInstance().getCurrentDependencies());
-
-                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, executionContext);
-                JavaTemplate template = JavaTemplate
-                        .builder(() -> getCursor().getParent(), methodTemplate)
-                        .javaParser(() -> javaParser)
-                        .imports(requiredImports.toArray(new String[0]))
-                        .build();
-                requiredImports.forEach(this::maybeAddImport);
-                cd = cd.withTemplate(template, cd.getBody().getCoordinates().lastStatement());
-                return cd;
-            }
-        }).doNext(new WrappingAndBraces()));
+        addMethods(List.of(methodTemplate), requiredImports);
+    }
+
+    @Override
+    public void addMethods(List<String> methodTemplates, Set<String> requiredImports) {
+        if (methodTemplates.isEmpty()) {
+            return;
+        }
+        // all methods are added by one template, compiled with a pooled JavaParser having the current classpath
+        String methodsTemplate = String.join("\n\n", methodTemplates);
+        JavaParserPool.getInstance().withJavaParser(ClasspathRegistry.getInstance().getCurrentDependencies(), templateParser -> {
+            this.apply(new GenericOpenRewriteRecipe<>(() -> new JavaIsoVisitor<ExecutionContext>() {
+                @Override
+                public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext executionContext) {
+                    J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, executionContext);
+                    JavaTemplate template = JavaTemplate
+                            .builder(() -> getCursor().getParent(), methodsTemplate)
+                            .javaParser(() -> templateParser)
+                            .imports(requiredImports.toArray(new String[0]))
+                            .build();
+                    requiredImports.forEach(this::maybeAddImport);
+                    cd = cd.withTemplate(template, cd.getBody().getCoordinates().lastStatement());
+                    return cd;
+                }
+            }).doNext(new WrappingAndBraces()));
+            return null;
+        });
     }
 
     private List<J.Annotation> findORAnnotations(String annotation) {
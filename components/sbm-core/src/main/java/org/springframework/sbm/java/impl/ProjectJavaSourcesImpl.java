@@ -20,7 +20,6 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.java.ChangeType;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.FindMethods;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -33,9 +32,7 @@ import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,11 +40,17 @@ import java.util.stream.Stream;
 public class ProjectJavaSourcesImpl implements ProjectJavaSources {
     private ProjectResourceSet projectResourceSet;
     private JavaGlobalRefactoring globalRefactoring;
+    private JavaSourceIndex javaSourceIndex;
 
     public ProjectJavaSourcesImpl(ProjectResourceSet filteredResources, JavaGlobalRefactoring globalRefactoring) {
+        this(filteredResources, globalRefactoring, new JavaSourceIndex(filteredResources));
+    }
+
+    public ProjectJavaSourcesImpl(ProjectResourceSet filteredResources, JavaGlobalRefactoring globalRefactoring, JavaSourceIndex javaSourceIndex) {
         super();
         projectResourceSet = filteredResources;
         this.globalRefactoring = globalRefactoring;
+        this.javaSourceIndex = javaSourceIndex;
     }
 
     @Override
@@ -90,12 +93,7 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
 
     @Override
     public Optional<? extends JavaSource> findJavaSourceDeclaringType(String fqName) {
-        return list().stream()
-                .filter(js -> {
-                    return js.getTypes().stream()
-                            .anyMatch(t -> fqName.equals(t.getFullyQualifiedName()));
-                })
-                .findFirst();
+        return javaSourceIndex.findSourceDeclaringType(fqName);
     }
 
     /**
@@ -105,13 +103,18 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
      */
     @Override
     public List<MethodCall> findMethodCalls(String methodPattern) {
-        List<MethodCall> matches = new ArrayList<>();
-        FindMethods findMethods = new FindMethods(methodPattern,true, null);
-        MethodMatcher methodMatcher = new MethodMatcher(methodPattern);
-        find(findMethods).stream()
-                .map(m -> list().stream().filter(js -> js.getResource().getId().equals(m.getId())).findFirst().get())
-                .map(m -> new MethodCall(m, methodMatcher))
-                .forEach(matches::add);
+        return findMethodCalls(List.of(methodPattern)).get(methodPattern);
+    }
+
+    @Override
+    public Map<String, List<MethodCall>> findMethodCalls(List<String> methodPatterns) {
+        Map<String, List<MethodCall>> matches = new LinkedHashMap<>();
+        javaSourceIndex.findSourcesInvokingMethods(methodPatterns).forEach((methodPattern, sources) -> {
+            MethodMatcher methodMatcher = new MethodMatcher(methodPattern);
+            matches.put(methodPattern, sources.stream()
+                    .map(js -> new MethodCall(js, methodMatcher))
+                    .collect(Collectors.toList()));
+        });
         return matches;
     }
 
@@ -132,6 +135,9 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
 
     @Override
     public List<? extends JavaSource> findClassesUsingType(String type) {
+        if (!type.contains("*")) {
+            return javaSourceIndex.findSourcesUsingType(type);
+        }
         UsesType<ExecutionContext> usesType = new UsesType<>(type);
         GenericOpenRewriteRecipe<UsesType<ExecutionContext>> recipe = new GenericOpenRewriteRecipe<>(() -> usesType);
         return find(recipe).stream()
@@ -142,6 +148,20 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<? extends JavaSource> findClassesReferencingType(String fqName) {
+        return javaSourceIndex.findSourcesReferencingType(fqName);
+    }
+
+    @Override
+    public List<JavaSourceAndType> findTypesAnnotatedWith(String annotation) {
+        return javaSourceIndex.findSourcesWithTypeAnnotatedWith(annotation).stream()
+                .flatMap(js -> js.getTypes().stream()
+                        .filter(t -> t.hasAnnotation(annotation))
+                        .map(t -> new JavaSourceAndType(js, t)))
+                .collect(Collectors.toList());
+    }
+
     private boolean hasTypeImplementing(J.ClassDeclaration c, String type) {
         return c.getImplements() != null &&
                 c.getImplements()
@@ -169,7 +189,7 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
     }
 
     private Type getTypeForClassDecl(J.ClassDeclaration c) {
-        return list().stream()
+        return javaSourceIndex.findSourceDeclaringType(c.getType().getFullyQualifiedName()).stream()
                 .flatMap(js -> js.getTypes().stream())
                 .filter(t -> t.getFullyQualifiedName().equals(c.getType().getFullyQualifiedName()))
                 .findFirst().orElseThrow(() -> new RuntimeException("Could not find type for '" + c.getType().getFullyQualifiedName() + "'"));
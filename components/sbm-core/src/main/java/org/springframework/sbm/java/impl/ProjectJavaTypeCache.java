@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.internal.JavaTypeCache;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JavaTypeCache} of a single {@code JavaParser}.
+ *
+ * JDK and classpath types are stored in the {@link ClasspathTypeCache} shared by all parsers, so they're only attributed once.
+ * They're kept in this cache until the parse completed and published to the shared cache with
+ * {@link #publishClasspathTypes()}, types are attributed incrementally and other parsers must not see them before.
+ * Types of project sources and template stubs are kept per parser and cleared when the parser is reset.
+ */
+public class ProjectJavaTypeCache extends JavaTypeCache {
+
+    private final ClasspathTypeCache classpathTypeCache;
+    private final Map<String, Object> projectTypes;
+    private final Map<ClasspathTypeCache.Key, Object> unpublishedTypes;
+    private List<Path> classpath;
+    private long classpathId;
+
+    /**
+     * Creates a type cache for a parser without classpath, only types referring to JDK types are shared.
+     */
+    public ProjectJavaTypeCache() {
+        this(List.of());
+    }
+
+    /**
+     * @param classpath the classpath of the parser using this cache
+     */
+    public ProjectJavaTypeCache(Collection<Path> classpath) {
+        this(ClasspathTypeCache.getInstance(), new HashMap<>(), new HashMap<>(), List.copyOf(classpath));
+    }
+
+    private ProjectJavaTypeCache(ClasspathTypeCache classpathTypeCache, Map<String, Object> projectTypes, Map<ClasspathTypeCache.Key, Object> unpublishedTypes, List<Path> classpath) {
+        this.classpathTypeCache = classpathTypeCache;
+        this.projectTypes = projectTypes;
+        this.unpublishedTypes = unpublishedTypes;
+        this.classpath = classpath;
+        this.classpathId = classpathTypeCache.getClasspathId(classpath);
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String signature) {
+        Object type = projectTypes.get(signature);
+        if (type == null) {
+            type = classpathTypeCache.get(classpathId, signature);
+        }
+        return (T) type;
+    }
+
+    @Override
+    public void put(String signature, Object o) {
+        projectTypes.put(signature, o);
+        ClasspathTypeCache.Key key = classpathTypeCache.keyFor(classpathId, classpath, signature);
+        if (key != null) {
+            unpublishedTypes.put(key, o);
+        }
+    }
+
+    /**
+     * Makes the JDK and classpath types attributed since the last call available to all parsers,
+     * must only be called when no parse is in progress.
+     */
+    public void publishClasspathTypes() {
+        if (!unpublishedTypes.isEmpty()) {
+            classpathTypeCache.putAll(unpublishedTypes);
+            unpublishedTypes.clear();
+        }
+    }
+
+    /**
+     * Must be called when the classpath of the parser using this cache changed.
+     */
+    public void setClasspath(Collection<Path> classpath) {
+        publishClasspathTypes();
+        projectTypes.clear();
+        this.classpath = List.copyOf(classpath);
+        this.classpathId = classpathTypeCache.getClasspathId(this.classpath);
+    }
+
+    /**
+     * Publishes the classpath types and clears the project types, the shared classpath types are kept.
+     */
+    @Override
+    public void clear() {
+        publishClasspathTypes();
+        projectTypes.clear();
+    }
+
+    public int size() {
+        return projectTypes.size() + classpathTypeCache.size();
+    }
+
+    @Override
+    public ProjectJavaTypeCache clone() {
+        return new ProjectJavaTypeCache(classpathTypeCache, new HashMap<>(projectTypes), new HashMap<>(unpublishedTypes), classpath);
+    }
+}
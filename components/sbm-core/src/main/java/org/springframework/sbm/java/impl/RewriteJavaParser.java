@@ -39,6 +39,7 @@ public class RewriteJavaParser implements JavaParser {
     @Getter
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
+    private final ProjectJavaTypeCache typeCache = new ProjectJavaTypeCache();
 
 
     // satisfies DI
@@ -51,7 +52,8 @@ public class RewriteJavaParser implements JavaParser {
     @NotNull
     private JavaParser buildJavaParser(Collection<Path> classpath) {
         Builder<? extends JavaParser, ?> builder = JavaParser.fromJavaVersion()
-                .logCompilationWarningsAndErrors(sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors());
+                .logCompilationWarningsAndErrors(sbmApplicationProperties.isJavaParserLoggingCompilationWarningsAndErrors())
+                .typeCache(typeCache);
         if (!classpath.isEmpty()) {
             builder.classpath(classpath);
         }
@@ -61,7 +63,9 @@ public class RewriteJavaParser implements JavaParser {
     @Override
     public List<J.CompilationUnit> parseInputs(Iterable<Input> sources, @Nullable Path relativeTo, ExecutionContext ctx) {
         reset();
-        return this.javaParser.parseInputs(sources, relativeTo, ctx);
+        List<J.CompilationUnit> compilationUnits = this.javaParser.parseInputs(sources, relativeTo, ctx);
+        typeCache.publishClasspathTypes();
+        return compilationUnits;
     }
 
     @Override
@@ -71,6 +75,7 @@ public class RewriteJavaParser implements JavaParser {
 
     @Override
     public void setClasspath(Collection<Path> classpath) {
+        typeCache.setClasspath(classpath);
         this.javaParser.setClasspath(classpath);
     }
 
@@ -18,6 +18,7 @@ package org.springframework.sbm.java.migration.conditions;
 import lombok.*;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.java.api.ProjectJavaSources;
 
 import java.util.List;
 
@@ -37,7 +38,8 @@ public class HasAnyTypeReference implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .anyMatch(js -> js.getReferencedTypes().stream().anyMatch(rt -> fqTypeNames.contains(rt)));
+        ProjectJavaSources projectJavaSources = context.getProjectJavaSources();
+        return fqTypeNames.stream()
+                .anyMatch(t -> !projectJavaSources.findClassesReferencingType(t).isEmpty());
     }
 }
@@ -35,9 +35,7 @@ public class HasTypeAnnotation implements Condition {
 
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .flatMap(js -> js.getTypes().stream())
-                .anyMatch(t -> t.hasAnnotation(annotation));
+        return !context.getProjectJavaSources().findTypesAnnotatedWith(annotation).isEmpty();
     }
 
 }
@@ -24,6 +24,7 @@ import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.marker.RecipesThatMadeChanges;
 import org.openrewrite.marker.SearchResult;
+import org.springframework.sbm.engine.jfr.OpenRewriteRecipeRunEvent;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
@@ -98,8 +99,11 @@ public class JavaGlobalRefactoringImpl implements JavaGlobalRefactoring {
                 .map(cu -> resourceWrappers.stream()
                         .filter(fh -> fh.getId().equals(cu.getId()))
                         .map(pr -> {
+                            // searching only adds markers, the resource is only replaced if the recipe changed its content
                             J.CompilationUnit cuRemovedMarkers = removeMarkers(cu, SearchResult.class, RecipesThatMadeChanges.class);
-                            pr.replaceWith(cuRemovedMarkers);
+                            if (!cuRemovedMarkers.printAll().equals(pr.print())) {
+                                pr.replaceWith(cuRemovedMarkers);
+                            }
                             return pr;
                         })
                         .findAny().orElseThrow())
@@ -156,7 +160,16 @@ public class JavaGlobalRefactoringImpl implements JavaGlobalRefactoring {
 
     List<Result> executeRecipe(List<J.CompilationUnit> compilationUnits, Recipe recipe) {
         // FIXME #7 added RewriteExecutionContext here, remove again?
+        OpenRewriteRecipeRunEvent event = new OpenRewriteRecipeRunEvent();
+        event.begin();
         List<Result> results = recipe.run(compilationUnits, executionContext).getResults();
+        event.end();
+        if (event.shouldCommit()) {
+            event.recipe = recipe.getName();
+            event.compilationUnits = compilationUnits.size();
+            event.results = results.size();
+            event.commit();
+        }
 //         List<Result> results = recipe.run(compilationUnits, new RewriteExecutionContext(), new ForkJoinScheduler(new ForkJoinPool(1)), 10, 1);
         return results;
     }
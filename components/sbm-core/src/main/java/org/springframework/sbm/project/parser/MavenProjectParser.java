@@ -38,6 +38,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.sbm.build.impl.MavenBuildFileUtil;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.events.*;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.scopes.ProjectMetadata;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 import org.springframework.stereotype.Component;
@@ -93,7 +94,7 @@ public class MavenProjectParser {
 
         eventPublisher.publishEvent(new StartedScanningProjectResourceSetEvent("Maven", inputs.size()));
 
-        List<Xml.Document> mavens = mavenParser.parseInputs(inputs, projectDirectory, executionContext);
+        List<Xml.Document> mavens = SbmMetrics.timed(SbmMetrics.PARSE, () -> mavenParser.parseInputs(inputs, projectDirectory, executionContext), "phase", "maven");
         eventPublisher.publishEvent(new FinishedScanningProjectResourceSetEvent());
 
         mavens = sort(mavens);
@@ -125,17 +126,16 @@ public class MavenProjectParser {
 
             // --------
             // Main Java sources
-            List<J.CompilationUnit> mainJavaSources = parseMainJavaSources(projectDirectory, resources,
+            Path moduleDirectory = mavenProjectDirectory;
+            List<J.CompilationUnit> mainJavaSources = SbmMetrics.timed(SbmMetrics.PARSE, () -> parseMainJavaSources(projectDirectory, resources,
                                                                            executionContext, javaParser,
                                                                            pomXml, mavenWithMarkers,
-                                                                           mavenProjectDirectory,
-                                                                           javaProvenanceMarkers);
+                                                                           moduleDirectory,
+                                                                           javaProvenanceMarkers), "phase", "main-java");
             JavaSourceSet mainSourceSet = javaParser.getSourceSet(executionContext);
             sourceFiles.addAll(mainJavaSources);
             // FIxME: cus already have sourceSetMarker, only provenance need to be added
 
-            // FIXME: ALL JavaParser should share the same TypeCache
-
             //UnaryOperator<J.CompilationUnit> unaryOperator = addMarkers(mainSourceSet, javaProvenanceMarkers);
             //sourceFiles.addAll(ListUtils.map(mainCompilationUnits, unaryOperator));
 
@@ -155,15 +155,15 @@ public class MavenProjectParser {
             if(gitProvenance != null) {
                 resourceMarker.add(gitProvenance);
             }
-            List<SourceFile> mainResources = resourceParser.parse(projectDirectory, resourceList, resourceMarker);
+            List<SourceFile> mainResources = SbmMetrics.timed(SbmMetrics.PARSE, () -> resourceParser.parse(projectDirectory, resourceList, resourceMarker), "phase", "main-resources");
             sourceFiles.addAll(mainResources);
 
             // -------
             // Test Java sources
             ArrayList<Marker> markers = new ArrayList<>(javaProvenanceMarkers);
             markers.add(mainSourceSet);
-            List<J.CompilationUnit> testJavaSources = parseTestJavaSources(projectDirectory, resources,
-                                                                           executionContext, javaParser, pomXml, mavenWithMarkers, mavenProjectDirectory, markers);
+            List<J.CompilationUnit> testJavaSources = SbmMetrics.timed(SbmMetrics.PARSE, () -> parseTestJavaSources(projectDirectory, resources,
+                                                                           executionContext, javaParser, pomXml, mavenWithMarkers, moduleDirectory, markers), "phase", "test-java");
             JavaSourceSet testSourceSet = javaParser.getSourceSet(executionContext);
             sourceFiles.addAll(testJavaSources);
 
@@ -181,7 +181,7 @@ public class MavenProjectParser {
             if(gitProvenance != null) {
                 testResourceMarker.add(gitProvenance);
             }
-            List<SourceFile> testResources = resourceParser.parse(projectDirectory, filteredResources, testResourceMarker);
+            List<SourceFile> testResources = SbmMetrics.timed(SbmMetrics.PARSE, () -> resourceParser.parse(projectDirectory, filteredResources, testResourceMarker), "phase", "test-resources");
             sourceFiles.addAll(testResources);
         }
         if(gitProvenance != null) {
@@ -278,14 +278,14 @@ public class MavenProjectParser {
         eventPublisher.publishEvent(new StartDownloadingDependenciesEvent(dependencies.size()));
 
 
-        List<Path> paths = dependencies
+        List<Path> paths = SbmMetrics.timed(SbmMetrics.PARSE, () -> dependencies
                 .stream()
                 .filter(d -> d.getRepository() != null)
                 .peek(d -> eventPublisher.publishEvent(new StartDownloadingDependencyEvent(d.getRequested())))
 //                .parallel()
                 .map(artifactDownloader::downloadArtifact)
                 .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), "phase", "dependencies");
 
         eventPublisher.publishEvent(new FinishedDownloadingDependencies());
 
@@ -16,56 +16,232 @@
 package org.springframework.sbm.project.parser;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jgit.ignore.IgnoreNode;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
+import org.springframework.sbm.engine.metrics.SbmMetrics;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
-import org.springframework.sbm.project.resource.ResourceHelper;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 import org.springframework.stereotype.Service;
-import org.springframework.util.PathMatcher;
 
 import java.io.IOException;
-import java.nio.file.Path;
-import java.util.Arrays;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Scans a project directory for resources.
+ * <p>
+ * The file tree is walked using NIO, subdirectories of the project root are walked in parallel.
+ * Directories matching {@code sbm.ignoredPathsPatterns} or ignored by a {@code .gitignore} are pruned and not visited.
+ * The ant-style patterns are compiled into {@link PathMatcher}s once.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PathScanner {
 
+	private static final String GITIGNORE = ".gitignore";
+
 	private final SbmApplicationProperties sbmApplicationProperties;
-	private final ResourceHelper resourceHelper;
-	private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
-	private final LinuxWindowsPathUnifier pathUnifier = new LinuxWindowsPathUnifier();
+	private volatile IgnoredPathsMatcher ignoredPathsMatcher;
 
 	public List<Resource> scan(Path projectRoot) {
-		Path absoluteRootPath = projectRoot.toAbsolutePath();
-		String pattern = new LinuxWindowsPathUnifier().unifyPath(absoluteRootPath.toString() + "/**");
-		Resource[] resources = resourceHelper.loadResources("file:" + pattern);
+		return SbmMetrics.timed(SbmMetrics.PATH_SCAN, () -> scanPaths(projectRoot));
+	}
+
+	private List<Resource> scanPaths(Path projectRoot) {
+		long start = System.currentTimeMillis();
+		Path absoluteRootPath = projectRoot.toAbsolutePath().normalize();
+		IgnoredPathsMatcher matcher = getIgnoredPathsMatcher();
+		ScanStatistics statistics = new ScanStatistics();
+		List<GitIgnore> rootGitIgnores = loadGitIgnore(absoluteRootPath, List.of());
 
-		return Arrays.asList(resources)
-				.stream()
-				.filter(p -> this.isRelevant(projectRoot, getPath(p)))
+		List<Path> resources;
+		try (Stream<Path> children = Files.list(absoluteRootPath)) {
+			resources = children
+					.sorted()
+					.toList()
+					.parallelStream()
+					.flatMap(child -> {
+						if (Files.isDirectory(child)) {
+							return walk(absoluteRootPath, child, matcher, rootGitIgnores, statistics).stream();
+						} else {
+							statistics.visitedFiles.incrementAndGet();
+							boolean ignored = isIgnored(absoluteRootPath, child, false, matcher, rootGitIgnores);
+							if (ignored) {
+								statistics.skippedFiles.incrementAndGet();
+							}
+							return ignored ? Stream.empty() : Stream.of(child);
+						}
+					})
+					.sorted()
+					.toList();
+		} catch (IOException e) {
+			throw new ProjectParserException(String.format("Error scanning project root '%s'", absoluteRootPath), e);
+		}
+
+		log.info("Scanned %s in %d ms: visited %d files, skipped %d ignored files and %d ignored directories.".formatted(absoluteRootPath, System.currentTimeMillis() - start, statistics.visitedFiles.get(), statistics.skippedFiles.get(), statistics.skippedDirectories.get()));
+		return resources.stream()
+				.map(FileSystemResource::new)
 				.collect(Collectors.toList());
 	}
 
-	private boolean isRelevant(Path projectRoot, Path givenResource) {
-		if (givenResource.toFile().isDirectory()) {
-			return false;
+	private List<Path> walk(Path projectRoot, Path dir, IgnoredPathsMatcher matcher, List<GitIgnore> parentGitIgnores, ScanStatistics statistics) {
+		List<Path> resources = new ArrayList<>();
+		Deque<List<GitIgnore>> gitIgnores = new ArrayDeque<>();
+		gitIgnores.push(parentGitIgnores);
+		try {
+			Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attrs) {
+					if (isIgnored(projectRoot, directory, true, matcher, gitIgnores.peek())) {
+						statistics.skippedDirectories.incrementAndGet();
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					gitIgnores.push(loadGitIgnore(directory, gitIgnores.peek()));
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (Files.isDirectory(file)) {
+						// symbolic link to a directory
+						return FileVisitResult.CONTINUE;
+					}
+					statistics.visitedFiles.incrementAndGet();
+					if (isIgnored(projectRoot, file, false, matcher, gitIgnores.peek())) {
+						statistics.skippedFiles.incrementAndGet();
+					} else {
+						resources.add(file);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc) {
+					log.warn("Skipping '%s' which could not be read: %s".formatted(file, exc.getMessage()));
+					statistics.skippedFiles.incrementAndGet();
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path directory, IOException exc) {
+					gitIgnores.pop();
+					if (exc != null) {
+						log.warn("Could not list all entries of '%s': %s".formatted(directory, exc.getMessage()));
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			throw new ProjectParserException(String.format("Error scanning directory '%s'", dir), e);
+		}
+		return resources;
+	}
+
+	private boolean isIgnored(Path projectRoot, Path path, boolean isDirectory, IgnoredPathsMatcher matcher, List<GitIgnore> gitIgnores) {
+		Path relativePath = projectRoot.relativize(path);
+		if (isDirectory ? matcher.matchesDirectory(relativePath) : matcher.matchesFile(relativePath)) {
+			return true;
+		}
+		// the innermost .gitignore decides, parent .gitignore files are only checked if it has no matching rule
+		for (int i = gitIgnores.size() - 1; i >= 0; i--) {
+			GitIgnore gitIgnore = gitIgnores.get(i);
+			String entryPath = LinuxWindowsPathUnifier.unifyPath(gitIgnore.dir().relativize(path));
+			Boolean ignored = gitIgnore.ignoreNode().checkIgnored(entryPath, isDirectory);
+			if (ignored != null) {
+				return ignored;
+			}
 		}
-		return sbmApplicationProperties.getIgnoredPathsPatterns().stream()
-				.noneMatch(ir -> pathMatcher.match(ir,
-						pathUnifier.unifyPath(projectRoot.relativize(givenResource))));
+		return false;
 	}
 
-	private Path getPath(Resource r) {
-		try {
-			return r.getFile().toPath().toAbsolutePath().normalize();
+	private List<GitIgnore> loadGitIgnore(Path dir, List<GitIgnore> parentGitIgnores) {
+		Path gitIgnoreFile = dir.resolve(GITIGNORE);
+		if (!sbmApplicationProperties.isGitignoreSupportEnabled() || !Files.isRegularFile(gitIgnoreFile)) {
+			return parentGitIgnores;
 		}
-		catch (IOException e) {
-			throw new ProjectParserException(String.format("Error retrieving path for Resource '%s'", r), e);
+		IgnoreNode ignoreNode = new IgnoreNode();
+		try (InputStream is = Files.newInputStream(gitIgnoreFile)) {
+			ignoreNode.parse(is);
+		} catch (IOException e) {
+			log.warn("Ignoring '%s' which could not be read: %s".formatted(gitIgnoreFile, e.getMessage()));
+			return parentGitIgnores;
 		}
+		List<GitIgnore> gitIgnores = new ArrayList<>(parentGitIgnores);
+		gitIgnores.add(new GitIgnore(dir, ignoreNode));
+		return gitIgnores;
 	}
 
+	private IgnoredPathsMatcher getIgnoredPathsMatcher() {
+		List<String> patterns = sbmApplicationProperties.getIgnoredPathsPatterns();
+		IgnoredPathsMatcher matcher = ignoredPathsMatcher;
+		if (matcher == null || !matcher.patterns().equals(patterns)) {
+			matcher = IgnoredPathsMatcher.compile(patterns);
+			ignoredPathsMatcher = matcher;
+		}
+		return matcher;
+	}
+
+	private record GitIgnore(Path dir, IgnoreNode ignoreNode) {
+	}
+
+	private static class ScanStatistics {
+		private final AtomicLong visitedFiles = new AtomicLong();
+		private final AtomicLong skippedFiles = new AtomicLong();
+		private final AtomicLong skippedDirectories = new AtomicLong();
+	}
+
+	/**
+	 * {@link PathMatcher}s compiled from ant-style {@code sbm.ignoredPathsPatterns}.
+	 * <p>
+	 * Ant's {@code **} matches zero or more directories whereas glob's {@code **} requires the surrounding separators,
+	 * so each pattern is compiled into the glob variants with and without these directories.
+	 * Patterns ending with {@code /**} additionally match the directory itself, which allows pruning it.
+	 */
+	private record IgnoredPathsMatcher(List<String> patterns, List<PathMatcher> fileMatchers, List<PathMatcher> directoryMatchers) {
+
+		static IgnoredPathsMatcher compile(List<String> patterns) {
+			FileSystem fileSystem = FileSystems.getDefault();
+			List<PathMatcher> fileMatchers = new ArrayList<>();
+			List<PathMatcher> directoryMatchers = new ArrayList<>();
+			for (String pattern : patterns) {
+				for (String glob : toGlobs(pattern)) {
+					fileMatchers.add(fileSystem.getPathMatcher("glob:" + glob));
+					if (glob.endsWith("/**") && glob.length() > 3) {
+						directoryMatchers.add(fileSystem.getPathMatcher("glob:" + glob.substring(0, glob.length() - 3)));
+					}
+				}
+			}
+			return new IgnoredPathsMatcher(List.copyOf(patterns), fileMatchers, directoryMatchers);
+		}
+
+		private static Set<String> toGlobs(String pattern) {
+			Set<String> globs = new LinkedHashSet<>();
+			globs.add(pattern);
+			if (pattern.startsWith("**/")) {
+				globs.add(pattern.substring(3));
+			}
+			for (String glob : List.copyOf(globs)) {
+				if (glob.contains("/**/")) {
+					globs.add(glob.replace("/**/", "/"));
+				}
+			}
+			return globs;
+		}
+
+		boolean matchesFile(Path relativePath) {
+			return fileMatchers.stream().anyMatch(m -> m.matches(relativePath));
+		}
+
+		boolean matchesDirectory(Path relativePath) {
+			return directoryMatchers.stream().anyMatch(m -> m.matches(relativePath));
+		}
+	}
 }
@@ -18,27 +18,43 @@ package org.springframework.sbm.project.parser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.Parser;
-import org.openrewrite.SourceFile;
+import org.openrewrite.*;
 import org.openrewrite.hcl.HclParser;
+import org.openrewrite.hcl.tree.Hcl;
 import org.openrewrite.json.JsonParser;
+import org.openrewrite.json.tree.Json;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.protobuf.ProtoParser;
+import org.openrewrite.protobuf.tree.Proto;
+import org.openrewrite.quark.Quark;
+import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextParser;
 import org.openrewrite.tree.ParsingExecutionContextView;
 import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
 import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
+import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
 import org.springframework.sbm.engine.events.StartedScanningProjectResourceEvent;
+import org.springframework.sbm.project.resource.DeferredParsing;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 import org.springframework.stereotype.Component;
+import org.springframework.util.PathMatcher;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -58,6 +74,10 @@ public class ResourceParser {
     private final ResourceFilter resourceFilter;
     private final ApplicationEventPublisher eventPublisher;
     private final ExecutionContext executionContext;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final ProtoParser protoParser = new ProtoParser();
+    private final HclParser hclParser = HclParser.builder().build();
+    private final PathMatcher pathMatcher = new OsAgnosticPathMatcher();
 
     List<Resource> filter(Path projectDirectory, Set<Path> resourcePaths, List<Resource> resources, Path relativeModuleDir) {
         Path comparingPath = relativeModuleDir != null ? projectDirectory.resolve(relativeModuleDir) : projectDirectory;
@@ -102,8 +122,8 @@ public class ResourceParser {
         parserAndParserInputMappings.put(xmlParser, new ArrayList<>());
         parserAndParserInputMappings.put(yamlParser, new ArrayList<>());
         parserAndParserInputMappings.put(propertiesParser, new ArrayList<>());
-        parserAndParserInputMappings.put(new ProtoParser(), new ArrayList<>());
-        parserAndParserInputMappings.put(HclParser.builder().build(), new ArrayList<>());
+        parserAndParserInputMappings.put(protoParser, new ArrayList<>());
+        parserAndParserInputMappings.put(hclParser, new ArrayList<>());
         parserAndParserInputMappings.put(plainTextParser, new ArrayList<>());
 
         parserInputs.forEach(r -> {
@@ -120,36 +140,125 @@ public class ResourceParser {
 
         return parserAndParserInputMappings.entrySet().stream()
                 .filter(ifNoInput())
-                .map(parseEntry(baseDir, ctx))
+                .map(parseEntry(baseDir, ctx, markers))
                 .flatMap(List::stream)
-                .map(e -> addMarkers(e, markers))
                 .collect(Collectors.toList());
 
     }
 
     @NotNull
-    private Function<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>, ? extends List<? extends SourceFile>> parseEntry(Path baseDir, ParsingExecutionContextView ctx) {
+    private Function<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>, ? extends List<? extends SourceFile>> parseEntry(Path baseDir, ParsingExecutionContextView ctx, List<Marker> markers) {
         return e -> {
-            Stream<SourceFile> sourceFileStream = getSourceFileStream(baseDir, ctx, e);
+            Stream<SourceFile> sourceFileStream = getSourceFileStream(baseDir, ctx, e, markers);
             return sourceFileStream.toList();
         };
     }
 
     @NotNull
-    private Stream<SourceFile> getSourceFileStream(Path baseDir, ExecutionContext ctx, Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>> e) {
+    private Stream<SourceFile> getSourceFileStream(Path baseDir, ExecutionContext ctx, Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>> e, List<Marker> markers) {
         return e
                 .getValue()
                 .stream()
-                .map(resource -> (List<SourceFile>) parseSingleResource(baseDir, ctx, e, resource))
+                .map(resource -> {
+                    if (isParsingDeferred(baseDir, resource)) {
+                        return List.of(createPlaceholder(baseDir, ctx, e.getKey(), resource, markers));
+                    }
+                    List<SourceFile> sourceFiles = (List<SourceFile>) parseSingleResource(baseDir, ctx, e, resource);
+                    return sourceFiles == null ? null : sourceFiles.stream().map(sf -> addMarkers(sf, markers)).toList();
+                })
                 .flatMap(elem -> Stream.ofNullable(elem))
                 .flatMap(List::stream);
     }
 
+    private boolean isParsingDeferred(Path baseDir, Parser.Input resource) {
+        int sizeThresholdMb = sbmApplicationProperties.getResourceSizeThresholdMb();
+        if (sizeThresholdMb > 0 && Files.isRegularFile(resource.getPath())) {
+            long fileSize = getFileSize(resource.getPath());
+            if (fileSize > sizeThresholdMb * 1024L * 1024L) {
+                log.info("Deferring parsing of '%s' as its size %dMb exceeds size threshold %dMb".formatted(resource.getPath(), fileSize / (1024L * 1024L), sizeThresholdMb));
+                return true;
+            }
+        }
+        String relativePath = LinuxWindowsPathUnifier.unifyPath(resource.getRelativePath(baseDir));
+        return sbmApplicationProperties.getDeferredParsingPathsPatterns().stream()
+                .anyMatch(pattern -> pathMatcher.match(pattern, relativePath));
+    }
+
+    /**
+     * Creates a {@link Quark} holding only path, checksum and file attributes of the given resource.
+     * The resource gets parsed when the placeholder is first accessed, see {@link DeferredParsing}.
+     */
+    private SourceFile createPlaceholder(Path baseDir, ExecutionContext ctx, Parser<? extends SourceFile> parser, Parser.Input resource, List<Marker> markers) {
+        DeferredParsing deferredParsing = new DeferredParsing(Tree.randomId(), getSourceFileType(parser), () -> addMarkers(parseDeferred(baseDir, ctx, parser, resource), markers));
+        List<Marker> placeholderMarkers = new ArrayList<>(markers);
+        placeholderMarkers.add(deferredParsing);
+        FileAttributes fileAttributes = Files.isRegularFile(resource.getPath()) ? FileAttributes.fromPath(resource.getPath()) : null;
+        return new Quark(Tree.randomId(), resource.getRelativePath(baseDir), Markers.build(placeholderMarkers), sha256(resource), fileAttributes);
+    }
+
+    /**
+     * Test resources which cannot be parsed are tolerated like in {@link #parseSingleResource}.
+     * As the placeholder is part of the project already, they are parsed as plain text instead of being skipped.
+     */
+    private SourceFile parseDeferred(Path baseDir, ExecutionContext ctx, Parser<? extends SourceFile> parser, Parser.Input resource) {
+        try {
+            List<? extends SourceFile> parsed = parser.parseInputs(List.of(resource), baseDir, ctx);
+            if (!parsed.isEmpty()) {
+                return parsed.get(0);
+            }
+            if (!isTestResource(resource)) {
+                throw new IllegalStateException("Could not parse deferred resource '%s'.".formatted(resource.getPath()));
+            }
+            log.error("Could not parse resource '%s' using parser %s.".formatted(resource.getPath(), parser.getClass().getName()));
+        } catch(Exception ex) {
+            if (!isTestResource(resource)) {
+                throw ex;
+            }
+            log.error("Could not parse resource '%s' using parser %s. Exception was: %s".formatted(resource.getPath(), parser.getClass().getName(), ex.getMessage()));
+        }
+        return plainTextParser.parseInputs(List.of(resource), baseDir, ctx).get(0);
+    }
+
+    private Class<? extends SourceFile> getSourceFileType(Parser<? extends SourceFile> parser) {
+        if (parser instanceof JsonParser) {
+            return Json.Document.class;
+        } else if (parser instanceof XmlParser) {
+            return Xml.Document.class;
+        } else if (parser instanceof YamlParser) {
+            return Yaml.Documents.class;
+        } else if (parser instanceof PropertiesParser) {
+            return Properties.File.class;
+        } else if (parser instanceof ProtoParser) {
+            return Proto.Document.class;
+        } else if (parser instanceof HclParser) {
+            return Hcl.ConfigFile.class;
+        }
+        return PlainText.class;
+    }
+
+    private Checksum sha256(Parser.Input resource) {
+        try (InputStream is = resource.getSource()) {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            is.transferTo(new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest));
+            return new Checksum("SHA-256", messageDigest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not calculate checksum for '%s'".formatted(resource.getPath()), e);
+        }
+    }
+
+    private long getFileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private List<? extends SourceFile> parseSingleResource(Path baseDir, ExecutionContext ctx, Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>> e, Parser.Input resource) {
         try {
             return e.getKey().parseInputs(List.of(resource), baseDir, ctx);
         } catch(Exception ex) {
-            if(resource.getPath().toString().contains("src/test/resources")) {
+            if(isTestResource(resource)) {
                 log.error("Could not parse resource '%s' using parser %s. Exception was: %s".formatted(resource.getPath(), e.getKey().getClass().getName(), ex.getMessage()));
                 return null;
             } else {
@@ -158,6 +267,10 @@ public class ResourceParser {
         }
     }
 
+    private boolean isTestResource(Parser.Input resource) {
+        return resource.getPath().toString().contains("src/test/resources");
+    }
+
     @NotNull
     private Predicate<Map.Entry<Parser<? extends SourceFile>, List<Parser.Input>>> ifNoInput() {
         return e -> !e.getValue().isEmpty();
@@ -175,19 +288,4 @@ public class ResourceParser {
                     .collect(Collectors.toList());
         }
     }
-
-    // TODO: Filter resources exceeding size threshold
-	/*
-	long fileSize = attrs.size();
-        if ((sizeThresholdMb > 0 && fileSize > sizeThresholdMb * 1024L * 1024L)) {
-            alreadyParsed.add(path);
-            log.info("Skipping parsing " + path + " as its size + " + fileSize / (1024L * 1024L) +
-                    "Mb exceeds size threshold " + sizeThresholdMb + "Mb");
-            return false;
-        }
-	 */
 }
-
-
-
-
@@ -15,9 +15,14 @@
  */
 package org.springframework.sbm.project.resource;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public abstract class BaseProjectResource implements InternalProjectResource {
+    private static final AtomicLong globalModificationCount = new AtomicLong();
+
     protected boolean isChanged = false;
     private boolean isDeleted = false;
+    private final AtomicLong modificationCount = new AtomicLong();
 
     public boolean hasChanges() {
         return isChanged;
@@ -29,6 +34,7 @@ public abstract class BaseProjectResource implements InternalProjectResource {
 
     public void markAsChanged() {
         isChanged = true;
+        incrementModificationCount();
     }
 
     public void delete() {
@@ -36,6 +42,25 @@ public abstract class BaseProjectResource implements InternalProjectResource {
         markAsChanged();
     }
 
+    /**
+     * @return the number of modifications of this resource, increases with every change and is never reset.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    protected void incrementModificationCount() {
+        modificationCount.incrementAndGet();
+        globalModificationCount.incrementAndGet();
+    }
+
+    /**
+     * @return the number of modifications of all resources, increases with every change of any resource.
+     */
+    static long getGlobalModificationCount() {
+        return globalModificationCount.get();
+    }
+
     public boolean isDeleted() {
         return isDeleted;
     }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+import lombok.With;
+import org.openrewrite.SourceFile;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.quark.Quark;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Marks a {@link Quark} that stands in for a resource which was not parsed during scan.
+ * <p>
+ * The {@code Quark} only keeps path, checksum and file attributes.
+ * The resource gets parsed into an LST of {@link #getType()} on first access through {@link RewriteSourceFileHolder#getSourceFile()}.
+ * Test resources which cannot be parsed into this type are parsed as plain text.
+ */
+@Value
+@With
+public class DeferredParsing implements Marker {
+    UUID id;
+    /**
+     * The type of {@link SourceFile} the resource will be parsed into.
+     */
+    Class<? extends SourceFile> type;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Supplier<SourceFile> parser;
+}
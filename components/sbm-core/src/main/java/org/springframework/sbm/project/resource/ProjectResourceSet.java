@@ -28,6 +28,7 @@ import java.util.stream.Stream;
 public class ProjectResourceSet {
 
     private final List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = new ArrayList<>();
+    private long modificationCount = 0;
 
     public ProjectResourceSet(List<RewriteSourceFileHolder<? extends SourceFile>> projectResources) {
         this.projectResources.addAll(projectResources);
@@ -50,15 +51,28 @@ public class ProjectResourceSet {
 
     public void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
         projectResources.add(newResource);
+        modificationCount++;
     }
 
     public void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
         projectResources.set(index, newResource);
+        modificationCount++;
     }
 
     public void replace(Path path, RewriteSourceFileHolder<? extends SourceFile> newResource) {
         int index = indexOf(path);
-        projectResources.set(index, newResource);
+        replace(index, newResource);
+    }
+
+    /**
+     * The change generation increases with every modification of this set or any of its resources.
+     * Two calls returning the same value guarantee that no resource was added, replaced, modified or deleted in between.
+     * <p>
+     * Resources don't know the set they belong to, the generation is derived from the modifications of all resources
+     * and also increases when resources of other sets are modified.
+     */
+    public long getChangeGeneration() {
+        return modificationCount + BaseProjectResource.getGlobalModificationCount();
     }
 
     public int size() {
@@ -87,6 +101,7 @@ public class ProjectResourceSet {
             RewriteSourceFileHolder<? extends SourceFile> current = iterator.next();
             if(current.isDeleted()) {
                 iterator.remove();
+                modificationCount++;
             }
         }
     }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.openrewrite.SourceFile;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A result computed by {@link ResourceAccessRecorder#record(ProjectResourceSet, java.util.function.Supplier)}
+ * together with the resources it was computed from.
+ * <p>
+ * The result stays valid as long as no resource was added, removed or moved and none of the read resources was modified.
+ * All resources of a type recorded with {@link ResourceAccessRecorder#recordTypeAccess(Class)} count as read.
+ * Resources are referenced weakly, a recording does not keep the scanned project in memory.
+ */
+public class RecordedResourceAccess<T> {
+
+    private final T result;
+    private final List<ResourceState> resources;
+    private final BitSet readResources = new BitSet();
+
+    RecordedResourceAccess(T result, ProjectResourceSet projectResources, Set<RewriteSourceFileHolder<? extends SourceFile>> accessed, Set<Class<? extends SourceFile>> accessedTypes) {
+        this.result = result;
+        List<RewriteSourceFileHolder<? extends SourceFile>> current = projectResources.list();
+        this.resources = current.stream().map(ResourceState::new).toList();
+        for (int i = 0; i < current.size(); i++) {
+            RewriteSourceFileHolder<? extends SourceFile> resource = current.get(i);
+            if (accessed.contains(resource) || isOfAccessedType(resource, accessedTypes)) {
+                readResources.set(i);
+            }
+        }
+    }
+
+    private static boolean isOfAccessedType(RewriteSourceFileHolder<? extends SourceFile> resource, Set<Class<? extends SourceFile>> accessedTypes) {
+        if (accessedTypes.isEmpty()) {
+            return false;
+        }
+        Class<? extends SourceFile> type = resource.getType();
+        return accessedTypes.stream().anyMatch(t -> t.isAssignableFrom(type));
+    }
+
+    public T getResult() {
+        return result;
+    }
+
+    public int getNumberOfReadResources() {
+        return readResources.cardinality();
+    }
+
+    /**
+     * @return true if the result would be the same when computed again from {@code projectResources}
+     */
+    public boolean isValidFor(ProjectResourceSet projectResources) {
+        List<RewriteSourceFileHolder<? extends SourceFile>> current = projectResources.list();
+        if (current.size() != resources.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            ResourceState recorded = resources.get(i);
+            RewriteSourceFileHolder<? extends SourceFile> resource = current.get(i);
+            if (recorded.resource().get() != resource || !recorded.sourcePath().equals(resource.getSourcePath())) {
+                return false;
+            }
+            if (readResources.get(i) && recorded.modificationCount() != resource.getModificationCount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record ResourceState(WeakReference<RewriteSourceFileHolder<? extends SourceFile>> resource, Path sourcePath, long modificationCount) {
+        ResourceState(RewriteSourceFileHolder<? extends SourceFile> resource) {
+            this(new WeakReference<>(resource), resource.getSourcePath(), resource.getModificationCount());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.openrewrite.SourceFile;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Records the resources whose {@link RewriteSourceFileHolder#getSourceFile()} is read while computing a result.
+ * <p>
+ * Indexes answering lookups without reading the non-matching resources record the type of resources they index instead,
+ * the result then depends on all resources of that type.
+ * <p>
+ * Reads are recorded for the calling thread, a computation must not hand resources to other threads.
+ * Recordings can be nested, the resources read by an inner recording are also recorded by the outer one.
+ */
+public final class ResourceAccessRecorder {
+
+    private static final ThreadLocal<Recording> recordings = new ThreadLocal<>();
+
+    private ResourceAccessRecorder() {
+    }
+
+    /**
+     * Computes the result of {@code supplier} and records the resources of {@code projectResources} it read.
+     */
+    public static <T> RecordedResourceAccess<T> record(ProjectResourceSet projectResources, Supplier<T> supplier) {
+        Recording outer = recordings.get();
+        Recording recording = new Recording();
+        recordings.set(recording);
+        T result;
+        try {
+            result = supplier.get();
+        } finally {
+            if (outer == null) {
+                recordings.remove();
+            } else {
+                recordings.set(outer);
+                outer.resources().addAll(recording.resources());
+                outer.types().addAll(recording.types());
+            }
+        }
+        return new RecordedResourceAccess<>(result, projectResources, recording.resources(), recording.types());
+    }
+
+    /**
+     * Records that the current computation depends on all resources of given {@code type}.
+     */
+    public static void recordTypeAccess(Class<? extends SourceFile> type) {
+        Recording recording = recordings.get();
+        if (recording != null) {
+            recording.types().add(type);
+        }
+    }
+
+    static void recordAccess(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        Recording recording = recordings.get();
+        if (recording != null) {
+            recording.resources().add(resource);
+        }
+    }
+
+    private record Recording(Set<RewriteSourceFileHolder<? extends SourceFile>> resources, Set<Class<? extends SourceFile>> types) {
+        Recording() {
+            this(Collections.newSetFromMap(new IdentityHashMap<>()), new HashSet<>());
+        }
+    }
+}
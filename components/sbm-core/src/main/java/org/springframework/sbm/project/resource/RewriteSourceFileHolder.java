@@ -17,13 +17,15 @@ package org.springframework.sbm.project.resource;
 
 import lombok.Getter;
 import org.openrewrite.SourceFile;
+import org.openrewrite.quark.Quark;
 
 import java.nio.file.Path;
 import java.util.UUID;
 
 public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectResource implements InternalProjectResource {
 
-    private T sourceFile;
+    // written by deferred parsing, which can happen on any thread reading the resource
+    private volatile T sourceFile;
     @Getter
     final private Path absoluteProjectDir;
 
@@ -41,9 +43,10 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
 
     public String print() {
         try {
-            return sourceFile.printAll();
+            SourceFilePrintCounter.getInstance().increment();
+            return getSourceFile().printAll();
         } catch (Exception e) {
-            throw new RuntimeException("Exception while printing '%s'".formatted(sourceFile.getSourcePath()), e);
+            throw new RuntimeException("Exception while printing '%s'".formatted(getSourcePath()), e);
         }
     }
 
@@ -73,14 +76,42 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
         if (absoluteProjectDir.resolve(newPath).toFile().isDirectory()) {
             newPath = newPath.resolve(this.getAbsolutePath().getFileName());
         }
-        sourceFile = (T) sourceFile.withSourcePath(newPath);
+        sourceFile = (T) getSourceFile().withSourcePath(newPath);
         this.markChanged();
     }
 
+    /**
+     * Returns the OpenRewrite {@code SourceFile}.
+     * <p>
+     * A resource which was not parsed during scan (see {@link DeferredParsing}) gets parsed on first access.
+     * The access is recorded by an ongoing {@link ResourceAccessRecorder} recording.
+     */
     public T getSourceFile() {
+        ResourceAccessRecorder.recordAccess(this);
+        if (isParsingDeferred()) {
+            parseDeferred();
+        }
         return sourceFile;
     }
 
+    /**
+     * @return true if the resource is still represented by an unparsed placeholder.
+     */
+    public boolean isParsingDeferred() {
+        T current = sourceFile;
+        return current instanceof Quark && current.getMarkers().findFirst(DeferredParsing.class).isPresent();
+    }
+
+    private synchronized void parseDeferred() {
+        T current = sourceFile;
+        if (current instanceof Quark) {
+            current.getMarkers().findFirst(DeferredParsing.class).ifPresent(deferredParsing -> {
+                SourceFile parsed = deferredParsing.getParser().get();
+                sourceFile = (T) parsed.withId(current.getId());
+            });
+        }
+    }
+
     /**
      * Replace current source file with {@code fixedSourceFile}.
      * <p>
@@ -90,23 +121,32 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
      * @param fixedSourceFile the new source file
      */
     public void replaceWith(T fixedSourceFile) {
-        if (sourceFile != null && !sourceFile.printAll().equals(fixedSourceFile.printAll())) {
-            markChanged();
+        if (sourceFile != null) {
+            // compared without writing, not counted as reprint
+            if (!getSourceFile().printAll().equals(fixedSourceFile.printAll())) {
+                markChanged();
+            }
+        }
+        if (sourceFile != fixedSourceFile) {
+            incrementModificationCount();
         }
         sourceFile = fixedSourceFile;
     }
 
     public void markChanged() {
-        this.isChanged = true;
+        markAsChanged();
     }
 
     // FIXME: questionable convenience method
     public UUID getId() {
-        return this.getSourceFile().getId();
+        return sourceFile.getId();
     }
 
     public Class<? extends SourceFile> getType() {
-        return getSourceFile().getClass();
+        T current = sourceFile;
+        return current.getMarkers().findFirst(DeferredParsing.class)
+                .<Class<? extends SourceFile>>map(DeferredParsing::getType)
+                .orElse(current.getClass());
     }
 
     @Override
@@ -35,6 +35,33 @@ public class SbmApplicationProperties {
     private boolean writeInMavenLocal;
     private boolean  javaParserLoggingCompilationWarningsAndErrors;
     private List<String> ignoredPathsPatterns = new ArrayList<>();
+    /**
+     * Resources ignored by a {@code .gitignore} in the scanned project are not scanned.
+     * Disabled by default, enabling it changes which resources are scanned.
+     */
+    private boolean gitignoreSupportEnabled = false;
+    /**
+     * Resources larger than this threshold (in MB) are not parsed during scan but on first access, {@code -1} disables the threshold.
+     */
+    private int resourceSizeThresholdMb = -1;
+    /**
+     * Patterns for resources which are not parsed during scan but on first access.
+     */
+    private List<String> deferredParsingPathsPatterns = new ArrayList<>();
+    /**
+     * Evaluate the conditions of recipes concurrently.
+     * Requires all conditions to only read from the project.
+     */
+    private boolean parallelConditionEvaluationEnabled = false;
+    /**
+     * Render the sections of the Spring Boot upgrade report concurrently.
+     * Requires all section helpers to only read from the project.
+     */
+    private boolean parallelReportRenderingEnabled = false;
+    /**
+     * Maximum number of JDK and classpath types in the type cache shared by all {@code JavaParser}s.
+     */
+    private int javaTypeCacheMaxSize = 250_000;
 
     public void setIgnoredPathsPatterns(List<String> patterns) {
         List<String> absolutePatterns = patterns.stream()
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often OpenRewrite {@code SourceFile}s are printed back to text.
+ *
+ * Counted are the prints of {@link RewriteSourceFileHolder#print()}, done for every written resource, and the prints
+ * of Java sources and poms for reparsing. Comparing a replaced source file with its replacement is not counted.
+ * The counter is never reset, callers compare the count before and after the code they measure.
+ */
+public class SourceFilePrintCounter {
+
+    private final LongAdder prints = new LongAdder();
+
+    private SourceFilePrintCounter() {
+    }
+
+    private static class SourceFilePrintCounterHolder {
+        public static final SourceFilePrintCounter INSTANCE = new SourceFilePrintCounter();
+    }
+
+    public static SourceFilePrintCounter getInstance() {
+        return SourceFilePrintCounterHolder.INSTANCE;
+    }
+
+    public void increment() {
+        prints.increment();
+    }
+
+    public long getCount() {
+        return prints.sum();
+    }
+}
@@ -24,7 +24,6 @@ import org.openrewrite.Recipe;
 import org.openrewrite.Result;
 import org.openrewrite.properties.ChangePropertyKey;
 import org.openrewrite.properties.ChangePropertyValue;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.properties.tree.Properties.Entry;
 import org.openrewrite.properties.tree.Properties.File;
@@ -34,10 +33,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
 
 // TODO: fcoi RewriteSourceFileHolder as member ?!
 @Slf4j
@@ -45,6 +41,8 @@ public class PropertiesSource extends RewriteSourceFileHolder<Properties.File> {
 
     private final ExecutionContext executionContext;
 
+    private volatile PropertiesIndex index;
+
     public PropertiesSource(Path absoluteProjectDir, ExecutionContext executionContext, File sourceFile) {
         super(absoluteProjectDir, sourceFile);
         Assert.notNull(executionContext, "ExecutionContext must not be null.");
@@ -52,7 +50,7 @@ public class PropertiesSource extends RewriteSourceFileHolder<Properties.File> {
     }
 
     public void setProperty(String comment, String propertyName, String propertyValue) {
-        if (FindProperties.find(getSourceFile(), propertyName, false).isEmpty()) {
+        if (!getIndex().contains(propertyName)) {
             apply(new AddProperty(propertyName, propertyValue));
         } else {
             apply(new ChangePropertyValue(propertyName, propertyValue, null, null, null));
@@ -60,7 +58,7 @@ public class PropertiesSource extends RewriteSourceFileHolder<Properties.File> {
     }
 
     public void setProperty(String key, String value) {
-        if (FindProperties.find(getSourceFile(), key, false).isEmpty()) {
+        if (!getIndex().contains(key)) {
             apply(new AddProperty(key, value));
         } else {
             apply(new ChangePropertyValue(key, value, null, null, null));
@@ -68,33 +66,41 @@ public class PropertiesSource extends RewriteSourceFileHolder<Properties.File> {
     }
 
     public void renameProperty(String oldProperyName, String newPropertyName) {
-        if (!FindProperties.find(getSourceFile(), oldProperyName, false).isEmpty()) {
+        if (getIndex().contains(oldProperyName)) {
             apply(new ChangePropertyKey(oldProperyName, newPropertyName, null, null));
         }
     }
 
     public Optional<String> getProperty(String key) {
-        Set<Entry> found = FindProperties.find(getSourceFile(), key, false);
+        List<Entry> found = getIndex().getEntries(key);
         if (found.isEmpty()) {
             return Optional.empty();
         } else {
             if (found.size() > 1) {
                 log.warn("Found more than one value for property " + key);
             }
-            return Optional.of(found.iterator().next().getValue().getText());
+            return Optional.of(found.get(0).getValue().getText());
         }
 
     }
 
     public java.util.Properties getProperties() {
-        String collect = getSourceFile().printAll();
-        try {
-            java.util.Properties properties = new java.util.Properties(collect.length());
-            properties.load(new ByteArrayInputStream(collect.getBytes(StandardCharsets.UTF_8)));
-            return properties;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        java.util.Properties properties = new java.util.Properties();
+        properties.putAll(getIndex().getProperties());
+        return properties;
+    }
+
+    /**
+     * The index is bound to the {@link File} instance and rebuilt when the source file was replaced.
+     */
+    private PropertiesIndex getIndex() {
+        File sourceFile = getSourceFile();
+        PropertiesIndex current = index;
+        if (current == null || current.file != sourceFile) {
+            current = new PropertiesIndex(sourceFile);
+            index = current;
         }
+        return current;
     }
 
     private void apply(Recipe r) {
@@ -105,4 +111,43 @@ public class PropertiesSource extends RewriteSourceFileHolder<Properties.File> {
         }
     }
 
+    private static class PropertiesIndex {
+        private final File file;
+        private final Map<String, List<Entry>> entries = new HashMap<>();
+        private volatile java.util.Properties properties;
+
+        PropertiesIndex(File file) {
+            this.file = file;
+            file.getContent().stream()
+                    .filter(Entry.class::isInstance)
+                    .map(Entry.class::cast)
+                    .forEach(e -> entries.computeIfAbsent(e.getKey(), k -> new ArrayList<>(1)).add(e));
+        }
+
+        boolean contains(String key) {
+            return entries.containsKey(key);
+        }
+
+        List<Entry> getEntries(String key) {
+            return entries.getOrDefault(key, List.of());
+        }
+
+        /**
+         * Loaded from the printed file, as {@link java.util.Properties} resolves escapes and line continuations.
+         */
+        java.util.Properties getProperties() {
+            java.util.Properties loaded = properties;
+            if (loaded == null) {
+                String collect = file.printAll();
+                try {
+                    loaded = new java.util.Properties(collect.length());
+                    loaded.load(new ByteArrayInputStream(collect.getBytes(StandardCharsets.UTF_8)));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                properties = loaded;
+            }
+            return loaded;
+        }
+    }
 }
@@ -30,23 +30,35 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class AbstractBaseScope implements Scope {
     private final Map<String, Object> scopedBeans = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> conversationBeans = new ConcurrentHashMap<>();
 
+    /**
+     * Removes the beans of the {@link ScopeConversation} bound to the current thread.
+     */
     public void clear(ConfigurableListableBeanFactory beanFactory) {
-        scopedBeans.keySet().stream().forEach(beanName -> beanFactory.destroyScopedBean(beanName));
+        getScopedBeans().keySet().stream().forEach(beanName -> beanFactory.destroyScopedBean(beanName));
+    }
+
+    /**
+     * Removes all beans of the given {@link ScopeConversation}.
+     */
+    public void end(String conversationId) {
+        conversationBeans.remove(conversationId);
     }
 
     public Object get(String name, ObjectFactory<?> objectFactory) {
-        Object scopedObject = this.scopedBeans.get(name);
+        Map<String, Object> scope = getScopedBeans();
+        Object scopedObject = scope.get(name);
         if (scopedObject == null) {
             scopedObject = objectFactory.getObject();
-            this.scopedBeans.put(name, scopedObject);
+            scope.put(name, scopedObject);
         }
         return scopedObject;
     }
 
     @Nullable
     public Object remove(String name) {
-        Map<String, Object> scope = this.scopedBeans;
+        Map<String, Object> scope = getScopedBeans();
         return scope.remove(name);
     }
 
@@ -60,6 +72,12 @@ public class AbstractBaseScope implements Scope {
     }
 
     public String getConversationId() {
-        return null;
+        return ScopeConversation.current().orElse(null);
+    }
+
+    private Map<String, Object> getScopedBeans() {
+        return ScopeConversation.current()
+                .map(conversationId -> conversationBeans.computeIfAbsent(conversationId, id -> new ConcurrentHashMap<>()))
+                .orElse(scopedBeans);
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.scopes;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs scans and recipes of multiple projects concurrently, each project in its own {@link ScopeConversation}.
+ * <p>
+ * Recipes, parsers and caches of the application are shared, {@link ScanScope} and {@link ExecutionScope} beans,
+ * the {@link ProjectContextHolder} and the {@link ClasspathRegistry} are kept per project.
+ * Calls for the same project are serialized.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectScopes {
+
+    private final ScanScope scanScope;
+    private final ExecutionScope executionScope;
+    private final ProjectContextHolder projectContextHolder;
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Calls {@code supplier} in the conversation of {@code projectRoot}.
+     */
+    public <T> T callInProject(Path projectRoot, Supplier<T> supplier) {
+        String conversationId = conversationId(projectRoot);
+        ReentrantLock lock = lock(conversationId);
+        try {
+            return ScopeConversation.callIn(conversationId, supplier);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes everything kept for {@code projectRoot}.
+     */
+    public void end(Path projectRoot) {
+        String conversationId = conversationId(projectRoot);
+        ReentrantLock lock = lock(conversationId);
+        try {
+            ScopeConversation.callIn(conversationId, () -> {
+                scanScope.end(conversationId);
+                executionScope.end(conversationId);
+                projectContextHolder.remove(conversationId);
+                ClasspathRegistry.remove(conversationId);
+                return null;
+            });
+            // threads waiting for the removed lock take a new one
+            locks.remove(conversationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires the lock of {@code conversationId}, retrying if the lock was removed by {@link #end(Path)} while waiting.
+     */
+    private ReentrantLock lock(String conversationId) {
+        while (true) {
+            ReentrantLock lock = locks.computeIfAbsent(conversationId, id -> new ReentrantLock());
+            lock.lock();
+            if (locks.get(conversationId) == lock) {
+                return lock;
+            }
+            lock.unlock();
+        }
+    }
+
+    private String conversationId(Path projectRoot) {
+        return projectRoot.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.scopes;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Binds the current thread to a conversation, an independent instance of the {@link ScanScope} and {@link ExecutionScope}.
+ * <p>
+ * Scoped beans, the {@link org.springframework.sbm.engine.context.ProjectContextHolder} and the
+ * {@link org.springframework.sbm.java.impl.ClasspathRegistry} are kept per conversation, which allows to work on
+ * multiple projects concurrently. Threads not bound to a conversation use the default instances.
+ * Scoped beans are resolved on the calling thread, so a conversation does not propagate to other threads.
+ */
+public final class ScopeConversation {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ScopeConversation() {
+    }
+
+    /**
+     * @return the id of the conversation bound to the current thread
+     */
+    public static Optional<String> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Calls {@code supplier} with the current thread bound to conversation {@code conversationId},
+     * or to no conversation if {@code conversationId} is {@code null}.
+     * Allows to propagate the conversation to other threads.
+     */
+    public static <T> T callIn(@Nullable String conversationId, Supplier<T> supplier) {
+        String previous = CURRENT.get();
+        if (conversationId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(conversationId);
+        }
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.util.PomBuilder;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BuildFileBatchTest {
+
+    private final String parentPom = PomBuilder.buildPom("com.example:parent:0.1")
+            .packaging("pom")
+            .withModules("moduleA", "moduleB")
+            .withProperties(Map.of("some-property", "value1"))
+            .build();
+    private final String moduleA = PomBuilder.buildPom("com.example:parent:0.1", "moduleA").build();
+    private final String moduleB = PomBuilder.buildPom("com.example:parent:0.1", "moduleB").build();
+
+    @Test
+    void pomModelsAreRefreshedAtTheEndOfTheBatch() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withMavenRootBuildFileSource(parentPom)
+                .withMavenBuildFileSource("moduleA", moduleA)
+                .withMavenBuildFileSource("moduleB", moduleB)
+                .build();
+        BuildFile parentBuildFile = context.getApplicationModules().getRootModule().getBuildFile();
+        BuildFile moduleABuildFile = context.getApplicationModules().getModule("moduleA").getBuildFile();
+
+        BuildFileBatch.execute(() -> {
+            parentBuildFile.setProperty("some-property", "value2");
+            moduleABuildFile.setProperty("other-property", "value3");
+            moduleABuildFile.setProperty("another-property", "value4");
+            // the model is refreshed at the end of the batch
+            assertThat(parentBuildFile.getProperty("some-property")).isEqualTo("value1");
+            assertThat(moduleABuildFile.getProperty("other-property")).isNull();
+        });
+
+        assertThat(parentBuildFile.getProperty("some-property")).isEqualTo("value2");
+        assertThat(moduleABuildFile.getProperty("other-property")).isEqualTo("value3");
+        assertThat(moduleABuildFile.getProperty("another-property")).isEqualTo("value4");
+        assertThat(moduleABuildFile.print()).contains("<other-property>value3</other-property>", "<another-property>value4</another-property>");
+    }
+
+    @Test
+    void onlyModifiedPomsAndTheirDependentsAreRefreshed() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withMavenRootBuildFileSource(parentPom)
+                .withMavenBuildFileSource("moduleA", moduleA)
+                .withMavenBuildFileSource("moduleB", moduleB)
+                .build();
+        OpenRewriteMavenBuildFile parentBuildFile = (OpenRewriteMavenBuildFile) context.getApplicationModules().getRootModule().getBuildFile();
+        OpenRewriteMavenBuildFile moduleABuildFile = (OpenRewriteMavenBuildFile) context.getApplicationModules().getModule("moduleA").getBuildFile();
+        OpenRewriteMavenBuildFile moduleBBuildFile = (OpenRewriteMavenBuildFile) context.getApplicationModules().getModule("moduleB").getBuildFile();
+        MavenResolutionResult parentModel = parentBuildFile.getPom();
+        MavenResolutionResult moduleBModel = moduleBBuildFile.getPom();
+
+        moduleABuildFile.setProperty("other-property", "value3");
+
+        assertThat(moduleABuildFile.getProperty("other-property")).isEqualTo("value3");
+        assertThat(parentBuildFile.getPom()).isSameAs(parentModel);
+        assertThat(moduleBBuildFile.getPom()).isSameAs(moduleBModel);
+
+        parentBuildFile.setProperty("some-property", "value2");
+
+        assertThat(parentBuildFile.getPom()).isNotSameAs(parentModel);
+        assertThat(moduleBBuildFile.getPom()).isNotSameAs(moduleBModel);
+        assertThat(moduleBBuildFile.getPom().getPom().getProperties()).containsEntry("some-property", "value2");
+    }
+
+    @Test
+    void failingModificationsAreRethrownAfterTheRefresh() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withMavenRootBuildFileSource(parentPom)
+                .withMavenBuildFileSource("moduleA", moduleA)
+                .withMavenBuildFileSource("moduleB", moduleB)
+                .build();
+        BuildFile parentBuildFile = context.getApplicationModules().getRootModule().getBuildFile();
+        IllegalStateException failure = new IllegalStateException("modification failed");
+
+        assertThatThrownBy(() -> BuildFileBatch.execute(() -> {
+            parentBuildFile.setProperty("some-property", "value2");
+            throw failure;
+        })).isSameAs(failure).hasNoSuppressedExceptions();
+
+        assertThat(parentBuildFile.getProperty("some-property")).isEqualTo("value2");
+        assertThat(BuildFileBatch.current()).isEmpty();
+    }
+}
@@ -19,12 +19,17 @@ import org.springframework.sbm.build.api.JavaSourceSet;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.java.api.JavaSource;
 import org.springframework.sbm.java.api.JavaSourceLocation;
+import org.springframework.sbm.java.api.Type;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.TestProjectContext;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -190,4 +195,53 @@ class JavaSourceSetImplTest {
         Assertions.assertThat(sut.list().get(0).getTypes().get(0).getSimpleName()).isEqualTo("Cla");
     }
 
-}
\ No newline at end of file
+    @Test
+    void addingMethodsAndClassesInOneStepShouldGiveTheSameSourcesAsAddingThemPerElement() {
+        String configuration =
+                "package com.example;\n" +
+                        "public class Config {\n" +
+                        "}";
+        List<String> methods = List.of(
+                "List<String> first() {\n    return List.of(\"a\");\n}",
+                "Map<String, String> second() {\n    return Map.of(\"b\", \"c\");\n}",
+                "Set<String> third() {\n    return Set.of(\"d\");\n}"
+        );
+        List<Set<String>> imports = List.of(Set.of("java.util.List"), Set.of("java.util.Map"), Set.of("java.util.Set"));
+        List<String> classes = List.of(
+                "package com.example;\npublic class First {}",
+                "public class Second {}",
+                "package com.example.third;\npublic class Third {}"
+        );
+
+        // methods and classes added per element, alternating
+        ProjectContext perElement = TestProjectContext.buildProjectContext().withJavaSources(configuration).build();
+        JavaSourceSet perElementSourceSet = perElement.getApplicationModules().getRootModule().getMainJavaSourceSet();
+        Type perElementType = perElement.getProjectJavaSources().list().get(0).getTypes().get(0);
+        for (int i = 0; i < methods.size(); i++) {
+            perElementType.addMethod(methods.get(i), imports.get(i));
+            String packageName = perElementSourceSet.getJavaSourceLocation().getPackageName();
+            perElementSourceSet.addJavaSource(perElement.getProjectRootDirectory(), classes.get(i), packageName);
+        }
+
+        // all methods first, then all classes
+        ProjectContext batched = TestProjectContext.buildProjectContext().withJavaSources(configuration).build();
+        JavaSourceSet batchedSourceSet = batched.getApplicationModules().getRootModule().getMainJavaSourceSet();
+        Type batchedType = batched.getProjectJavaSources().list().get(0).getTypes().get(0);
+        Set<String> allImports = new HashSet<>();
+        imports.forEach(allImports::addAll);
+        batchedType.addMethods(methods, allImports);
+        String packageName = batchedSourceSet.getJavaSourceLocation().getPackageName();
+        List<JavaSource> added = batchedSourceSet.addJavaSources(batched.getProjectRootDirectory(), classes, packageName);
+
+        assertThat(added).hasSize(3);
+        assertThat(sourcePathsAndContents(batchedSourceSet)).containsExactlyElementsOf(sourcePathsAndContents(perElementSourceSet));
+        assertThat(batchedSourceSet.list()).allMatch(js -> js.getResource().hasChanges());
+        assertThat(added.get(1).getResource().getSourcePath()).isEqualTo(Path.of("src/main/java/Second.java"));
+    }
+
+    private List<String> sourcePathsAndContents(JavaSourceSet javaSourceSet) {
+        List<String> sources = new ArrayList<>();
+        javaSourceSet.list().forEach(js -> sources.add(js.getResource().getSourcePath() + "\n" + js.print()));
+        return sources;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.maven.MavenVisitor;
+import org.openrewrite.xml.XPathMatcher;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MavenBuildFileRefactoringTest {
+
+    @Test
+    void visitorsAreAppliedOneAfterAnother() {
+        String pom = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>example</artifactId>
+                    <version>0.1</version>
+                    <name>name</name>
+                    <description>description</description>
+                </project>
+                """;
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withMavenRootBuildFileSource(pom)
+                .build();
+        MavenBuildFileRefactoring<Xml.Document> refactoring = new MavenBuildFileRefactoring<>(context.getProjectResources(), mock(RewriteMavenParser.class), context.getExecutionContext());
+
+        refactoring.execute(
+                changeTagValue("/project/name", "new name"),
+                changeTagValue("/project/description", "new description"),
+                changeTagValue("/project/name", "newer name")
+        );
+
+        String printed = context.getApplicationModules().getRootModule().getBuildFile().print();
+        assertThat(printed).contains("<name>newer name</name>", "<description>new description</description>");
+    }
+
+    private MavenVisitor<ExecutionContext> changeTagValue(String xPath, String value) {
+        XPathMatcher matcher = new XPathMatcher(xPath);
+        return new MavenVisitor<>() {
+            @Override
+            public Xml visitTag(Xml.Tag tag, ExecutionContext executionContext) {
+                Xml.Tag t = (Xml.Tag) super.visitTag(tag, executionContext);
+                if (matcher.matches(getCursor())) {
+                    t = t.withValue(value);
+                }
+                return t;
+            }
+        };
+    }
+}
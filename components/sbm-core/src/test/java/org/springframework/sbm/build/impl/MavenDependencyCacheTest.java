@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.tree.Scope;
+import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.api.Dependency;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MavenDependencyCacheTest {
+
+    private static final String POM = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                     xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>com.example</groupId>
+                <artifactId>example</artifactId>
+                <version>0.1</version>
+                <dependencies>
+                    <dependency>
+                        <groupId>javax.validation</groupId>
+                        <artifactId>validation-api</artifactId>
+                        <version>2.0.1.Final</version>
+                    </dependency>
+                </dependencies>
+            </project>
+            """;
+
+    @Test
+    void dependenciesAreMemoizedUntilThePomModelChanges() {
+        BuildFile buildFile = TestProjectContext.buildProjectContext()
+                .withMavenRootBuildFileSource(POM)
+                .build()
+                .getBuildFile();
+
+        List<Path> paths = buildFile.getResolvedDependenciesPaths();
+        assertThat(paths).hasSize(1);
+        assertThat(paths.get(0).toString()).endsWith("validation-api-2.0.1.Final.jar");
+        assertThat(buildFile.getResolvedDependenciesPaths()).isEqualTo(paths);
+
+        buildFile.addDependency(Dependency.builder().groupId("org.apiguardian").artifactId("apiguardian-api").version("1.1.0").build());
+
+        assertThat(buildFile.getResolvedDependenciesPaths())
+                .hasSize(2)
+                .anyMatch(p -> p.toString().endsWith("apiguardian-api-1.1.0.jar"));
+        assertThat(buildFile.getDeclaredDependencies()).extracting(Dependency::getArtifactId).containsExactly("validation-api", "apiguardian-api");
+        assertThat(buildFile.getEffectiveDependencies(Scope.Compile)).extracting(Dependency::getArtifactId).containsExactlyInAnyOrder("validation-api", "apiguardian-api");
+    }
+
+    @Test
+    void modifyingReturnedDependenciesDoesNotChangeTheCache() {
+        BuildFile buildFile = TestProjectContext.buildProjectContext()
+                .withMavenRootBuildFileSource(POM)
+                .build()
+                .getBuildFile();
+
+        buildFile.getRequestedDependencies().get(0).setVersion("1.0.0");
+        buildFile.getDeclaredDependencies().get(0).getExclusions().add(Dependency.builder().groupId("a").artifactId("b").build());
+
+        assertThat(buildFile.getRequestedDependencies().get(0).getVersion()).isEqualTo("2.0.1.Final");
+        assertThat(buildFile.getDeclaredDependencies().get(0).getExclusions()).isEmpty();
+    }
+
+    @Test
+    void failedDownloadsAreNotMemoized() {
+        MavenDependencyCache cache = new MavenDependencyCache(null);
+        AtomicInteger resolutions = new AtomicInteger();
+        Path jar = Path.of("some.jar");
+
+        List<Path> failed = cache.getResolvedDependenciesPaths(Scope.Provided, s -> {
+            resolutions.incrementAndGet();
+            return Arrays.asList(jar, null);
+        });
+        List<Path> resolved = cache.getResolvedDependenciesPaths(Scope.Provided, s -> {
+            resolutions.incrementAndGet();
+            return List.of(jar);
+        });
+
+        assertThat(failed).containsExactly(jar, null);
+        assertThat(resolved).containsExactly(jar);
+        assertThat(cache.getResolvedDependenciesPaths(Scope.Provided, s -> List.of())).containsExactly(jar);
+        assertThat(resolutions).hasValue(2);
+    }
+}
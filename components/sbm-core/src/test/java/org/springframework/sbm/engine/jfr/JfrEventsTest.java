@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.AbstractAction;
+import org.springframework.sbm.engine.recipe.Recipe;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventsTest {
+
+    @Test
+    void recipeAndActionEventsAreRecorded(@TempDir Path tempDir) throws Exception {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("public class A {}")
+                .build();
+        Recipe recipe = Recipe.builder()
+                .name("some-recipe")
+                .action(new AbstractAction() {
+                    @Override
+                    public void apply(ProjectContext context) {
+                    }
+                })
+                .build();
+
+        Path file = tempDir.resolve("sbm.jfr");
+        try (Recording recording = new Recording()) {
+            JfrEvents.EVENT_TYPES.forEach(recording::enable);
+            recording.start();
+            recipe.apply(context);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent recipeExecution = findEvent(events, "org.springframework.sbm.RecipeExecution");
+        assertThat(recipeExecution.getString("recipe")).isEqualTo("some-recipe");
+        assertThat(recipeExecution.getInt("actions")).isEqualTo(1);
+        assertThat(recipeExecution.getInt("appliedActions")).isEqualTo(1);
+        assertThat(recipeExecution.getInt("projectResources")).isEqualTo(context.getProjectResources().size());
+        RecordedEvent actionApply = findEvent(events, "org.springframework.sbm.ActionApply");
+        assertThat(actionApply.getBoolean("failed")).isFalse();
+        assertThat(actionApply.getString("actionType")).startsWith(JfrEventsTest.class.getName());
+    }
+
+    private RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.project.resource.SourceFilePrintCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SbmMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void addRegistry() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void removeRegistry() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void timesSuppliersAndFailingRunnables() {
+        String result = SbmMetrics.timed(SbmMetrics.SCAN, () -> "scanned");
+        assertThatThrownBy(() -> SbmMetrics.timed(SbmMetrics.ACTION_APPLY, (Runnable) () -> {
+            throw new IllegalStateException();
+        }, "action", "Failing")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(result).isEqualTo("scanned");
+        assertThat(meterRegistry.get(SbmMetrics.SCAN).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SbmMetrics.ACTION_APPLY).tag("action", "Failing").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsReparsesAndReprints() {
+        SbmMetrics.countReparses("maven", 3);
+        SourceFilePrintCounter.getInstance().increment();
+
+        assertThat(meterRegistry.get(SbmMetrics.REPARSES).tag("type", "maven").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(SbmMetrics.REPRINTS).functionCounter().count())
+                .isEqualTo(SourceFilePrintCounter.getInstance().getCount());
+    }
+
+    @Test
+    void typeTagOfAnonymousClass() {
+        assertThat(SbmMetrics.typeTag("")).isEqualTo("String");
+        assertThat(SbmMetrics.typeTag(new Object() {})).isEqualTo(SbmMetricsTest.class.getName() + "$1");
+    }
+}
@@ -16,7 +16,9 @@
 package org.springframework.sbm.engine.precondition;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.io.Resource;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -32,7 +34,7 @@ class PreconditionCheckVerifierTest {
 		PreconditionCheck p2 = mock(PreconditionCheck.class);
 		PreconditionCheck p3 = mock(PreconditionCheck.class);
 		List<PreconditionCheck> preconditions = List.of(p1, p2, p3);
-		PreconditionVerifier sut = new PreconditionVerifier(preconditions);
+		PreconditionVerifier sut = new PreconditionVerifier(preconditions, new SbmApplicationProperties());
 
 		List<Resource> resources = List.of();
 
@@ -61,4 +63,26 @@ class PreconditionCheckVerifierTest {
 		verify(p3).verify(projectRoot, resources);
 	}
 
+	@Test
+	void shouldShareClassifiedResourcesAndReportTimings() {
+		PreconditionCheck p1 = mock(PreconditionCheck.class);
+		PreconditionCheck p2 = mock(PreconditionCheck.class);
+		PreconditionVerifier sut = new PreconditionVerifier(List.of(p1, p2), new SbmApplicationProperties());
+		Path projectRoot = Path.of(".");
+		List<Resource> resources = List.of();
+		when(p1.verify(eq(projectRoot), any())).thenReturn(new PreconditionCheckResult(PreconditionCheck.ResultState.PASSED, "passed 1"));
+		when(p2.verify(eq(projectRoot), any())).thenReturn(new PreconditionCheckResult(PreconditionCheck.ResultState.PASSED, "passed 2"));
+
+		PreconditionVerificationResult preconditionVerificationResult = sut.verifyPreconditions(projectRoot, resources);
+
+		assertThat(preconditionVerificationResult.getResults()).extracting(PreconditionCheckResult::getMessage).containsExactly("passed 1", "passed 2");
+		assertThat(preconditionVerificationResult.getResults()).allMatch(r -> r.getDuration() != null);
+		ArgumentCaptor<List<Resource>> resources1 = ArgumentCaptor.forClass(List.class);
+		ArgumentCaptor<List<Resource>> resources2 = ArgumentCaptor.forClass(List.class);
+		verify(p1).verify(eq(projectRoot), resources1.capture());
+		verify(p2).verify(eq(projectRoot), resources2.capture());
+		assertThat(resources1.getValue()).isInstanceOf(ScannedResources.class);
+		assertThat(resources1.getValue()).isSameAs(resources2.getValue());
+	}
+
 }
\ No newline at end of file
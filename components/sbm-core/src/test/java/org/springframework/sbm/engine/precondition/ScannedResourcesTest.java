@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.precondition;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScannedResourcesTest {
+
+    @Test
+    void classifiesPathsOnce() {
+        Path projectRoot = Path.of("project").toAbsolutePath();
+        List<Resource> resources = List.of(
+                new FileSystemResource(projectRoot.resolve("pom.xml")),
+                new FileSystemResource(projectRoot.resolve("module-a/pom.xml")),
+                new FileSystemResource(projectRoot.resolve("module-a/src/main/java/com/example/A.java")),
+                new FileSystemResource(projectRoot.resolve("module-a/src/main/java/com/example/B.java")),
+                new FileSystemResource(projectRoot.resolve("module-a/src/test/java/com/example/ATest.java")),
+                new FileSystemResource(projectRoot.resolve("module-a/src/main/resources/application.properties"))
+        );
+
+        ScannedResources sut = ScannedResources.of(resources);
+
+        assertThat(sut).hasSize(6);
+        assertThat(sut.getBuildFiles()).containsExactly(projectRoot.resolve("pom.xml"), projectRoot.resolve("module-a/pom.xml"));
+        assertThat(sut.hasBuildFile("pom.xml")).isTrue();
+        assertThat(sut.hasBuildFile("build.gradle")).isFalse();
+        assertThat(sut.getMainJavaSourceDirs()).containsExactly(projectRoot.resolve("module-a/src/main/java"));
+        assertThat(sut.getTestJavaSourceDirs()).containsExactly(projectRoot.resolve("module-a/src/test/java"));
+        assertThat(ScannedResources.of(sut)).isSameAs(sut);
+    }
+
+    @Test
+    void classifiesIgnoredPaths() {
+        Path projectRoot = Path.of("project").toAbsolutePath();
+        List<Resource> resources = List.of(
+                new FileSystemResource(projectRoot.resolve("pom.xml")),
+                new FileSystemResource(projectRoot.resolve("target/classes/META-INF/maven/pom.xml")),
+                new FileSystemResource(projectRoot.resolve("module-a/target/generated-sources/src/main/java/A.java")),
+                new FileSystemResource(projectRoot.resolve("module-a/src/main/java/com/example/B.java"))
+        );
+
+        ScannedResources sut = ScannedResources.of(projectRoot, resources, List.of("**/target/**"));
+
+        assertThat(sut).hasSize(4);
+        assertThat(sut.getIgnoredFiles()).containsExactly(
+                projectRoot.resolve("target/classes/META-INF/maven/pom.xml"),
+                projectRoot.resolve("module-a/target/generated-sources/src/main/java/A.java"));
+        assertThat(sut.getBuildFiles()).containsExactly(projectRoot.resolve("pom.xml"));
+        assertThat(sut.getMainJavaSourceDirs()).containsExactly(projectRoot.resolve("module-a/src/main/java"));
+        assertThat(ScannedResources.of(resources).getIgnoredFiles()).isEmpty();
+    }
+}
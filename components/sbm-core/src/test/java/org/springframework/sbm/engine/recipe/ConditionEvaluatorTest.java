@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionEvaluatorTest {
+
+    @Test
+    void reevaluatesOnlyConditionsWhichReadChangedResources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withProjectResource("src/main/resources/some.txt", "content")
+                .build();
+        CountingCondition readingCondition = new CountingCondition(true, true);
+        CountingCondition notReadingCondition = new CountingCondition(false, false);
+        Recipe recipe1 = new Recipe("recipe-1", List.of(new DummyAction(readingCondition)));
+        Recipe recipe2 = new Recipe("recipe-2", List.of(new DummyAction(notReadingCondition)));
+        Recipes recipes = new Recipes(new ArrayList<>(List.of(recipe1, recipe2)), new ConditionEvaluator(new SbmApplicationProperties()));
+
+        assertThat(recipes.getApplicable(context)).containsExactly(recipe1);
+        assertThat(recipes.getApplicable(context)).containsExactly(recipe1);
+        assertThat(readingCondition.evaluations).hasValue(1);
+        assertThat(notReadingCondition.evaluations).hasValue(1);
+
+        context.getProjectResources().list().get(0).markAsChanged();
+
+        assertThat(recipes.getApplicable(context)).containsExactly(recipe1);
+        assertThat(readingCondition.evaluations).hasValue(2);
+        assertThat(notReadingCondition.evaluations).hasValue(1);
+    }
+
+    @Test
+    void reevaluatesAllConditionsWhenResourceIsAdded() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withProjectResource("src/main/resources/some.txt", "content")
+                .build();
+        CountingCondition readingCondition = new CountingCondition(true, true);
+        CountingCondition notReadingCondition = new CountingCondition(false, false);
+        Recipe recipe1 = new Recipe("recipe-1", List.of(new DummyAction(readingCondition)));
+        Recipe recipe2 = new Recipe("recipe-2", List.of(new DummyAction(notReadingCondition)));
+        Recipes recipes = new Recipes(new ArrayList<>(List.of(recipe1, recipe2)), new ConditionEvaluator(new SbmApplicationProperties()));
+
+        assertThat(recipes.getApplicable(context)).containsExactly(recipe1);
+
+        context.getProjectResources().add(context.getProjectResources().list().get(0));
+
+        assertThat(recipes.getApplicable(context)).containsExactly(recipe1);
+        assertThat(readingCondition.evaluations).hasValue(2);
+        assertThat(notReadingCondition.evaluations).hasValue(2);
+    }
+
+    private static class CountingCondition implements Condition {
+        private final boolean result;
+        private final boolean readsResources;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        CountingCondition(boolean result, boolean readsResources) {
+            this.result = result;
+            this.readsResources = readsResources;
+        }
+
+        @Override
+        public String getDescription() {
+            return "counting condition";
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            evaluations.incrementAndGet();
+            if (readsResources) {
+                context.getProjectResources().stream().forEach(RewriteSourceFileHolder::getSourceFile);
+            }
+            return result;
+        }
+    }
+
+    private static class DummyAction extends AbstractAction {
+        DummyAction(Condition condition) {
+            setCondition(condition);
+        }
+
+        @Override
+        public void apply(ProjectContext context) {
+        }
+    }
+}
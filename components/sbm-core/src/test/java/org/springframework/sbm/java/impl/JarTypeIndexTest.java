@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JarTypeIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsJarProvidingTypeAndPackage() throws IOException {
+        Path jar1 = createJar("one.jar", "com/acme/a/Foo.class", "com/acme/a/Foo$Inner.class", "com/acme/a/package-info.class");
+        Path jar2 = createJar("two.jar", "com/acme/b/Bar.class", "META-INF/versions/11/com/acme/b/Baz.class", "META-INF/MANIFEST.MF");
+        Path cacheDir = tempDir.resolve("cache");
+        JarTypeIndex sut = new JarTypeIndex(cacheDir);
+
+        List<Path> jars = List.of(jar1, jar2);
+        assertThat(sut.findJarProvidingType(jars, "com.acme.a.Foo").jar()).contains(jar1);
+        assertThat(sut.findJarProvidingType(jars, "com.acme.a.Foo$Inner").jar()).contains(jar1);
+        assertThat(sut.findJarProvidingType(jars, "com.acme.b.Baz").jar()).contains(jar2);
+        assertThat(sut.findJarProvidingType(jars, "com.acme.a.package-info").jar()).isEmpty();
+        assertThat(sut.findJarProvidingType(jars, "com.acme.b.Ba").jar()).isEmpty();
+        assertThat(sut.containsPackage(jars, "com.acme.b")).isTrue();
+        assertThat(sut.containsPackage(jars, "com.acme")).isFalse();
+        assertThat(Files.list(cacheDir)).hasSize(2);
+    }
+
+    @Test
+    void indexIsSharedByJarsWithSameContent() throws IOException {
+        Path jar1 = createJar("one.jar", "com/acme/Foo.class");
+        Path jar2 = createJar("copy.jar", "com/acme/Foo.class");
+        Path cacheDir = tempDir.resolve("cache");
+
+        new JarTypeIndex(cacheDir).index(List.of(jar1, jar2));
+
+        assertThat(Files.list(cacheDir)).hasSize(1);
+        assertThat(new JarTypeIndex(cacheDir).findJarProvidingType(List.of(jar2), "com.acme.Foo").jar()).contains(jar2);
+    }
+
+    @Test
+    void modifiedJarIsReindexed() throws IOException {
+        Path jar = createJar("one.jar", "com/acme/Foo.class");
+        JarTypeIndex sut = new JarTypeIndex(tempDir.resolve("cache"));
+        assertThat(sut.findJarProvidingType(List.of(jar), "com.acme.Bar").jar()).isEmpty();
+
+        createJar("one.jar", "com/acme/Foo.class", "com/acme/Bar.class");
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(0));
+        assertThat(sut.findJarProvidingType(List.of(jar), "com.acme.Bar").jar()).isEmpty();
+
+        assertThat(sut.refresh(List.of(jar))).isTrue();
+        assertThat(sut.findJarProvidingType(List.of(jar), "com.acme.Bar").jar()).contains(jar);
+    }
+
+    @Test
+    void lookupIsUnknownIfJarCannotBeIndexed() throws IOException {
+        Path jar = createJar("one.jar", "com/acme/Foo.class");
+        Path missingJar = tempDir.resolve("missing.jar");
+        JarTypeIndex sut = new JarTypeIndex(tempDir.resolve("cache"));
+
+        JarTypeIndex.TypeLookup found = sut.findJarProvidingType(List.of(missingJar, jar), "com.acme.Foo");
+        JarTypeIndex.TypeLookup notFound = sut.findJarProvidingType(List.of(missingJar, jar), "com.acme.Bar");
+
+        assertThat(found.jar()).contains(jar);
+        assertThat(found.unknown()).isFalse();
+        assertThat(notFound.jar()).isEmpty();
+        assertThat(notFound.unknown()).isTrue();
+        assertThat(sut.findJarProvidingType(List.of(jar), "com.acme.Bar").unknown()).isFalse();
+    }
+
+    private Path createJar(String name, String... entries) throws IOException {
+        Path jar = tempDir.resolve(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.ChangeType;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaSourceIndexTest {
+
+    private static final String ANNOTATION = """
+            package com.example;
+            public @interface Marker {}
+            """;
+
+    private static final String DECLARING = """
+            package com.example;
+            @Marker
+            public class Declaring {}
+            """;
+
+    private static final String REFERENCING = """
+            package com.example;
+            import java.util.ArrayList;
+            public class Referencing {
+                private Declaring declaring;
+                private ArrayList<String> list;
+            }
+            """;
+
+    @Test
+    void indexesDeclaringReferencingUsingAndAnnotatedSources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATION, DECLARING, REFERENCING)
+                .build();
+        JavaSourceIndex index = context.getJavaSourceIndex();
+
+        assertThat(index.findSourceDeclaringType("com.example.Declaring")).map(this::typeName).contains("com.example.Declaring");
+        assertThat(index.findSourceDeclaringType("com.example.Unknown")).isEmpty();
+        assertThat(index.findSourcesReferencingType("com.example.Declaring")).map(this::typeName).containsExactly("com.example.Referencing");
+        assertThat(index.findSourcesUsingType("java.util.ArrayList")).map(this::typeName).containsExactly("com.example.Referencing");
+        // UsesType semantics, a source using a subtype uses the type
+        assertThat(index.findSourcesUsingType("java.util.List")).map(this::typeName).containsExactly("com.example.Referencing");
+        assertThat(index.findSourcesWithTypeAnnotatedWith("com.example.Marker")).map(this::typeName).containsExactly("com.example.Declaring");
+    }
+
+    @Test
+    void indexIsUpdatedAfterResultsWereMerged() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATION, DECLARING, REFERENCING)
+                .build();
+        JavaSourceIndex index = context.getJavaSourceIndex();
+
+        context.getProjectJavaSources().apply(new ChangeType("java.util.ArrayList", "java.util.LinkedList", false));
+
+        assertThat(index.findSourcesUsingType("java.util.ArrayList")).isEmpty();
+        assertThat(index.findSourcesUsingType("java.util.LinkedList")).map(this::typeName).containsExactly("com.example.Referencing");
+    }
+
+    @Test
+    void deletedSourcesAreRemovedFromIndex() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATION, DECLARING, REFERENCING)
+                .build();
+        JavaSourceIndex index = context.getJavaSourceIndex();
+
+        index.findSourceDeclaringType("com.example.Declaring").get().delete();
+
+        assertThat(index.findSourceDeclaringType("com.example.Declaring")).isEmpty();
+        assertThat(index.findSourcesWithTypeAnnotatedWith("com.example.Marker")).isEmpty();
+        assertThat(context.getProjectJavaSources().findTypesAnnotatedWith("com.example.Marker")).isEmpty();
+    }
+
+    @Test
+    void indexesInvokedMethods() {
+        String invoking = """
+                package com.example;
+                import java.util.ArrayList;
+                import java.util.List;
+                public class Invoking {
+                    void run(List<String> list) {
+                        list.add("a");
+                        list.forEach(String::trim);
+                        new ArrayList<String>();
+                    }
+                }
+                """;
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(ANNOTATION, DECLARING, REFERENCING, invoking)
+                .build();
+
+        Map<String, List<JavaSource>> matches = context.getJavaSourceIndex().findSourcesInvokingMethods(List.of(
+                "java.util.List add(..)",
+                "java.util.Collection add(java.lang.Object)",
+                "java.lang.String trim()",
+                "java.util.ArrayList <constructor>()",
+                "java.util.List remove(..)",
+                "java.util.List *(..)"));
+
+        assertThat(matches.get("java.util.List add(..)")).map(this::typeName).containsExactly("com.example.Invoking");
+        // FindMethods semantics, overrides are matched
+        assertThat(matches.get("java.util.Collection add(java.lang.Object)")).map(this::typeName).containsExactly("com.example.Invoking");
+        assertThat(matches.get("java.lang.String trim()")).map(this::typeName).containsExactly("com.example.Invoking");
+        assertThat(matches.get("java.util.ArrayList <constructor>()")).map(this::typeName).containsExactly("com.example.Invoking");
+        assertThat(matches.get("java.util.List remove(..)")).isEmpty();
+        assertThat(matches.get("java.util.List *(..)")).map(this::typeName).containsExactly("com.example.Invoking");
+        assertThat(context.getProjectJavaSources().findMethodCalls("java.util.List add(..)")).hasSize(1);
+    }
+
+    private String typeName(JavaSource javaSource) {
+        return javaSource.getTypes().get(0).getFullyQualifiedName();
+    }
+}
@@ -363,6 +363,58 @@ class OpenRewriteTypeTest {
         );
     }
 
+    @Test
+    void testAddMethods() {
+        String template1 =
+                "@Bean\n" +
+                "IntegrationFlow http_routeFlow() {\n" +
+                "return IntegrationFlows.from(Http.inboundChannelAdapter(\"/test\")).handle((p, h) -> p)\n" +
+                ".get();\n" +
+                "}\n";
+        String template2 =
+                "@Bean\n" +
+                "IntegrationFlow logging() {\n" +
+                "return flow -> flow.log(LoggingHandler.Level.INFO);\n" +
+                "}\n";
+
+        Set<String> requiredImports = Set.of("org.springframework.integration.handler.LoggingHandler",
+                "org.springframework.integration.dsl.IntegrationFlow",
+                "org.springframework.integration.dsl.IntegrationFlows",
+                "org.springframework.context.annotation.Bean",
+                "org.springframework.integration.http.dsl.Http");
+
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withBuildFileHavingDependencies("org.springframework.boot:spring-boot-starter-integration:2.5.5",
+                        "org.springframework.boot:spring-boot-starter-web:2.5.5",
+                        "org.springframework.integration:spring-integration-http:5.4.4")
+                .withJavaSource("src/main/java/Config.java", "public class Config {}")
+                .build();
+
+        Type type = context.getProjectJavaSources().list().get(0).getTypes().get(0);
+        type.addMethods(List.of(template1, template2), requiredImports);
+
+        assertThat(context.getProjectJavaSources().list().get(0).print()).isEqualTo(
+                "import org.springframework.context.annotation.Bean;\n" +
+                        "import org.springframework.integration.dsl.IntegrationFlow;\n" +
+                        "import org.springframework.integration.dsl.IntegrationFlows;\n" +
+                        "import org.springframework.integration.handler.LoggingHandler;\n" +
+                        "import org.springframework.integration.http.dsl.Http;\n" +
+                        "\n" +
+                        "public class Config {\n" +
+                        "    @Bean\n" +
+                        "    IntegrationFlow http_routeFlow() {\n" +
+                        "        return IntegrationFlows.from(Http.inboundChannelAdapter(\"/test\")).handle((p, h) -> p)\n" +
+                        "                .get();\n" +
+                        "    }\n" +
+                        "\n" +
+                        "    @Bean\n" +
+                        "    IntegrationFlow logging() {\n" +
+                        "        return flow -> flow.log(LoggingHandler.Level.INFO);\n" +
+                        "    }\n" +
+                        "}"
+        );
+    }
+
     @Test
     void testRemoveSomeImplements() {
         final String sourceCode =
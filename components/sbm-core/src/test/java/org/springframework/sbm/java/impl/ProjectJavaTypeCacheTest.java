@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectJavaTypeCacheTest {
+
+    private final ClasspathTypeCache classpathTypeCache = ClasspathTypeCache.getInstance();
+
+    @BeforeEach
+    @AfterEach
+    void clearSharedCache() {
+        classpathTypeCache.clear();
+        classpathTypeCache.setMaximumSize(250_000);
+    }
+
+    @Test
+    void jdkTypesAreSharedAndProjectTypesAreNot() {
+        ProjectJavaTypeCache cache1 = new ProjectJavaTypeCache();
+        ProjectJavaTypeCache cache2 = new ProjectJavaTypeCache();
+        Object listType = new Object();
+        Object projectType = new Object();
+
+        cache1.put("java.util.List<java.lang.String>", listType);
+        cache1.put("com.acme.Foo", projectType);
+        cache1.put("java.util.List<Template>", new Object());
+
+        assertThat((Object) cache2.get("java.util.List<java.lang.String>")).isNull();
+        cache1.publishClasspathTypes();
+
+        assertThat((Object) cache2.get("java.util.List<java.lang.String>")).isSameAs(listType);
+        assertThat((Object) cache2.get("com.acme.Foo")).isNull();
+        assertThat((Object) cache2.get("java.util.List<Template>")).isNull();
+        assertThat((Object) cache1.get("com.acme.Foo")).isSameAs(projectType);
+
+        cache1.clear();
+
+        assertThat((Object) cache1.get("com.acme.Foo")).isNull();
+        assertThat((Object) cache1.get("java.util.List<java.lang.String>")).isSameAs(listType);
+    }
+
+    @Test
+    void leastRecentlyUsedTypesAreEvicted() {
+        classpathTypeCache.setMaximumSize(2);
+        ProjectJavaTypeCache cache = new ProjectJavaTypeCache();
+
+        cache.put("java.lang.String", new Object());
+        cache.put("java.lang.Integer", new Object());
+        cache.publishClasspathTypes();
+        ProjectJavaTypeCache otherCache = new ProjectJavaTypeCache();
+        otherCache.get("java.lang.String");
+        cache.put("java.lang.Long", new Object());
+        cache.publishClasspathTypes();
+
+        assertThat((Object) otherCache.get("java.lang.Integer")).isNull();
+        assertThat((Object) otherCache.get("java.lang.String")).isNotNull();
+        ClasspathTypeCache.Statistics statistics = classpathTypeCache.getStatistics();
+        assertThat(statistics.getSize()).isEqualTo(2);
+        assertThat(statistics.getEvictions()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void parsersShareJdkTypes() {
+        String source = "class A { java.util.List<String> list; }";
+
+        ProjectJavaTypeCache firstTypeCache = new ProjectJavaTypeCache();
+        JavaParser.fromJavaVersion().typeCache(firstTypeCache).build().parse(source);
+        firstTypeCache.publishClasspathTypes();
+        assertThat(classpathTypeCache.size()).isGreaterThan(0);
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().typeCache(new ProjectJavaTypeCache()).build().parse(source).get(0);
+
+        JavaType.FullyQualified type = cu.getClasses().get(0).getType();
+        assertThat(type.getFullyQualifiedName()).isEqualTo("A");
+        assertThat(classpathTypeCache.getStatistics().getHits()).isGreaterThan(0);
+    }
+
+    @Test
+    void classpathTypesAreSharedByParsersWithSameClasspath(@TempDir Path tempDir) throws IOException {
+        Path jar = tempDir.resolve("acme.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("com/acme/Foo.class"));
+            out.closeEntry();
+        }
+        ProjectJavaTypeCache cache = new ProjectJavaTypeCache(List.of(jar));
+        Object fooType = new Object();
+
+        cache.put("com.acme.Foo", fooType);
+        cache.publishClasspathTypes();
+
+        assertThat((Object) new ProjectJavaTypeCache(List.of(jar)).get("com.acme.Foo")).isSameAs(fooType);
+        assertThat((Object) new ProjectJavaTypeCache().get("com.acme.Foo")).isNull();
+
+        classpathTypeCache.clearClasspathTypes();
+
+        assertThat((Object) new ProjectJavaTypeCache(List.of(jar)).get("com.acme.Foo")).isNull();
+    }
+}
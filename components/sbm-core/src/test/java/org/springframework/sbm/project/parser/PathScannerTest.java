@@ -16,11 +16,12 @@
 package org.springframework.sbm.project.parser;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.core.io.DefaultResourceLoader;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
-import org.springframework.sbm.project.resource.ResourceHelper;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -44,7 +45,7 @@ class PathScannerTest {
 
         SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
         sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/foo.bar"));
-        PathScanner sut = new PathScanner(sbmApplicationProperties, new ResourceHelper(new DefaultResourceLoader()));
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
         List<Resource> resources = sut.scan(Path.of(TESTCODE_DIR).toAbsolutePath().normalize());
         assertThat(resources).hasSize(3);
     }
@@ -54,10 +55,60 @@ class PathScannerTest {
 
         SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
         sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/*.xslt", "**/*.wsdl"));
-        PathScanner sut = new PathScanner(sbmApplicationProperties, new ResourceHelper(new DefaultResourceLoader()));
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
         List<Resource> resources = sut.scan(Path.of(TESTCODE_DIR).toAbsolutePath().normalize());
 
         assertThat(resources).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    void prunesIgnoredDirectoriesAndHonorsGitignore(@TempDir Path projectRoot) throws IOException {
+        createFile(projectRoot, "pom.xml");
+        createFile(projectRoot, ".gitignore", "*.log\ngenerated/\n");
+        createFile(projectRoot, "app.log");
+        createFile(projectRoot, "module/src/main/java/A.java");
+        createFile(projectRoot, "module/generated/B.java");
+        createFile(projectRoot, "module/node_modules/lib/index.js");
+        createFile(projectRoot, "module/target/classes/A.class");
+        createFile(projectRoot, "module/.gitignore", "!keep.log\n");
+        createFile(projectRoot, "module/keep.log");
+
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/target/**", "**/node_modules/**"));
+        sbmApplicationProperties.setGitignoreSupportEnabled(true);
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
+        List<Resource> resources = sut.scan(projectRoot);
+
+        assertThat(resources).extracting(r -> projectRoot.relativize(r.getFile().toPath()).toString())
+                .containsExactly(
+                        ".gitignore",
+                        "module/.gitignore",
+                        "module/keep.log",
+                        "module/src/main/java/A.java",
+                        "pom.xml"
+                );
+    }
+
+    @Test
+    void gitignoreIsNotHonoredByDefault(@TempDir Path projectRoot) throws IOException {
+        createFile(projectRoot, ".gitignore", "*.log\n");
+        createFile(projectRoot, "app.log");
+
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        PathScanner sut = new PathScanner(sbmApplicationProperties);
+        List<Resource> resources = sut.scan(projectRoot);
+
+        assertThat(resources).hasSize(2);
+    }
+
+    private void createFile(Path projectRoot, String path) throws IOException {
+        createFile(projectRoot, path, "");
+    }
+
+    private void createFile(Path projectRoot, String path, String content) throws IOException {
+        Path file = projectRoot.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+}
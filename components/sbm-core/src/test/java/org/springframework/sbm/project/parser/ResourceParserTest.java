@@ -24,6 +24,8 @@ import org.mockito.ArgumentCaptor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.SourceFile;
+import org.openrewrite.json.tree.Json;
+import org.openrewrite.quark.Quark;
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextParser;
 import org.openrewrite.tree.ParsingExecutionContextView;
@@ -32,6 +34,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.sbm.engine.events.StartedScanningProjectResourceEvent;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
 import org.springframework.sbm.project.TestDummyResource;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.properties.parser.RewritePropertiesParser;
 import org.springframework.sbm.xml.parser.RewriteXmlParser;
 
@@ -41,13 +45,18 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 
 class ResourceParserTest {
@@ -58,6 +67,7 @@ class ResourceParserTest {
     private Path resourceDirPath = Path.of("src/main/resources");
     private Set<Path> resourcePaths = Set.of(resourceDirPath);
     private ExecutionContext executionContext = new RewriteExecutionContext();
+    private SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
 
     @BeforeEach
     void beforeEach() {
@@ -69,7 +79,8 @@ class ResourceParserTest {
                 new RewritePlainTextParser(),
                 new ResourceParser.ResourceFilter(),
                 eventPublisher,
-                executionContext
+                executionContext,
+                sbmApplicationProperties
                 );
     }
 
@@ -89,6 +100,53 @@ class ResourceParserTest {
         assertCorrectParsing(filename, content, Class.forName(className), parsedResources);
     }
 
+    @Test
+    void resourcesMatchingDeferredParsingPatternsAreParsedOnFirstAccess() {
+        sbmApplicationProperties.setDeferredParsingPathsPatterns(List.of("**/*.json"));
+        List<Resource> resources = getResourceAsList("some.json", "{}");
+
+        List<SourceFile> parsedResources = sut.parse(baseDir, resources, new ArrayList<>());
+
+        assertThat(parsedResources.get(0)).isInstanceOf(Quark.class);
+        assertThat(parsedResources.get(0).getSourcePath()).isEqualTo(resourceDirPath.resolve("some.json"));
+        assertThat(parsedResources.get(0).getChecksum().getAlgorithm()).isEqualTo("SHA-256");
+        verifyNoInteractions(eventPublisher);
+
+        RewriteSourceFileHolder<SourceFile> holder = new RewriteSourceFileHolder<>(baseDir, parsedResources.get(0));
+        assertThat(holder.isParsingDeferred()).isTrue();
+        assertThat(holder.getType()).isEqualTo(Json.Document.class);
+        UUID id = holder.getId();
+
+        assertCorrectParsing("some.json", "{}", Json.Document.class, List.of(holder.getSourceFile()));
+        assertThat(holder.isParsingDeferred()).isFalse();
+        assertThat(holder.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void deferredTestResourceWhichCannotBeParsedIsParsedAsPlainText() {
+        sut = createResourceParserWithFailingJsonParser();
+        sbmApplicationProperties.setDeferredParsingPathsPatterns(List.of("**/*.json"));
+        Path absolutePath = baseDir.resolve("src/test/resources/broken.json");
+
+        List<SourceFile> parsedResources = sut.parse(baseDir, List.of(new TestDummyResource(absolutePath, "{")), new ArrayList<>());
+
+        RewriteSourceFileHolder<SourceFile> holder = new RewriteSourceFileHolder<>(baseDir, parsedResources.get(0));
+        assertThat(holder.getSourceFile()).isInstanceOf(PlainText.class);
+        assertThat(holder.print()).isEqualTo("{");
+    }
+
+    @Test
+    void deferredResourceWhichCannotBeParsedFailsOnFirstAccess() {
+        sut = createResourceParserWithFailingJsonParser();
+        sbmApplicationProperties.setDeferredParsingPathsPatterns(List.of("**/*.json"));
+        Path absolutePath = baseDir.resolve("src/main/resources/broken.json");
+
+        List<SourceFile> parsedResources = sut.parse(baseDir, List.of(new TestDummyResource(absolutePath, "{")), new ArrayList<>());
+
+        RewriteSourceFileHolder<SourceFile> holder = new RewriteSourceFileHolder<>(baseDir, parsedResources.get(0));
+        assertThatThrownBy(holder::getSourceFile).hasMessage("broken");
+    }
+
     // TODO: If this test fails RewritePlainTextParser.parseInputs() can be removed because PlainTextParser then publishes parser events
     @Test
     void originalPlainTextParserSholdPublishParserEvents() throws InterruptedException {
@@ -115,6 +173,23 @@ class ResourceParserTest {
         assertThat(parsedSourceFile.get()).isSameAs(parsedResources.get(0));
     }
 
+    private ResourceParser createResourceParserWithFailingJsonParser() {
+        RewriteJsonParser jsonParser = mock(RewriteJsonParser.class);
+        when(jsonParser.accept(any(Parser.Input.class))).thenReturn(true);
+        when(jsonParser.parseInputs(any(), any(), any())).thenThrow(new IllegalStateException("broken"));
+        return new ResourceParser(
+                jsonParser,
+                new RewriteXmlParser(),
+                new RewriteYamlParser(),
+                new RewritePropertiesParser(),
+                new RewritePlainTextParser(),
+                new ResourceParser.ResourceFilter(),
+                eventPublisher,
+                executionContext,
+                sbmApplicationProperties
+        );
+    }
+
     @NotNull
     private List<Resource> getResourceAsList(String filename, String jsonContent) {
         Path sourcePath = resourceDirPath.resolve(filename);
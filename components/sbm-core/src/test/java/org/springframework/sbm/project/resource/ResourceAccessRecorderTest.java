@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceAccessRecorderTest {
+
+    private final Path projectRoot = Path.of("/project").toAbsolutePath();
+
+    private RewriteSourceFileHolder<Properties.File> createResource(String path) {
+        Properties.File file = new PropertiesParser().parse("a=b").get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(projectRoot, file);
+    }
+
+    @Test
+    void resultStaysValidUntilReadResourceIsModified() {
+        RewriteSourceFileHolder<Properties.File> read = createResource("read.properties");
+        RewriteSourceFileHolder<Properties.File> notRead = createResource("not-read.properties");
+        ProjectResourceSet projectResources = new ProjectResourceSet(List.<RewriteSourceFileHolder<? extends SourceFile>>of(read, notRead));
+
+        RecordedResourceAccess<String> recorded = ResourceAccessRecorder.record(projectResources, read::print);
+
+        assertThat(recorded.getResult()).isEqualTo("a=b");
+        assertThat(recorded.getNumberOfReadResources()).isEqualTo(1);
+        assertThat(recorded.isValidFor(projectResources)).isTrue();
+
+        notRead.markAsChanged();
+        assertThat(recorded.isValidFor(projectResources)).isTrue();
+
+        read.markAsChanged();
+        assertThat(recorded.isValidFor(projectResources)).isFalse();
+    }
+
+    @Test
+    void resultIsInvalidWhenResourcesAreAddedOrMoved() {
+        RewriteSourceFileHolder<Properties.File> resource = createResource("a.properties");
+        ProjectResourceSet projectResources = new ProjectResourceSet(List.<RewriteSourceFileHolder<? extends SourceFile>>of(resource));
+
+        RecordedResourceAccess<Integer> recorded = ResourceAccessRecorder.record(projectResources, projectResources::size);
+        assertThat(recorded.getNumberOfReadResources()).isZero();
+
+        projectResources.add(createResource("b.properties"));
+        assertThat(recorded.isValidFor(projectResources)).isFalse();
+
+        recorded = ResourceAccessRecorder.record(projectResources, projectResources::size);
+        resource.moveTo(Path.of("c.properties"));
+        assertThat(recorded.isValidFor(projectResources)).isFalse();
+    }
+
+    @Test
+    void resultDependsOnAllResourcesOfRecordedType() {
+        RewriteSourceFileHolder<Properties.File> first = createResource("first.properties");
+        RewriteSourceFileHolder<Properties.File> second = createResource("second.properties");
+        ProjectResourceSet projectResources = new ProjectResourceSet(List.<RewriteSourceFileHolder<? extends SourceFile>>of(first, second));
+
+        RecordedResourceAccess<String> recorded = ResourceAccessRecorder.record(projectResources, () -> {
+            ResourceAccessRecorder.recordTypeAccess(Properties.File.class);
+            return "answered by an index";
+        });
+
+        assertThat(recorded.getNumberOfReadResources()).isEqualTo(2);
+        second.markAsChanged();
+        assertThat(recorded.isValidFor(projectResources)).isFalse();
+    }
+
+    @Test
+    void nestedRecordingsAreAlsoRecordedByOuterRecording() {
+        RewriteSourceFileHolder<Properties.File> inner = createResource("inner.properties");
+        RewriteSourceFileHolder<Properties.File> outer = createResource("outer.properties");
+        ProjectResourceSet projectResources = new ProjectResourceSet(List.<RewriteSourceFileHolder<? extends SourceFile>>of(inner, outer));
+
+        RecordedResourceAccess<Integer> recorded = ResourceAccessRecorder.record(projectResources, () -> {
+            outer.getSourceFile();
+            return ResourceAccessRecorder.record(projectResources, inner::getSourceFile).getNumberOfReadResources();
+        });
+
+        assertThat(recorded.getResult()).isEqualTo(1);
+        assertThat(recorded.getNumberOfReadResources()).isEqualTo(2);
+    }
+}
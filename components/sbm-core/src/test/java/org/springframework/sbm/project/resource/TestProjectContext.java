@@ -23,7 +23,6 @@ import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.Order;
-import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
 import org.springframework.sbm.engine.context.ProjectContext;
@@ -234,13 +233,12 @@ public class TestProjectContext {
 
     public static ProjectContext buildFromDir(Path of) {
         final Path absoluteProjectRoot = of.toAbsolutePath().normalize();
-        ResourceHelper resourceHelper = new ResourceHelper(new DefaultResourceLoader());
         SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
         List<String> ignorePatterns = List.of(
                 "sbm.ignoredPathsPatterns=**/.git/**,**/target/**,**/build/**,**/.gradle/**,**/.idea/**,**/.mvn/**,**/mvnw/**,**/.gitignore.,**/out/**,**/lib/**,**/*.iml,**/node_modules/**".split(
                         "\\."));
         sbmApplicationProperties.setIgnoredPathsPatterns(ignorePatterns);
-        PathScanner pathScanner = new PathScanner(sbmApplicationProperties, resourceHelper);
+        PathScanner pathScanner = new PathScanner(sbmApplicationProperties);
         List<Resource> scan = pathScanner.scan(absoluteProjectRoot);
         Builder builder = TestProjectContext.buildProjectContext();
         scan.forEach(r -> {
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.properties.api;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertiesSourceTest {
+
+    private PropertiesSource createPropertiesSource(String source) {
+        Properties.File file = new PropertiesParser().parse(source).get(0).withSourcePath(Path.of("application.properties"));
+        return new PropertiesSource(Path.of("/project").toAbsolutePath(), new RewriteExecutionContext(), file);
+    }
+
+    @Test
+    void propertiesAreReadFromIndex() {
+        PropertiesSource sut = createPropertiesSource("""
+                # comment
+                server.port=8080
+                spring.application.name=app
+                """);
+
+        assertThat(sut.getProperty("server.port")).contains("8080");
+        assertThat(sut.getProperty("server")).isEmpty();
+        assertThat(sut.getProperties()).containsEntry("spring.application.name", "app").hasSize(2);
+    }
+
+    @Test
+    void indexIsUpdatedWhenPropertiesChange() {
+        PropertiesSource sut = createPropertiesSource("""
+                server.port=8080
+                """);
+        assertThat(sut.getProperty("server.port")).contains("8080");
+
+        sut.setProperty("server.port", "9090");
+        sut.setProperty("server.address", "localhost");
+        sut.renameProperty("server.port", "management.server.port");
+
+        assertThat(sut.getProperty("server.port")).isEmpty();
+        assertThat(sut.getProperty("management.server.port")).contains("9090");
+        assertThat(sut.getProperty("server.address")).contains("localhost");
+        assertThat(sut.getProperties()).containsOnlyKeys("management.server.port", "server.address");
+    }
+
+    @Test
+    void modifyingReturnedPropertiesDoesNotChangeTheIndex() {
+        PropertiesSource sut = createPropertiesSource("""
+                server.port=8080
+                """);
+
+        sut.getProperties().setProperty("server.port", "1");
+
+        assertThat(sut.getProperties().getProperty("server.port")).isEqualTo("8080");
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.scopes;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProjectScopesTest {
+
+    private final ScanScope scanScope = new ScanScope();
+    private final ExecutionScope executionScope = new ExecutionScope();
+    private final ProjectContextHolder projectContextHolder = new ProjectContextHolder();
+    private final ProjectScopes sut = new ProjectScopes(scanScope, executionScope, projectContextHolder);
+
+    private final Path projectA = Path.of("target/project-a");
+    private final Path projectB = Path.of("target/project-b");
+
+    @Test
+    void scopedBeansAreKeptPerProject() {
+        Object beanOfA = sut.callInProject(projectA, () -> scanScope.get("bean", Object::new));
+        Object beanOfB = sut.callInProject(projectB, () -> scanScope.get("bean", Object::new));
+        Object defaultBean = scanScope.get("bean", Object::new);
+
+        assertThat(beanOfA).isNotSameAs(beanOfB).isNotSameAs(defaultBean);
+        assertThat(sut.callInProject(projectA, () -> scanScope.get("bean", Object::new))).isSameAs(beanOfA);
+        assertThat(scanScope.get("bean", Object::new)).isSameAs(defaultBean);
+        assertThat(sut.callInProject(projectA, scanScope::getConversationId)).isEqualTo(projectA.toAbsolutePath().normalize().toString());
+        assertThat(scanScope.getConversationId()).isNull();
+    }
+
+    @Test
+    void projectContextAndClasspathAreKeptPerProject() {
+        ProjectContext contextOfA = mock(ProjectContext.class);
+        sut.callInProject(projectA, () -> {
+            projectContextHolder.setProjectContext(contextOfA);
+            return null;
+        });
+
+        assertThat(sut.callInProject(projectA, projectContextHolder::getProjectContext)).isSameAs(contextOfA);
+        assertThat(sut.callInProject(projectB, projectContextHolder::getProjectContext)).isNull();
+        assertThat(projectContextHolder.getProjectContext()).isNull();
+        assertThat(sut.callInProject(projectA, ClasspathRegistry::getInstance)).isNotSameAs(ClasspathRegistry.getInstance());
+    }
+
+    @Test
+    void endingProjectRemovesEverythingKeptForIt() {
+        Object beanOfA = sut.callInProject(projectA, () -> {
+            projectContextHolder.setProjectContext(mock(ProjectContext.class));
+            return executionScope.get("bean", Object::new);
+        });
+        ClasspathRegistry registryOfA = sut.callInProject(projectA, ClasspathRegistry::getInstance);
+
+        sut.end(projectA);
+
+        assertThat(sut.callInProject(projectA, () -> executionScope.get("bean", Object::new))).isNotSameAs(beanOfA);
+        assertThat(sut.callInProject(projectA, projectContextHolder::getProjectContext)).isNull();
+        assertThat(sut.callInProject(projectA, ClasspathRegistry::getInstance)).isNotSameAs(registryOfA);
+        sut.end(projectA);
+    }
+
+    @Test
+    void callsForProjectAreSerializedWhileProjectEnds() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                boolean end = i % 4 == 0;
+                calls.add(executor.submit(() -> {
+                    if (end) {
+                        sut.end(projectA);
+                    } else {
+                        sut.callInProject(projectA, () -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                            return running.decrementAndGet();
+                        });
+                    }
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxRunning).hasValue(1);
+    }
+}
@@ -18,6 +18,7 @@ package org.springframework.sbm.boot.upgrade_27_30.report;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -27,15 +28,17 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Action;
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.scopes.ScopeConversation;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -46,6 +49,8 @@ import java.util.stream.Stream;
  * After being deserialized from {@code YAML}, the Action renders the {@link SpringBootUpgradeReportSection}s
  * as Asciidoctor and adds it into an Asciidoctor report template.
  * The Asciidoctor report is then rendered to HTML and written to {@code filename}.html in the project directory.
+ * The freemarker templates are compiled once, the sections are rendered concurrently
+ * if {@code sbm.parallelReportRenderingEnabled} is set.
  *
  * @author Fabian Krüger
  */
@@ -60,7 +65,11 @@ public class SpringBootUpgradeReportAction implements Action {
      * Provides data to render header and footer.
      */
     public interface DataProvider {
-        Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections);
+        /**
+         * @param sections all sections of the report
+         * @param renderedSections the sections which applied to the {@code context} and were rendered
+         */
+        Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections, List<SpringBootUpgradeReportSection> renderedSections);
     }
 
     @NotNull
@@ -87,6 +96,15 @@ public class SpringBootUpgradeReportAction implements Action {
     @Autowired
     private SpringBootUpgradeReportFreemarkerSupport freemarkerSupport;
 
+    @JsonIgnore
+    @Autowired(required = false)
+    private SbmApplicationProperties sbmApplicationProperties;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CompiledTemplates compiledTemplates;
+
     @Valid
     List<SpringBootUpgradeReportSection> sections;
 
@@ -94,7 +112,7 @@ public class SpringBootUpgradeReportAction implements Action {
     @Autowired
     private DataProvider dataProvider = new DataProvider() {
         @Override
-        public Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections) {
+        public Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections, List<SpringBootUpgradeReportSection> renderedSections) {
             return Map.of();
         }
     };
@@ -115,28 +133,46 @@ public class SpringBootUpgradeReportAction implements Action {
         return condition;
     }
 
+    /**
+     * Compiles the templates of the report and its sections, they're compiled on first apply otherwise.
+     */
+    public void compileTemplates() {
+        sections.forEach(SpringBootUpgradeReportSection::compileTemplate);
+        compiledTemplates = new CompiledTemplates(
+                freemarkerSupport.compileTemplate("header", header == null ? "" : header),
+                freemarkerSupport.compileTemplate("footer", footer == null ? "" : footer),
+                freemarkerSupport.compileTemplate("report", REPORT_TEMPLATE)
+        );
+    }
+
     @Override
     public void apply(ProjectContext context) {
+        if (compiledTemplates == null) {
+            compileTemplates();
+        }
+        CompiledTemplates templates = compiledTemplates;
 
+        // every section evaluates its helper once and renders it in the same task, helpers keep the evaluated data
+        String conversationId = ScopeConversation.current().orElse(null);
+        Stream<SpringBootUpgradeReportSection> sectionStream = isParallelRenderingEnabled() ? sections.parallelStream() : sections.stream();
+        List<RenderedSection> renderedSections = sectionStream
+                .map(section -> ScopeConversation.callIn(conversationId, () -> section.renderIfApplicable(context).map(content -> new RenderedSection(section, content))))
+                .flatMap(Optional::stream)
+                .toList();
 
-        List<String> renderedSections = new ArrayList<>();
-        sections.stream()
-                .filter(s -> s.shouldRender(context))
-                .forEach(section -> {
-            renderedSections.add(section.render(context));
-        });
-
-        Map<String, Object> data = dataProvider.getData(context, sections);
-        String renderedHeader = renderTemplate("header", header, data);
+        Map<String, Object> data = dataProvider.getData(context, sections, renderedSections.stream().map(RenderedSection::section).toList());
+        String renderedHeader = renderTemplate(templates.header(), data);
 
-        String renderedFooter = renderTemplate("footer", footer, data);
-        String renderedReport = renderReport(renderedHeader, renderedSections, renderedFooter);
+        String renderedFooter = renderTemplate(templates.footer(), data);
+        String renderedReport = renderReport(templates.report(), renderedHeader, renderedSections.stream().map(RenderedSection::content).toList(), renderedFooter);
         upgradeReportProcessor.processReport(renderedReport);
     }
 
-    private String renderReport(String renderedHeader, List<String> sections, String renderedFooter) {
-        String key = "report";
-        String content = """
+    private boolean isParallelRenderingEnabled() {
+        return sbmApplicationProperties != null && sbmApplicationProperties.isParallelReportRenderingEnabled();
+    }
+
+    private static final String REPORT_TEMPLATE = """
                 ${header}
                 
                 ${allRecipesButton}
@@ -148,6 +184,7 @@ public class SpringBootUpgradeReportAction implements Action {
                 ${footer}
                 """;
 
+    private String renderReport(Template report, String renderedHeader, List<String> sections, String renderedFooter) {
         Map<String, Object> data = Map.of(
                 "allRecipesButton", renderRunAllRecipesButton(),
                 "header", renderedHeader,
@@ -155,8 +192,7 @@ public class SpringBootUpgradeReportAction implements Action {
                 "footer", renderedFooter
         );
 
-        String renderedTemplate = renderTemplate(key, content, data);
-        return renderedTemplate;
+        return renderTemplate(report, data);
     }
 
     private String renderRunAllRecipesButton() {
@@ -195,20 +231,21 @@ public class SpringBootUpgradeReportAction implements Action {
 
     }
 
-    private String renderTemplate(String key, String content, Map<String, Object> data) {
-
+    private String renderTemplate(Template template, Map<String, Object> data) {
         try (StringWriter writer = new StringWriter()) {
-            freemarkerSupport.getStringLoader().putTemplate(key, content);
-            Template report = freemarkerSupport.getConfiguration().getTemplate(key);
-            report.process(data, writer);
+            template.process(data, writer);
             return writer.toString();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } catch (TemplateException e) {
+        } catch (IOException | TemplateException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private record CompiledTemplates(Template header, Template footer, Template report) {
+    }
+
+    private record RenderedSection(SpringBootUpgradeReportSection section, String content) {
+    }
+
     @Override
     public void applyInternal(ProjectContext context) {
         apply(context);
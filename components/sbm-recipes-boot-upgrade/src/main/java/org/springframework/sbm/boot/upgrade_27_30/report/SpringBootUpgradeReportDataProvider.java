@@ -32,7 +32,7 @@ import java.util.stream.Collectors;
 @Component
 public class SpringBootUpgradeReportDataProvider implements SpringBootUpgradeReportAction.DataProvider {
     @Override
-    public Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections) {
+    public Map<String, Object> getData(ProjectContext context, @Valid List<SpringBootUpgradeReportSection> sections, List<SpringBootUpgradeReportSection> renderedSections) {
         Map<String, Object> data = new HashMap<>();
 
         data.put("timestamp", Instant.now().toString());
@@ -53,8 +53,7 @@ public class SpringBootUpgradeReportDataProvider implements SpringBootUpgradeRep
             data.put("projectName", context.getBuildFile().getName().get());
         }
 
-        // FIXME: results in all conditons for all sections being evaluated twice
-        data.put("numberOfChanges", sections.stream().filter(s -> s.shouldRender(context)).count());
+        data.put("numberOfChanges", (long) renderedSections.size());
 
         // FIXME: Retrieve Boot version from Finder
         data.put("bootVersion", "2.7.3");
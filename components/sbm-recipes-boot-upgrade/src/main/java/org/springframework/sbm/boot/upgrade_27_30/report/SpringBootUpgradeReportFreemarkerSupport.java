@@ -15,12 +15,14 @@
  */
 package org.springframework.sbm.boot.upgrade_27_30.report;
 
-import freemarker.cache.StringTemplateLoader;
 import freemarker.template.Configuration;
+import freemarker.template.Template;
 import freemarker.template.Version;
 import lombok.Getter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 /**
  * @author Fabian Krüger
  */
@@ -29,13 +31,21 @@ import org.springframework.stereotype.Component;
 class SpringBootUpgradeReportFreemarkerSupport {
 
     private final Configuration configuration;
-    private final StringTemplateLoader stringLoader;
 
     public SpringBootUpgradeReportFreemarkerSupport() {
 
         Version version = new Version("2.3.0");
         configuration = new Configuration(version);
-        stringLoader = new StringTemplateLoader();
-        configuration.setTemplateLoader(stringLoader);
+    }
+
+    /**
+     * Parses the template {@code content}, the returned {@link Template} can be processed concurrently.
+     */
+    public Template compileTemplate(String name, String content) {
+        try {
+            return new Template(name, content, configuration);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not compile template '%s'".formatted(name), e);
+        }
     }
 }
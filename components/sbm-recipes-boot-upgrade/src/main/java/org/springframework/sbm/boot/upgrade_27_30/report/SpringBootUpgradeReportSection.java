@@ -16,8 +16,9 @@
 package org.springframework.sbm.boot.upgrade_27_30.report;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import freemarker.core.ParseException;
-import freemarker.template.*;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RecordedResourceAccess;
+import org.springframework.sbm.project.resource.ResourceAccessRecorder;
 
 import javax.validation.constraints.NotEmpty;
 import java.io.IOException;
@@ -95,40 +99,74 @@ public class SpringBootUpgradeReportSection {
     @Autowired
     private SpringBootUpgradeReportFreemarkerSupport freemarkerSupport;
 
+    /**
+     * The compiled template, it only depends on the configuration of this section.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Template template;
+
+    /**
+     * The last rendering together with the resources its helper read.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CachedRendering cachedRendering;
+
     public boolean shouldRender(ProjectContext context) {
         return helper.evaluate(context);
     }
 
+    /**
+     * Compiles the template of this section once, it is compiled on first render otherwise.
+     */
+    public void compileTemplate() {
+        template = freemarkerSupport.compileTemplate(getTitle(), buildTemplate());
+    }
 
+    /**
+     * Evaluates the {@link Helper} once and renders this section with its data if the section applies.
+     * <p>
+     * Sections may be rendered concurrently (see {@code sbm.parallelReportRenderingEnabled}), the helper must then only read from the {@link ProjectContext}.
+     * The last rendering is reused as long as the resources read by the helper were not modified and
+     * no resource was added, removed or moved, see {@link ResourceAccessRecorder}.
+     */
+    public Optional<String> renderIfApplicable(ProjectContext context) {
+        ProjectResourceSet projectResources = context.getProjectResources();
+        CachedRendering cached = cachedRendering;
+        if (cached != null && cached.helper() == helper && cached.rendering().isValidFor(projectResources)) {
+            return cached.rendering().getResult();
+        }
+        SpringBootUpgradeReportSectionHelper<?> currentHelper = helper;
+        RecordedResourceAccess<Optional<String>> rendering = ResourceAccessRecorder.record(projectResources, () -> evaluateAndRender(context));
+        cachedRendering = new CachedRendering(currentHelper, rendering);
+        return rendering.getResult();
+    }
 
-    public String render(ProjectContext context) {
-        if (getHelper().evaluate(context)) {
-            Map<String, ?> params = getHelper().getData();
-
-            try (StringWriter writer = new StringWriter()) {
-                String templateContent = buildTemplate();
-                renderTemplate(params, writer, templateContent);
-                return writer.toString();
-            } catch (TemplateException e) {
-                throw new RuntimeException(e);
-            } catch (TemplateNotFoundException e) {
-                throw new RuntimeException(e);
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            } catch (MalformedTemplateNameException e) {
-                throw new RuntimeException(e);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+    private Optional<String> evaluateAndRender(ProjectContext context) {
+        if (!getHelper().evaluate(context)) {
+            return Optional.empty();
         }
-        throw new IllegalArgumentException("Could not render Section '"+ getTitle()+"', evaluating the context returned false");
+        return Optional.of(renderTemplate(getHelper().getData()));
     }
 
-    private void renderTemplate(Map<String, ?> params, StringWriter writer, String templateContent) throws IOException, TemplateException {
-        String templateName = getTitle().replace(" ", "") + UUID.randomUUID();
-        freemarkerSupport.getStringLoader().putTemplate(templateName, templateContent);
-        Template t = freemarkerSupport.getConfiguration().getTemplate(templateName);
-        t.process(params, writer);
+    public String render(ProjectContext context) {
+        return renderIfApplicable(context)
+                .orElseThrow(() -> new IllegalArgumentException("Could not render Section '"+ getTitle()+"', evaluating the context returned false"));
+    }
+
+    private String renderTemplate(Map<String, ?> params) {
+        if (template == null) {
+            compileTemplate();
+        }
+        try (StringWriter writer = new StringWriter()) {
+            template.process(params, writer);
+            return writer.toString();
+        } catch (TemplateException | IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @NotNull
@@ -150,6 +188,9 @@ public class SpringBootUpgradeReportSection {
         return sb.toString();
     }
 
+    private record CachedRendering(SpringBootUpgradeReportSectionHelper<?> helper, RecordedResourceAccess<Optional<String>> rendering) {
+    }
+
     private void renderRemediationSubSection(StringBuilder sb) {
         renderRemediationTitle(sb);
         renderRemediationDescription(sb);
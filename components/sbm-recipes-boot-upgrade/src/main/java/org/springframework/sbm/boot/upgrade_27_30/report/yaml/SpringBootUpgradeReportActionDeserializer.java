@@ -52,6 +52,7 @@ public class SpringBootUpgradeReportActionDeserializer implements ActionDeserial
         SpringBootUpgradeReportAction action = (SpringBootUpgradeReportAction) tolerantObjectMapper.convertValue(node, actionClass);
         beanFactory.autowireBean(action);
         action.getSections().stream().forEach(s -> beanFactory.autowireBean(s));
+        action.compileTemplates();
         return action;
     }
 
@@ -25,6 +25,7 @@ import org.springframework.sbm.boot.properties.SpringApplicationPropertiesPathMa
 import org.springframework.sbm.boot.properties.SpringBootApplicationPropertiesRegistrar;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.TestProjectContext;
 import org.springframework.sbm.test.RecipeIntegrationTestSupport;
 import org.w3c.dom.NodeList;
@@ -34,6 +35,10 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -226,6 +231,58 @@ class SpringBootUpgradeReportActionTest {
         }
     }
 
+    @Test
+    void parallelRenderingKeepsDeclaredOrderOfSections() {
+        ProjectContext context = TestProjectContext.buildProjectContext().build();
+        List<SpringBootUpgradeReportSection> sections = IntStream.range(0, 20)
+                .mapToObj(this::createSection)
+                .toList();
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setParallelReportRenderingEnabled(true);
+        AtomicReference<String> renderedReport = new AtomicReference<>();
+
+        SpringBootUpgradeReportAction sut = new SpringBootUpgradeReportAction();
+        sut.setFreemarkerSupport(new SpringBootUpgradeReportFreemarkerSupport());
+        sut.setSbmApplicationProperties(sbmApplicationProperties);
+        sut.setUpgradeReportProcessor(renderedReport::set);
+        sut.setDataProvider((ctx, allSections, renderedSections) -> Map.of("changes", renderedSections.size()));
+        sut.setHeader("Changes: ${changes}");
+        sut.setSections(sections);
+        sut.apply(context);
+
+        List<String> renderedTitles = renderedReport.get().lines()
+                .filter(line -> line.startsWith("=== Section"))
+                .toList();
+        assertThat(renderedReport.get()).startsWith("Changes: 10");
+        assertThat(renderedTitles).containsExactly(
+                IntStream.range(0, 20).filter(i -> i % 2 == 0).mapToObj(i -> "=== Section " + i).toArray(String[]::new)
+        );
+        assertThat(renderedReport.get()).contains("Affected section 18 with index 18");
+    }
+
+    private SpringBootUpgradeReportSection createSection(int index) {
+        SpringBootUpgradeReportSection section = new SpringBootUpgradeReportSection();
+        section.setFreemarkerSupport(new SpringBootUpgradeReportFreemarkerSupport());
+        section.setTitle("Section " + index);
+        section.setChange("Change " + index);
+        section.setAffected("Affected section " + index + " with index ${index}");
+        section.setRemediation(new Remediation());
+        section.setHelper(new SpringBootUpgradeReportSectionHelper<Integer>() {
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                // later sections finish first
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20 - index));
+                return index % 2 == 0;
+            }
+
+            @Override
+            public Map<String, Integer> getData() {
+                return Map.of("index", index);
+            }
+        });
+        return section;
+    }
+
     @NotNull
     private List<String> getTextContentOfAllElements(HtmlPage page, String tagName) {
         NodeList nodes = page.getElementsByTagName(tagName);
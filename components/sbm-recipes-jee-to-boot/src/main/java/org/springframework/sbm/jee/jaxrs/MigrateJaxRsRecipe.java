@@ -27,6 +27,7 @@ import org.springframework.sbm.engine.recipe.Recipe;
 import org.springframework.sbm.engine.recipe.RewriteRecipeLoader;
 import org.springframework.sbm.java.JavaRecipeAction;
 import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.java.impl.ProjectJavaTypeCache;
 import org.springframework.sbm.java.migration.actions.ReplaceTypeAction;
 import org.springframework.sbm.java.migration.conditions.HasAnnotation;
 import org.springframework.sbm.java.migration.conditions.HasImportStartingWith;
@@ -38,7 +39,9 @@ import org.springframework.sbm.jee.jaxrs.recipes.SwapCacheControl;
 import org.springframework.sbm.jee.jaxrs.recipes.SwapHttHeaders;
 import org.springframework.sbm.jee.jaxrs.recipes.SwapResponseWithResponseEntity;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 @Configuration
@@ -46,7 +49,10 @@ import java.util.function.Supplier;
 public class MigrateJaxRsRecipe {
 
 
-    private final Supplier<JavaParser> javaParserSupplier = () -> JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
+    private final Supplier<JavaParser> javaParserSupplier = () -> {
+        Set<Path> classpath = ClasspathRegistry.getInstance().getCurrentDependencies();
+        return JavaParser.fromJavaVersion().classpath(classpath).typeCache(new ProjectJavaTypeCache(classpath)).build();
+    };
 
     @Bean
     public Recipe jaxRs(RewriteRecipeLoader rewriteRecipeLoader) {
@@ -116,33 +116,31 @@ public class JavaDSLAction2 extends AbstractAction {
         buildFile.addDependencies(new ArrayList<>(dependencies));
         endProcess();
 
+        List<String> classes = new ArrayList<>();
         if (muleTriggerMeshTransformEnabled) {
             logEvent("Adding TriggerMesh Dataweave payload class");
-            createClass(context, createTmDwPayloadClass(context));
+            classes.add(createTmDwPayloadClass(context));
         }
 
-        logEvent("Adding " + topLevelElements.size() + " methods");
+        // generated code is collected per target and added in one step, every addition reparses the sources
+        List<String> methods = new ArrayList<>();
+        Set<String> requiredImports = new HashSet<>();
         topLevelElements.forEach(topLevelElement -> {
-            flowConfigurationSource.getType().addMethod(
-                    topLevelElement.renderDslSnippet(),
-                    topLevelElement.getRequiredImports()
-            );
-
+            methods.add(topLevelElement.renderDslSnippet());
             if (topLevelElement.hasGeneratedDependentFlows()) {
-                topLevelElement
-                        .generatedDependentFlows()
-                        .forEach(methodContents -> flowConfigurationSource
-                                .getType()
-                                .addMethod(
-                                        methodContents,
-                                        topLevelElement.getRequiredImports()
-                                )
-                        );
-
+                methods.addAll(topLevelElement.generatedDependentFlows());
             }
-
-            createExternalClasses(context, topLevelElement);
+            requiredImports.addAll(topLevelElement.getRequiredImports());
+            classes.addAll(getExternalClasses(topLevelElement));
         });
+
+        logEvent("Adding " + methods.size() + " methods");
+        flowConfigurationSource.getType().addMethods(methods, requiredImports);
+
+        if (!classes.isEmpty()) {
+            logEvent("Adding " + classes.size() + " classes");
+            createClasses(context, classes);
+        }
     }
 
     private void addGenericRequiredDependencies(Set<Dependency> dependencies) {
@@ -156,12 +154,10 @@ public class JavaDSLAction2 extends AbstractAction {
         );
     }
 
-    private void createExternalClasses(ProjectContext context, TopLevelElement topLevelElement) {
-        topLevelElement.getExternalClassContents().stream()
+    private List<String> getExternalClasses(TopLevelElement topLevelElement) {
+        return topLevelElement.getExternalClassContents().stream()
                 .filter(Predicate.not(StringUtils::isEmpty))
-                .forEach(ecc -> {
-                    createClass(context, ecc);
-                });
+                .collect(Collectors.toList());
     }
 
     private List<Dependency> buildDependencies(TopLevelElement snippet) {
@@ -198,10 +194,10 @@ public class JavaDSLAction2 extends AbstractAction {
         return new JavaSourceAndType(javaSource, javaSource.getTypes().get(0));
     }
 
-    private void createClass(ProjectContext projectContext, String content) {
+    private void createClasses(ProjectContext projectContext, List<String> contents) {
         JavaSourceSet mainJavaSourceSet = projectContext.getApplicationModules().getTopmostApplicationModules().get(0).getMainJavaSourceSet();
         String packageName = mainJavaSourceSet.getJavaSourceLocation().getPackageName();
-        mainJavaSourceSet.addJavaSource(projectContext.getProjectRootDirectory(), content, packageName);
+        mainJavaSourceSet.addJavaSources(projectContext.getProjectRootDirectory(), contents, packageName);
     }
 
     private void handleApplicationConfiguration(ProjectContext projectContext,
@@ -15,7 +15,9 @@
  */
 package org.springframework.sbm.mule.api;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.events.ActionLogEvent;
 import org.springframework.sbm.mule.api.toplevel.configuration.ConfigurationTypeAdapter;
 import org.springframework.sbm.mule.api.toplevel.configuration.MuleConfigurations;
 import org.springframework.sbm.mule.api.toplevel.configuration.MuleConfigurationsExtractor;
@@ -23,11 +25,14 @@ import org.springframework.sbm.mule.resource.MuleXml;
 import org.springframework.sbm.mule.resource.MuleXmlProjectResourceFilter;
 import org.springframework.sbm.project.resource.filter.GenericTypeListFilter;
 import org.springframework.sbm.properties.api.PropertiesSource;
+import org.springframework.sbm.scopes.ScopeConversation;
 import lombok.RequiredArgsConstructor;
 import org.mulesoft.schema.mule.core.*;
 import org.springframework.stereotype.Component;
 
 import javax.xml.bind.JAXBElement;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -37,24 +42,42 @@ import java.util.stream.Collectors;
 public class MuleMigrationContextFactory {
 
     private final MuleConfigurationsExtractor muleConfigurationsExtractor;
+    private final ApplicationEventPublisher eventPublisher;
+
     public MuleMigrationContext createMuleMigrationContext(ProjectContext projectContext) {
         List<MuleXml> muleXmls = projectContext.search(new MuleXmlProjectResourceFilter());
-        List<JAXBElement> topLevelElements = findTopLevelElements(muleXmls);
-        Map<String, ? extends ConfigurationTypeAdapter> allAvailableConfigurations = this.findAllAvailableConfigurations(muleXmls);
+        List<MuleType> muleTypes = unmarshal(muleXmls);
+        List<JAXBElement> topLevelElements = findTopLevelElements(muleTypes);
+        Map<String, ? extends ConfigurationTypeAdapter> allAvailableConfigurations = muleConfigurationsExtractor.extractAllConfigurations(muleTypes);
         MuleConfigurations muleConfigurations = new MuleConfigurations(allAvailableConfigurations);
         List<PropertiesSource> propertiesFiles = findAvailablePropertiesFiles(projectContext);
         return new MuleMigrationContext(topLevelElements, muleConfigurations, propertiesFiles);
     }
 
-    private Map<String, ConfigurationTypeAdapter<?>> findAllAvailableConfigurations(List<MuleXml> muleXmls) {
+    /**
+     * Unmarshals the Mule XML files in parallel, the returned types keep the order of {@code muleXmls}.
+     * The files are unmarshalled in the {@link ScopeConversation} of the calling thread, the durations are logged
+     * from the calling thread after all files were unmarshalled.
+     */
+    private List<MuleType> unmarshal(List<MuleXml> muleXmls) {
+        String conversationId = ScopeConversation.current().orElse(null);
+        List<UnmarshalledMuleXml> unmarshalled = muleXmls.parallelStream()
+                .map(muleXml -> ScopeConversation.callIn(conversationId, () -> unmarshal(muleXml)))
+                .collect(Collectors.toList());
+        unmarshalled.forEach(u -> eventPublisher.publishEvent(new ActionLogEvent("Unmarshalled " + u.sourcePath() + " in " + u.duration().toMillis() + " ms")));
+        return unmarshalled.stream()
+                .map(UnmarshalledMuleXml::muleType)
+                .collect(Collectors.toList());
+    }
 
-        List<MuleType> allMuleTypes = muleXmls.stream().map(MuleXml::getMuleType).collect(Collectors.toList());
-        return muleConfigurationsExtractor.extractAllConfigurations(allMuleTypes);
+    private UnmarshalledMuleXml unmarshal(MuleXml muleXml) {
+        long start = System.nanoTime();
+        MuleType muleType = muleXml.getMuleType();
+        return new UnmarshalledMuleXml(muleXml.getSourcePath(), muleType, Duration.ofNanos(System.nanoTime() - start));
     }
 
-    private List<JAXBElement> findTopLevelElements(List<MuleXml> muleXmls) {
-        return muleXmls.stream()
-                .map(MuleXml::getMuleType)
+    private List<JAXBElement> findTopLevelElements(List<MuleType> muleTypes) {
+        return muleTypes.stream()
                 .flatMap(mt -> mt.getBeansOrBeanOrPropertyPlaceholder().stream())
                 .filter(JAXBElement.class::isInstance)
                 .map(JAXBElement.class::cast)
@@ -64,4 +87,7 @@ public class MuleMigrationContextFactory {
     private List<PropertiesSource> findAvailablePropertiesFiles(ProjectContext projectContext) {
         return projectContext.search(new GenericTypeListFilter<>(PropertiesSource.class));
     }
+
+    private record UnmarshalledMuleXml(Path sourcePath, MuleType muleType, Duration duration) {
+    }
 }
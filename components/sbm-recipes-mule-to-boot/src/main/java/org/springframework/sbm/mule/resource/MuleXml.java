@@ -45,14 +45,10 @@ public class MuleXml extends RewriteSourceFileHolder<Xml.Document> {
     private final XPathExpression HOST_XPATH;
     private final XPathExpression PORT_XPATH;
 
-    @Getter
-    private MuleType muleType;
+    private volatile MuleType muleType;
 
     public MuleXml(Path absoluteProjectDir, Xml.Document resource) {
         super(absoluteProjectDir.resolve(resource.getSourcePath()), resource);
-        MuleXmlUnmarshaller muleXmlUnmarshaller = new MuleXmlUnmarshaller();
-        muleType = muleXmlUnmarshaller.unmarshal(print());
-
         try {
             DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = builderFactory.newDocumentBuilder();
@@ -71,6 +67,23 @@ public class MuleXml extends RewriteSourceFileHolder<Xml.Document> {
         }
     }
 
+    /**
+     * The {@link MuleType} is unmarshalled on first access.
+     */
+    public MuleType getMuleType() {
+        MuleType type = muleType;
+        if (type == null) {
+            synchronized (this) {
+                type = muleType;
+                if (type == null) {
+                    type = new MuleXmlUnmarshaller().unmarshal(print());
+                    muleType = type;
+                }
+            }
+        }
+        return type;
+    }
+
     public String getFlowName() {
         return getString(FLOW_NAME_XPATH);
     }
@@ -24,10 +24,40 @@ import javax.xml.bind.Unmarshaller;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 
+/**
+ * Unmarshals Mule XML configurations.
+ *
+ * The {@link JAXBContext} is created once and shared, {@link Unmarshaller}s are not thread-safe and confined to the
+ * thread using them.
+ */
 public class MuleXmlUnmarshaller {
+
+    private static final ThreadLocal<Unmarshaller> UNMARSHALLER = ThreadLocal.withInitial(MuleXmlUnmarshaller::createUnmarshaller);
+
+    private static class JAXBContextHolder {
+        public static final JAXBContext INSTANCE = createJAXBContext();
+    }
+
     public MuleType unmarshal(String xml) {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(
+            JAXBElement<MuleType> unmarshal = (JAXBElement<MuleType>) UNMARSHALLER.get().unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+            return unmarshal.getValue();
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Unmarshaller createUnmarshaller() {
+        try {
+            return JAXBContextHolder.INSTANCE.createUnmarshaller();
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static JAXBContext createJAXBContext() {
+        try {
+            return JAXBContext.newInstance(
                     org.mulesoft.schema.mule.core.ObjectFactory.class,
                     org.mulesoft.schema.mule.amqp.ObjectFactory.class,
                     org.mulesoft.schema.mule.http.ObjectFactory.class,
@@ -35,9 +65,6 @@ public class MuleXmlUnmarshaller {
                     org.mulesoft.schema.mule.ee.dw.ObjectFactory.class,
                     org.mulesoft.schema.mule.scripting.ObjectFactory.class
             );
-            Unmarshaller jc = jaxbContext.createUnmarshaller();
-            JAXBElement<MuleType> unmarshal = (JAXBElement<MuleType>) jc.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-            return unmarshal.getValue();
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
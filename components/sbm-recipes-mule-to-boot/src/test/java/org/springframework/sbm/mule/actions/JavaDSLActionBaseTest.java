@@ -106,7 +106,7 @@ public class JavaDSLActionBaseTest {
                         new MysqlConfigAdapter()
                 )
         );
-        MuleMigrationContextFactory muleMigrationContextFactory = new MuleMigrationContextFactory(new MuleConfigurationsExtractor(configurationTypeAdapterFactory));
+        MuleMigrationContextFactory muleMigrationContextFactory = new MuleMigrationContextFactory(new MuleConfigurationsExtractor(configurationTypeAdapterFactory), eventPublisher);
         myAction = new JavaDSLAction2(muleMigrationContextFactory, topLevelTypeFactories, new RewriteExecutionContext());
         myAction.setEventPublisher(eventPublisher);
 
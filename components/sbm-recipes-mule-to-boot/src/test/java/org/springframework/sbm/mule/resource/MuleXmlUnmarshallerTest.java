@@ -21,6 +21,9 @@ import org.mulesoft.schema.mule.http.InboundEndpointType;
 import org.mulesoft.schema.mule.core.MuleType;
 
 import javax.xml.bind.JAXBElement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -83,4 +86,18 @@ class MuleXmlUnmarshallerTest {
 //                .map(JAXBElement::getValue)
 //                .collect(Collectors.toList())
     }
+
+    @Test
+    void unmarshalMuleXmlsConcurrently() {
+        List<String> flowNames = IntStream.range(0, 32).mapToObj(i -> "flow_" + i).collect(Collectors.toList());
+        MuleXmlUnmarshaller sut = new MuleXmlUnmarshaller();
+
+        List<String> unmarshalledFlowNames = flowNames.parallelStream()
+                .map(name -> "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\"><flow name=\"" + name + "\"/></mule>")
+                .map(sut::unmarshal)
+                .map(muleType -> ((FlowType) ((JAXBElement) muleType.getBeansOrBeanOrPropertyPlaceholder().get(0)).getValue()).getName())
+                .collect(Collectors.toList());
+
+        assertThat(unmarshalledFlowNames).isEqualTo(flowNames);
+    }
 }
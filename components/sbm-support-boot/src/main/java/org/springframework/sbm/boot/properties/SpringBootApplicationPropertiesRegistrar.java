@@ -42,7 +42,7 @@ public class SpringBootApplicationPropertiesRegistrar implements ProjectResource
 
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
-        boolean assignableFrom = Properties.File.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass());
+        boolean assignableFrom = Properties.File.class.isAssignableFrom(rewriteSourceFileHolder.getType());
         boolean match = pathMatcher.match(PATTERN, rewriteSourceFileHolder.getAbsolutePath().toString()) || pathMatcher.match(PATTERN1, rewriteSourceFileHolder.getAbsolutePath().toString());
         return match && assignableFrom;
     }
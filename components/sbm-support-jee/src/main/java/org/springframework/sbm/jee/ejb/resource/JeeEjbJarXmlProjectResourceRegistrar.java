@@ -52,7 +52,7 @@ public class JeeEjbJarXmlProjectResourceRegistrar implements ProjectResourceWrap
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return rewriteSourceFileHolder.getSourcePath().getFileName().toString().equals(EJB_JAR_XML) &&
-                Xml.Document.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass());
+                Xml.Document.class.isAssignableFrom(rewriteSourceFileHolder.getType());
     }
 
     @Override
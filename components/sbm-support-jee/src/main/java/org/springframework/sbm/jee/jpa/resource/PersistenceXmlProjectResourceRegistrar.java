@@ -35,11 +35,9 @@ public class PersistenceXmlProjectResourceRegistrar implements ProjectResourceWr
 
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
-        if (isXmlDocument(rewriteSourceFileHolder)) {
+        if (isXmlDocument(rewriteSourceFileHolder) && hasCorrectFileName(rewriteSourceFileHolder)) {
             Xml.Document xml = Xml.Document.class.cast(rewriteSourceFileHolder.getSourceFile());
-            if (hasCorrectFileName(xml)) {
-                return hasPersistenceRootTag(xml);
-            }
+            return hasPersistenceRootTag(xml);
         }
         return false;
     }
@@ -49,8 +47,8 @@ public class PersistenceXmlProjectResourceRegistrar implements ProjectResourceWr
         return ! results.isEmpty();
     }
 
-    private boolean hasCorrectFileName(Xml.Document xml) {
-        return xml.getSourcePath().endsWith(PERSISTENCE_XML_PATH);
+    private boolean hasCorrectFileName(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
+        return rewriteSourceFileHolder.getSourcePath().endsWith(PERSISTENCE_XML_PATH);
     }
 
     private boolean isXmlDocument(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
@@ -66,8 +66,8 @@ public class JeeWebXmlProjectResourceRegistrar implements ProjectResourceWrapper
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
         return (
-                Xml.Document.class.isAssignableFrom(rewriteSourceFileHolder.getSourceFile().getClass()) &&
                 rewriteSourceFileHolder.getAbsolutePath().getFileName().endsWith("web.xml") &&
+                Xml.Document.class.isAssignableFrom(rewriteSourceFileHolder.getType()) &&
                 ! new FindTags("/web-app").run(List.of(rewriteSourceFileHolder.getSourceFile())).getResults().isEmpty());
     }
 